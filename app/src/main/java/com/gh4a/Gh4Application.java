@@ -23,10 +23,10 @@ import android.os.Build;
 import android.util.LongSparseArray;
 
 import com.gh4a.fragment.SettingsFragment;
+import com.gh4a.utils.RxAssemblyTracer;
 import com.gh4a.utils.StringUtils;
 import com.gh4a.worker.NotificationsWorker;
 import com.meisolsson.githubsdk.model.User;
-import com.tspoon.traceur.Traceur;
 
 import org.ocpsoft.prettytime.PrettyTime;
 
@@ -116,9 +116,7 @@ public class Gh4Application extends MultiDexApplication implements
 
         prefs.registerOnSharedPreferenceChangeListener(this);
         updateTheme(prefs);
-        if (true || BuildConfig.DEBUG) {
-            Traceur.enableLogging();
-        }
+        RxAssemblyTracer.install(BuildConfig.RX_TRACING_MODE, BuildConfig.RX_TRACING_SAMPLE_RATE);
 
         mPt = new PrettyTime();
         ServiceFactory.initClient(this);
@@ -0,0 +1,351 @@
+package com.gh4a;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+import retrofit2.Invocation;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.HEAD;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+/**
+ * Collects statistics about API requests, grouped by endpoint.
+ *
+ * Endpoints are identified by the path template of the service method making the request
+ * (e.g. 'GET repos/{owner}/{repo}/issues'), so the numbers show which kinds of requests are
+ * made how often, rather than which URLs. Recording only takes a couple of counter updates
+ * per request, so it's always enabled; the numbers are kept in memory only and start from
+ * scratch with every process.
+ */
+public class NetworkMetrics {
+    // Upper bounds of the latency histogram buckets in milliseconds, the last bucket is open.
+    // Only requests going to the network are part of the histogram.
+    public static final long[] LATENCY_BUCKET_LIMITS = {
+        50, 100, 250, 500, 1000, 2500, 5000
+    };
+
+    private final Map<String, EndpointStats> mStats = new HashMap<>();
+    private final Map<Method, String> mEndpointsByMethod = new ConcurrentHashMap<>();
+
+    public Interceptor getInterceptor() {
+        return chain -> {
+            Request request = chain.request();
+            String endpoint = getEndpoint(request);
+            long start = System.nanoTime();
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                recordFailure(endpoint);
+                throw e;
+            }
+            long latencyMs = (System.nanoTime() - start) / 1000000;
+            EndpointStats stats = recordResponse(endpoint, response, latencyMs);
+
+            ResponseBody body = response.body();
+            if (body == null || response.networkResponse() == null) {
+                return response;
+            }
+            // Count bytes as they're read, so the body doesn't need to be buffered for that
+            return response.newBuilder()
+                    .body(new CountingResponseBody(body, stats))
+                    .build();
+        };
+    }
+
+    /**
+     * Records a load of a paginated list, for which the given number of pages was fetched.
+     */
+    public void recordPageLoad(Request firstPageRequest, int pages) {
+        String endpoint = getEndpoint(firstPageRequest);
+        synchronized (this) {
+            EndpointStats stats = getOrCreateStats(endpoint);
+            stats.mPagedLoads++;
+            stats.mPagesLoaded += pages;
+            stats.mMaxPagesPerLoad = Math.max(stats.mMaxPagesPerLoad, pages);
+        }
+    }
+
+    /**
+     * @return Copies of the statistics of all endpoints, most requested first
+     */
+    public synchronized List<EndpointStats> getSnapshot() {
+        List<EndpointStats> result = new ArrayList<>();
+        for (EndpointStats stats : mStats.values()) {
+            result.add(new EndpointStats(stats));
+        }
+        Collections.sort(result, (lhs, rhs) -> Integer.compare(rhs.mRequests, lhs.mRequests));
+        return result;
+    }
+
+    public synchronized void reset() {
+        mStats.clear();
+    }
+
+    /**
+     * Writes the statistics of all endpoints as CSV, one line per endpoint.
+     */
+    public void writeCsv(BufferedSink sink) throws IOException {
+        sink.writeUtf8("endpoint,requests,cache_hits,not_modified,network,errors,bytes");
+        for (int i = 0; i <= LATENCY_BUCKET_LIMITS.length; i++) {
+            sink.writeUtf8(",latency_").writeUtf8(getLatencyBucketLabel(i));
+        }
+        sink.writeUtf8(",paged_loads,pages_loaded,max_pages_per_load\n");
+
+        for (EndpointStats stats : getSnapshot()) {
+            sink.writeUtf8(String.format(Locale.US, "\"%s\",%d,%d,%d,%d,%d,%d",
+                    stats.mEndpoint, stats.mRequests, stats.mCacheHits, stats.mNotModified,
+                    stats.getNetworkResponses(), stats.mErrors, stats.mBytes));
+            for (int count : stats.mLatencyHistogram) {
+                sink.writeUtf8(",").writeUtf8(String.valueOf(count));
+            }
+            sink.writeUtf8(String.format(Locale.US, ",%d,%d,%d\n",
+                    stats.mPagedLoads, stats.mPagesLoaded, stats.mMaxPagesPerLoad));
+        }
+    }
+
+    /**
+     * @return Label for the given latency histogram bucket, like '<=250ms'
+     */
+    public static String getLatencyBucketLabel(int bucket) {
+        return bucket < LATENCY_BUCKET_LIMITS.length
+                ? "<=" + LATENCY_BUCKET_LIMITS[bucket] + "ms"
+                : ">" + LATENCY_BUCKET_LIMITS[LATENCY_BUCKET_LIMITS.length - 1] + "ms";
+    }
+
+    private synchronized EndpointStats recordResponse(String endpoint, Response response,
+            long latencyMs) {
+        EndpointStats stats = getOrCreateStats(endpoint);
+        stats.mRequests++;
+        Response networkResponse = response.networkResponse();
+        if (networkResponse == null) {
+            // Latency of cache hits isn't interesting
+            stats.mCacheHits++;
+            return stats;
+        }
+        if (networkResponse.code() == 304) {
+            stats.mNotModified++;
+        }
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_LIMITS.length && latencyMs > LATENCY_BUCKET_LIMITS[bucket]) {
+            bucket++;
+        }
+        stats.mLatencyHistogram[bucket]++;
+        return stats;
+    }
+
+    private synchronized void recordFailure(String endpoint) {
+        EndpointStats stats = getOrCreateStats(endpoint);
+        stats.mRequests++;
+        stats.mErrors++;
+    }
+
+    private synchronized void recordBytes(EndpointStats stats, long bytes) {
+        stats.mBytes += bytes;
+    }
+
+    private EndpointStats getOrCreateStats(String endpoint) {
+        EndpointStats stats = mStats.get(endpoint);
+        if (stats == null) {
+            stats = new EndpointStats(endpoint);
+            mStats.put(endpoint, stats);
+        }
+        return stats;
+    }
+
+    private String getEndpoint(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            // Not made by a service, use the path with IDs stripped out
+            return request.method() + " "
+                    + request.url().encodedPath().replaceAll("/\\d+(?=/|$)", "/{n}");
+        }
+        Method method = invocation.method();
+        String endpoint = mEndpointsByMethod.get(method);
+        if (endpoint == null) {
+            endpoint = request.method() + " " + getPathTemplate(method);
+            mEndpointsByMethod.put(method, endpoint);
+        }
+        return endpoint;
+    }
+
+    private static String getPathTemplate(Method method) {
+        for (Annotation annotation : method.getAnnotations()) {
+            if (annotation instanceof GET) {
+                return ((GET) annotation).value();
+            } else if (annotation instanceof POST) {
+                return ((POST) annotation).value();
+            } else if (annotation instanceof PUT) {
+                return ((PUT) annotation).value();
+            } else if (annotation instanceof PATCH) {
+                return ((PATCH) annotation).value();
+            } else if (annotation instanceof DELETE) {
+                return ((DELETE) annotation).value();
+            } else if (annotation instanceof HEAD) {
+                return ((HEAD) annotation).value();
+            }
+        }
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    public static class EndpointStats {
+        private final String mEndpoint;
+        private final int[] mLatencyHistogram;
+        private int mRequests;
+        private int mCacheHits;
+        private int mNotModified;
+        private int mErrors;
+        private long mBytes;
+        private int mPagedLoads;
+        private int mPagesLoaded;
+        private int mMaxPagesPerLoad;
+
+        private EndpointStats(String endpoint) {
+            mEndpoint = endpoint;
+            mLatencyHistogram = new int[LATENCY_BUCKET_LIMITS.length + 1];
+        }
+
+        private EndpointStats(EndpointStats other) {
+            mEndpoint = other.mEndpoint;
+            mLatencyHistogram = other.mLatencyHistogram.clone();
+            mRequests = other.mRequests;
+            mCacheHits = other.mCacheHits;
+            mNotModified = other.mNotModified;
+            mErrors = other.mErrors;
+            mBytes = other.mBytes;
+            mPagedLoads = other.mPagedLoads;
+            mPagesLoaded = other.mPagesLoaded;
+            mMaxPagesPerLoad = other.mMaxPagesPerLoad;
+        }
+
+        public String getEndpoint() {
+            return mEndpoint;
+        }
+
+        public int getRequests() {
+            return mRequests;
+        }
+
+        public int getCacheHits() {
+            return mCacheHits;
+        }
+
+        public int getNotModified() {
+            return mNotModified;
+        }
+
+        /**
+         * @return Number of requests answered with new data from the network, which are
+         * the ones counting against the rate limit
+         */
+        public int getNetworkResponses() {
+            return mRequests - mCacheHits - mNotModified - mErrors;
+        }
+
+        public int getErrors() {
+            return mErrors;
+        }
+
+        /**
+         * @return Number of response body bytes received from the network
+         */
+        public long getBytes() {
+            return mBytes;
+        }
+
+        /**
+         * @return Index of the latency histogram bucket containing the given percentile
+         * (0-100), or -1 if there were no responses
+         */
+        public int getLatencyPercentileBucket(int percentile) {
+            int total = 0;
+            for (int count : mLatencyHistogram) {
+                total += count;
+            }
+            int threshold = (int) Math.ceil(total * percentile / 100.0);
+            int sum = 0;
+            for (int i = 0; i < mLatencyHistogram.length && total > 0; i++) {
+                sum += mLatencyHistogram[i];
+                if (sum >= threshold) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        public int getPagedLoads() {
+            return mPagedLoads;
+        }
+
+        public float getAveragePagesPerLoad() {
+            return mPagedLoads > 0 ? (float) mPagesLoaded / mPagedLoads : 0;
+        }
+
+        public int getMaxPagesPerLoad() {
+            return mMaxPagesPerLoad;
+        }
+    }
+
+    private class CountingResponseBody extends ResponseBody {
+        private final ResponseBody mBody;
+        private final BufferedSource mSource;
+
+        CountingResponseBody(ResponseBody body, EndpointStats stats) {
+            mBody = body;
+            mSource = Okio.buffer(countingSource(body.source(), stats));
+        }
+
+        @Nullable
+        @Override
+        public MediaType contentType() {
+            return mBody.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return mBody.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return mSource;
+        }
+
+        private Source countingSource(Source source, EndpointStats stats) {
+            return new ForwardingSource(source) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read > 0) {
+                        recordBytes(stats, read);
+                    }
+                    return read;
+                }
+            };
+        }
+    }
+}
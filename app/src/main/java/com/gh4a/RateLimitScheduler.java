@@ -0,0 +1,234 @@
+package com.gh4a;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Schedules API requests according to the rate limit budget left for their credentials.
+ *
+ * The budget is tracked from the rate limit headers of every network response, separately
+ * per token and rate limit resource. Requests made on behalf of the user go out right away.
+ * Background requests (see {@link ServiceFactory#asBackgroundWork}) are spaced out as the
+ * budget shrinks, so it lasts until it's reset, and they are deferred entirely once only a
+ * reserve for the user is left.
+ *
+ * When a limit is hit (including the secondary limits, which are announced by Retry-After),
+ * requests wait until the limit is lifted and are retried, as long as that's possible within
+ * a reasonable time. Otherwise the rate limit error is passed on as before.
+ *
+ * Waiting for budget is done by {@link #getNetworkInterceptor()}, so requests answered by
+ * the HTTP cache don't wait. Retrying is done by {@link #getInterceptor()}, which needs to
+ * be registered as application interceptor, as network interceptors must call proceed()
+ * exactly once.
+ */
+public class RateLimitScheduler {
+    public enum Priority {
+        FOREGROUND,
+        BACKGROUND
+    }
+
+    /**
+     * Thrown for background requests which would need to wait too long for budget.
+     */
+    public static class DeferredException extends IOException {
+        DeferredException(long delayMillis) {
+            super("Rate limit budget exhausted, deferred for " + delayMillis + "ms");
+        }
+    }
+
+    private static final long MAX_FOREGROUND_WAIT_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final long MAX_BACKGROUND_WAIT_MS = TimeUnit.MINUTES.toMillis(2);
+    // Share of the budget background requests leave untouched
+    private static final float BACKGROUND_RESERVE = 0.2f;
+    // Budget share below which background requests are spaced out
+    private static final float BACKGROUND_SPACING_THRESHOLD = 0.5f;
+    private static final int MAX_ATTEMPTS = 3;
+    // How often waiting requests check whether they were cancelled in the meantime
+    private static final long CANCEL_CHECK_INTERVAL_MS = 250;
+
+    private final Map<String, Budget> mBudgets = new HashMap<>();
+
+    /**
+     * @return Interceptor retrying requests which hit a rate limit, to be added as
+     * application interceptor
+     */
+    public Interceptor getInterceptor() {
+        return chain -> {
+            Request request = chain.request();
+            long maxWait = getMaxWait(getPriority(request));
+            String key = makeKey(request);
+
+            for (int attempt = 1; ; attempt++) {
+                Response response = chain.proceed(request);
+                long retryDelay = getRetryDelay(key, response);
+                if (retryDelay < 0 || retryDelay > maxWait || attempt == MAX_ATTEMPTS) {
+                    return response;
+                }
+                // The network interceptor waits until the limit is lifted
+                response.close();
+            }
+        };
+    }
+
+    /**
+     * @return Interceptor delaying requests until there's budget for them and tracking the
+     * budget, to be added as network interceptor
+     */
+    public Interceptor getNetworkInterceptor() {
+        return chain -> {
+            Request request = chain.request();
+            Priority priority = getPriority(request);
+            long maxWait = getMaxWait(priority);
+            String key = makeKey(request);
+
+            long delay = reserveSlot(key, priority);
+            if (delay > maxWait && priority == Priority.BACKGROUND) {
+                throw new DeferredException(delay);
+            }
+            // Foreground requests rather fail than keep the user waiting for too long
+            if (delay <= maxWait) {
+                sleep(chain, delay);
+            }
+
+            Response response = chain.proceed(request);
+            update(key, response);
+            return response;
+        };
+    }
+
+    private static Priority getPriority(Request request) {
+        Priority priority = request.tag(Priority.class);
+        return priority != null ? priority : Priority.FOREGROUND;
+    }
+
+    private static long getMaxWait(Priority priority) {
+        return priority == Priority.BACKGROUND ? MAX_BACKGROUND_WAIT_MS : MAX_FOREGROUND_WAIT_MS;
+    }
+
+    /**
+     * @return How long the request needs to wait before being sent, in milliseconds
+     */
+    private synchronized long reserveSlot(String key, Priority priority) {
+        Budget budget = mBudgets.get(key);
+        if (budget == null) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        long delay = Math.max(0, budget.mBlockedUntil - now);
+        long timeToReset = budget.mResetTime - now;
+        if (budget.mRemaining <= 0 && timeToReset > 0) {
+            delay = Math.max(delay, timeToReset);
+        }
+        if (priority == Priority.BACKGROUND && budget.mLimit > 0 && timeToReset > 0) {
+            int reserve = (int) (budget.mLimit * BACKGROUND_RESERVE);
+            if (budget.mRemaining <= reserve) {
+                delay = Math.max(delay, timeToReset);
+            } else if (budget.mRemaining < budget.mLimit * BACKGROUND_SPACING_THRESHOLD) {
+                // Spread what's left above the reserve evenly over the time until reset
+                long interval = timeToReset / (budget.mRemaining - reserve);
+                long nextSlot = Math.max(now, budget.mLastBackgroundRequest + interval);
+                delay = Math.max(delay, nextSlot - now);
+            }
+            budget.mLastBackgroundRequest = now + delay;
+        }
+        return delay;
+    }
+
+    /**
+     * Updates the budget from the headers of a network response.
+     */
+    private synchronized void update(String key, Response response) {
+        Budget budget = mBudgets.get(key);
+        if (budget == null) {
+            budget = new Budget();
+            mBudgets.put(key, budget);
+        }
+        long now = System.currentTimeMillis();
+        String limit = response.header("X-RateLimit-Limit");
+        String remaining = response.header("X-RateLimit-Remaining");
+        String reset = response.header("X-RateLimit-Reset");
+        if (limit != null && remaining != null && reset != null) {
+            try {
+                budget.mLimit = Integer.parseInt(limit);
+                budget.mRemaining = Integer.parseInt(remaining);
+                budget.mResetTime = TimeUnit.SECONDS.toMillis(Long.parseLong(reset));
+            } catch (NumberFormatException e) {
+                // Keep the previous state
+            }
+        }
+
+        int code = response.code();
+        String retryAfter = response.header("Retry-After");
+        if ((code == 403 || code == 429) && retryAfter != null) {
+            try {
+                budget.mBlockedUntil = now + TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter));
+            } catch (NumberFormatException e) {
+                // Fall back to primary limit handling
+            }
+        }
+    }
+
+    /**
+     * @return Time to wait before retrying, or -1 if the response isn't a rate limit error
+     */
+    private synchronized long getRetryDelay(String key, Response response) {
+        Budget budget = mBudgets.get(key);
+        int code = response.code();
+        if (response.networkResponse() == null || budget == null
+                || (code != 403 && code != 429)) {
+            return -1;
+        }
+        long now = System.currentTimeMillis();
+        if (response.header("Retry-After") != null && budget.mBlockedUntil > now) {
+            return budget.mBlockedUntil - now;
+        }
+        if ("0".equals(response.header("X-RateLimit-Remaining"))) {
+            return Math.max(0, budget.mResetTime - now);
+        }
+        // Permission error rather than rate limit
+        return -1;
+    }
+
+    private static void sleep(Interceptor.Chain chain, long millis) throws IOException {
+        long end = System.currentTimeMillis() + millis;
+        try {
+            for (long left = millis; left > 0; left = end - System.currentTimeMillis()) {
+                if (chain.call().isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+                Thread.sleep(Math.min(left, CANCEL_CHECK_INTERVAL_MS));
+            }
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    private static String makeKey(Request request) {
+        // GitHub keeps separate budgets for search and GraphQL
+        String path = request.url().encodedPath();
+        final String resource;
+        if (path.startsWith("/search/")) {
+            resource = "search";
+        } else if (path.equals("/graphql")) {
+            resource = "graphql";
+        } else {
+            resource = "core";
+        }
+        return resource + "\n" + request.header("Authorization");
+    }
+
+    private static class Budget {
+        int mLimit;
+        int mRemaining = Integer.MAX_VALUE;
+        long mResetTime;
+        long mBlockedUntil;
+        long mLastBackgroundRequest;
+    }
+}
@@ -0,0 +1,139 @@
+package com.gh4a;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Shares the response of a GET request among identical requests made while it's in flight.
+ *
+ * The same data is frequently requested from multiple places at the same time (e.g. the
+ * collaborator status from both the issue list and an issue opened from it), which the
+ * OkHttp cache can't help with as it only knows about complete responses. Requests are
+ * considered identical if URL, credentials, Accept, cache control and conditional headers
+ * match, so e.g. a forced refresh never gets the response of a request sent before it.
+ * The first of them is sent, while the others wait for its response and receive a copy of
+ * it. If it fails or its body is too large for copying, they're sent on their own.
+ *
+ * Requests marked no-store (whose body is usually streamed) or only-if-cached (which don't
+ * touch the network) are never shared.
+ */
+public class RequestCoalescer {
+    private static final long MAX_SHARED_BODY_SIZE = 2 * 1024 * 1024;
+    // How often waiting requests check whether they were cancelled in the meantime
+    private static final long CANCEL_CHECK_INTERVAL_MS = 100;
+
+    private final Map<String, Flight> mFlights = new HashMap<>();
+
+    public Interceptor getInterceptor() {
+        return chain -> {
+            Request request = chain.request();
+            if (!"GET".equals(request.method())
+                    || request.cacheControl().noStore()
+                    || request.cacheControl().onlyIfCached()) {
+                return chain.proceed(request);
+            }
+
+            String key = makeKey(request);
+            Flight flight;
+            boolean isLeader;
+            synchronized (mFlights) {
+                flight = mFlights.get(key);
+                isLeader = flight == null;
+                if (isLeader) {
+                    flight = new Flight();
+                    mFlights.put(key, flight);
+                }
+            }
+
+            if (!isLeader) {
+                awaitFlight(flight, chain);
+                return flight.mResult != null
+                        ? flight.mResult.toResponse(request)
+                        : chain.proceed(request);
+            }
+
+            try {
+                Response response = chain.proceed(request);
+                flight.mResult = SharedResponse.from(response);
+                return flight.mResult != null ? flight.mResult.toResponse(request) : response;
+            } finally {
+                synchronized (mFlights) {
+                    mFlights.remove(key);
+                }
+                flight.mDone.countDown();
+            }
+        };
+    }
+
+    private static void awaitFlight(Flight flight, Interceptor.Chain chain) throws IOException {
+        try {
+            while (!flight.mDone.await(CANCEL_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                if (chain.call().isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    private static String makeKey(Request request) {
+        return request.url()
+                + "\n" + request.header("Accept")
+                + "\n" + request.header("Authorization")
+                + "\n" + request.headers("Cache-Control")
+                + "\n" + request.header("If-None-Match")
+                + "\n" + request.header("If-Modified-Since")
+                // Don't let user requests wait for background ones held back by the
+                // rate limit scheduler
+                + "\n" + request.tag(RateLimitScheduler.Priority.class);
+    }
+
+    private static class Flight {
+        final CountDownLatch mDone = new CountDownLatch(1);
+        // Written before counting down the latch, so it's visible to all waiting threads
+        volatile SharedResponse mResult;
+    }
+
+    private static class SharedResponse {
+        private final Response mResponse;
+        private final MediaType mContentType;
+        private final byte[] mBody;
+
+        private SharedResponse(Response response, MediaType contentType, byte[] body) {
+            mResponse = response;
+            mContentType = contentType;
+            mBody = body;
+        }
+
+        static SharedResponse from(Response response) throws IOException {
+            ResponseBody body = response.body();
+            if (body == null || body.contentLength() > MAX_SHARED_BODY_SIZE) {
+                return null;
+            }
+            // Bodies usually have no known length, as they're decompressed on the fly.
+            // Buffering doesn't consume anything, so the response stays usable if too large.
+            if (body.source().request(MAX_SHARED_BODY_SIZE + 1)) {
+                return null;
+            }
+            return new SharedResponse(response, body.contentType(), body.bytes());
+        }
+
+        Response toResponse(Request request) {
+            return mResponse.newBuilder()
+                    .request(request)
+                    .body(ResponseBody.create(mContentType, mBody))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.gh4a;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Okio;
+
+/**
+ * Persistent, size bounded store for API responses carrying an ETag.
+ *
+ * Unlike the OkHttp cache, which only keeps responses fresh for a couple of seconds
+ * (see ServiceFactory), entries in here are kept until they're evicted due to space
+ * constraints. They're used for two purposes: requests for stored URLs are sent with
+ * If-None-Match, with a 304 answer being transparently replaced by the stored body,
+ * and requests marked 'only-if-cached' are answered from the store without touching
+ * the network at all.
+ *
+ * GraphQL queries are sent as POST and their responses carry no ETag, so they can't be
+ * revalidated. They're stored by request body nonetheless, to be available for the latter
+ * purpose.
+ */
+public class ResponseStore {
+    private static final String TAG = "ResponseStore";
+    private static final int FORMAT_VERSION = 1;
+
+    // Headers needed to reconstruct a response which is usable by the rest of the stack
+    // (in particular, the pagination interceptor needs the Link header)
+    private static final List<String> STORED_HEADERS = Arrays.asList(
+            "Content-Type", "ETag", "Last-Modified", "Link");
+
+    private final File mDirectory;
+    private final long mMaxSize;
+    private final long mMaxEntrySize;
+    // key -> index entry, in LRU order
+    private LinkedHashMap<String, IndexEntry> mEntries;
+    private long mSize;
+
+    public ResponseStore(File directory, long maxSize) {
+        mDirectory = directory;
+        mMaxSize = maxSize;
+        mMaxEntrySize = maxSize / 8;
+    }
+
+    public Interceptor getInterceptor() {
+        return chain -> {
+            Request request = chain.request();
+            ByteString bodyHash = null;
+            if (!"GET".equals(request.method())) {
+                bodyHash = hashGraphQlQuery(request);
+                if (bodyHash == null) {
+                    return chain.proceed(request);
+                }
+            }
+
+            String key = makeKey(request, bodyHash);
+            // Only the headers are needed for revalidation, the body is loaded on demand
+            Headers storedHeaders = getHeaders(key);
+
+            if (request.cacheControl().onlyIfCached()) {
+                Entry entry = storedHeaders != null ? readEntry(key) : null;
+                return entry != null ? entry.toResponse(request, null) : new Response.Builder()
+                        .request(request)
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(504)
+                        .message("Unsatisfiable Request (only-if-cached)")
+                        .body(ResponseBody.create(null, new byte[0]))
+                        .build();
+            }
+
+            String storedETag = storedHeaders != null ? storedHeaders.get("ETag") : null;
+            boolean addedETag = storedETag != null && request.header("If-None-Match") == null;
+            Request originalRequest = request;
+            if (addedETag) {
+                request = request.newBuilder()
+                        .header("If-None-Match", storedETag)
+                        .build();
+            }
+
+            Response response = chain.proceed(request);
+            if (response.code() == 304 && addedETag) {
+                response.close();
+                Entry entry = readEntry(key);
+                // The entry may have been evicted in the meantime
+                return entry != null
+                        ? entry.toResponse(request, response)
+                        : chain.proceed(originalRequest);
+            }
+            // Requests marked no-store are answered with bodies their callers want to stream
+            if (response.code() == 200 && !request.cacheControl().noStore()) {
+                return storeIfPossible(key, response, bodyHash != null);
+            }
+            return response;
+        };
+    }
+
+    public synchronized void clear() {
+        File[] files = mDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        mEntries = null;
+        mSize = 0;
+    }
+
+    private Response storeIfPossible(String key, Response response, boolean isGraphQlQuery)
+            throws IOException {
+        String etag = response.header("ETag");
+        ResponseBody body = response.body();
+        // Skip the invalid ETags the notifications endpoint is known to send (see ServiceFactory)
+        boolean hasValidETag = etag != null && !etag.contains("\"\"");
+        if ((!hasValidETag && !isGraphQlQuery) || body == null
+                || response.cacheControl().noStore()
+                || body.contentLength() > mMaxEntrySize) {
+            return response;
+        }
+        // Bodies usually have no known length, as they're decompressed on the fly.
+        // Buffering doesn't consume anything, so the response stays usable if too large.
+        if (body.source().request(mMaxEntrySize + 1)) {
+            return response;
+        }
+
+        byte[] data = body.bytes();
+        MediaType contentType = body.contentType();
+        Headers.Builder headers = new Headers.Builder();
+        for (String name : STORED_HEADERS) {
+            String value = response.header(name);
+            if (value != null) {
+                headers.add(name, value);
+            }
+        }
+        put(key, new Entry(headers.build(), data));
+        return response.newBuilder()
+                .body(ResponseBody.create(contentType, data))
+                .build();
+    }
+
+    /**
+     * @return Headers of the stored entry for the given key, or null if there's none
+     */
+    @Nullable
+    private Headers getHeaders(String key) {
+        IndexEntry indexEntry;
+        synchronized (this) {
+            ensureIndexLoaded();
+            // Also refreshes the position in LRU order
+            indexEntry = mEntries.get(key);
+            if (indexEntry == null) {
+                return null;
+            }
+            if (indexEntry.mHeaders != null) {
+                return indexEntry.mHeaders;
+            }
+        }
+
+        // Entries found on disk at startup only have their headers loaded once needed.
+        // Disk access happens outside the lock, so it doesn't hold up other requests.
+        File file = new File(mDirectory, key);
+        Headers headers = null;
+        try (BufferedSource source = Okio.buffer(Okio.source(file))) {
+            headers = Entry.readHeaders(source);
+        } catch (IOException e) {
+            Log.d(TAG, "Could not read stored response " + key, e);
+        }
+        synchronized (this) {
+            if (mEntries.get(key) != indexEntry) {
+                // Replaced or removed in the meantime
+                return null;
+            }
+            if (headers == null) {
+                remove(key);
+            } else {
+                indexEntry.mHeaders = headers;
+            }
+        }
+        return headers;
+    }
+
+    @Nullable
+    private Entry readEntry(String key) {
+        File file = new File(mDirectory, key);
+        try (BufferedSource source = Okio.buffer(Okio.source(file))) {
+            Entry entry = Entry.readFrom(source);
+            if (entry != null) {
+                // Keep the position in LRU order across process restarts
+                file.setLastModified(System.currentTimeMillis());
+                return entry;
+            }
+        } catch (IOException e) {
+            Log.d(TAG, "Could not read stored response " + key, e);
+        }
+        synchronized (this) {
+            remove(key);
+        }
+        return null;
+    }
+
+    private void put(String key, Entry entry) {
+        // Write to a temporary file outside the lock, and only publish it while holding it
+        File tempFile;
+        try {
+            if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+                return;
+            }
+            tempFile = File.createTempFile(key, ".tmp", mDirectory);
+        } catch (IOException e) {
+            Log.d(TAG, "Could not store response " + key, e);
+            return;
+        }
+        try (BufferedSink sink = Okio.buffer(Okio.sink(tempFile))) {
+            entry.writeTo(sink);
+        } catch (IOException e) {
+            Log.d(TAG, "Could not store response " + key, e);
+            tempFile.delete();
+            return;
+        }
+
+        synchronized (this) {
+            ensureIndexLoaded();
+            File file = new File(mDirectory, key);
+            if (!tempFile.renameTo(file)) {
+                tempFile.delete();
+                return;
+            }
+            IndexEntry oldEntry = mEntries.remove(key);
+            if (oldEntry != null) {
+                mSize -= oldEntry.mSize;
+            }
+            mEntries.put(key, new IndexEntry(file.length(), entry.mHeaders));
+            mSize += file.length();
+            trimToSize();
+        }
+    }
+
+    private void remove(String key) {
+        IndexEntry entry = mEntries.remove(key);
+        if (entry != null) {
+            mSize -= entry.mSize;
+        }
+        new File(mDirectory, key).delete();
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, IndexEntry>> iter = mEntries.entrySet().iterator();
+        while (mSize > mMaxSize && iter.hasNext()) {
+            Map.Entry<String, IndexEntry> eldest = iter.next();
+            iter.remove();
+            mSize -= eldest.getValue().mSize;
+            new File(mDirectory, eldest.getKey()).delete();
+        }
+    }
+
+    private void ensureIndexLoaded() {
+        if (mEntries != null) {
+            return;
+        }
+        mEntries = new LinkedHashMap<>(16, 0.75f, true);
+        mSize = 0;
+
+        File[] files = mDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+        List<File> entryFiles = new ArrayList<>();
+        for (File file : files) {
+            if (file.getName().endsWith(".tmp")) {
+                file.delete();
+            } else {
+                entryFiles.add(file);
+            }
+        }
+        Collections.sort(entryFiles, (lhs, rhs) -> Long.compare(lhs.lastModified(), rhs.lastModified()));
+        for (File file : entryFiles) {
+            mEntries.put(file.getName(), new IndexEntry(file.length(), null));
+            mSize += file.length();
+        }
+        trimToSize();
+    }
+
+    private static String makeKey(Request request, @Nullable ByteString bodyHash) {
+        // Include the credentials, so different accounts don't see each other's data
+        String authorization = request.header("Authorization");
+        return ByteString.encodeUtf8(request.url().toString()
+                + "\n" + request.header("Accept")
+                + "\n" + (authorization != null ? authorization : "")
+                + (bodyHash != null ? "\n" + bodyHash.hex() : ""))
+                .sha256()
+                .hex();
+    }
+
+    /**
+     * @return Hash of the request body if the request is a GraphQL query, null otherwise
+     */
+    @Nullable
+    private static ByteString hashGraphQlQuery(Request request) throws IOException {
+        if (!"POST".equals(request.method())
+                || !request.url().encodedPath().equals("/graphql")
+                || request.body() == null) {
+            return null;
+        }
+        Buffer buffer = new Buffer();
+        request.body().writeTo(buffer);
+        ByteString body = buffer.readByteString();
+        // Mutations must never be answered from the store
+        if (body.indexOf(ByteString.encodeUtf8("\"query\":\"mutation")) >= 0) {
+            return null;
+        }
+        return body.sha256();
+    }
+
+    private static class IndexEntry {
+        final long mSize;
+        // Loaded lazily for entries found on disk
+        @Nullable Headers mHeaders;
+
+        IndexEntry(long size, @Nullable Headers headers) {
+            mSize = size;
+            mHeaders = headers;
+        }
+    }
+
+    private static class Entry {
+        private final Headers mHeaders;
+        private final byte[] mBody;
+
+        Entry(Headers headers, byte[] body) {
+            mHeaders = headers;
+            mBody = body;
+        }
+
+        Response toResponse(Request request, @Nullable Response networkResponse) {
+            Headers.Builder headers = mHeaders.newBuilder();
+            if (networkResponse != null) {
+                // Keep rate limit information etc. of the revalidation response
+                Headers networkHeaders = networkResponse.headers();
+                for (int i = 0; i < networkHeaders.size(); i++) {
+                    headers.set(networkHeaders.name(i), networkHeaders.value(i));
+                }
+            }
+            String contentType = mHeaders.get("Content-Type");
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(networkResponse != null
+                            ? networkResponse.protocol() : Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .headers(headers.build())
+                    .body(ResponseBody.create(
+                            contentType != null ? MediaType.parse(contentType) : null, mBody))
+                    .build();
+        }
+
+        void writeTo(BufferedSink sink) throws IOException {
+            sink.writeInt(FORMAT_VERSION);
+            sink.writeInt(mHeaders.size());
+            for (int i = 0; i < mHeaders.size(); i++) {
+                writeString(sink, mHeaders.name(i));
+                writeString(sink, mHeaders.value(i));
+            }
+            sink.writeInt(mBody.length);
+            sink.write(mBody);
+        }
+
+        @Nullable
+        static Entry readFrom(BufferedSource source) throws IOException {
+            Headers headers = readHeaders(source);
+            if (headers == null) {
+                return null;
+            }
+            byte[] body = source.readByteArray(source.readInt());
+            return new Entry(headers, body);
+        }
+
+        /**
+         * Reads only the headers of an entry, leaving the source positioned at the body.
+         */
+        @Nullable
+        static Headers readHeaders(BufferedSource source) throws IOException {
+            if (source.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            Headers.Builder headers = new Headers.Builder();
+            int headerCount = source.readInt();
+            for (int i = 0; i < headerCount; i++) {
+                headers.add(readString(source), readString(source));
+            }
+            return headers.build();
+        }
+
+        private static void writeString(BufferedSink sink, String value) throws IOException {
+            ByteString bytes = ByteString.encodeUtf8(value);
+            sink.writeInt(bytes.size());
+            sink.write(bytes);
+        }
+
+        private static String readString(BufferedSource source) throws IOException {
+            return source.readUtf8(source.readInt());
+        }
+    }
+}
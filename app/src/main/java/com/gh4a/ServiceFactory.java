@@ -11,8 +11,12 @@ import com.meisolsson.githubsdk.core.StringResponseConverterFactory;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Locale;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.Disposable;
 import okhttp3.Cache;
 import okhttp3.CacheControl;
 import okhttp3.Credentials;
@@ -52,10 +56,19 @@ public class ServiceFactory {
         return chain.proceed(request);
     };
 
+    private final static Interceptor STORE_ONLY_INTERCEPTOR = chain -> {
+        Request request = chain.request()
+                .newBuilder()
+                .cacheControl(CacheControl.FORCE_CACHE)
+                .build();
+        return chain.proceed(request);
+    };
+
     // FIXME: The notifications endpoint currently returns invalid/empty ETags. GH support
     //        says they're looking into it and to use If-Modified-Since in the meantime.
     //        Unfortunately, the Last-Modified header can't be relied on either, as it's not
-    //        updated when marking notifications as read :-(
+    //        updated when marking notifications as read :-( (NotificationPoller works
+    //        around that by dropping its cursor when doing so)
     //        We thus check for the invalid ETag and prevent caching if we found it.
     //        Once this is fixed on server side, this interceptor should be removed.
     private final static CacheControl NO_STORE_CACHE_CONTROL =
@@ -109,10 +122,17 @@ public class ServiceFactory {
             .addConverterFactory(new ByteArrayResponseConverterFactory())
             .addConverterFactory(MoshiConverterFactory.create(ServiceGenerator.moshi));
 
+    private final static RequestCoalescer REQUEST_COALESCER = new RequestCoalescer();
+    private final static RateLimitScheduler RATE_LIMIT_SCHEDULER = new RateLimitScheduler();
+    private final static NetworkMetrics NETWORK_METRICS = new NetworkMetrics();
+
     private static OkHttpClient sApiHttpClient;
     private static OkHttpClient sImageHttpClient;
+    private static ResponseStore sResponseStore;
 
     private final static HashMap<String, Object> sCache = new HashMap<>();
+    private final static ThreadLocal<boolean[]> sStoreOnlyState = new ThreadLocal<>();
+    private final static ThreadLocal<Boolean> sBackgroundState = new ThreadLocal<>();
 
     public static <S> S get(Class<S> serviceClass, boolean bypassCache) {
         return get(serviceClass, bypassCache, null, null, null);
@@ -120,25 +140,141 @@ public class ServiceFactory {
 
     public static <S> S get(Class<S> serviceClass, boolean bypassCache, String acceptHeader,
             String token, Integer pageSize) {
-        String key = makeKey(serviceClass, bypassCache, acceptHeader, token, pageSize);
+        boolean[] storeOnlyState = sStoreOnlyState.get();
+        boolean storeOnly = storeOnlyState != null;
+        if (storeOnly) {
+            storeOnlyState[0] = true;
+        }
+        boolean background = sBackgroundState.get() != null;
+        String key = makeKey(serviceClass, bypassCache, storeOnly, background,
+                acceptHeader, token, pageSize);
         S service = (S) sCache.get(key);
         if (service == null) {
-            service = createService(serviceClass, bypassCache, acceptHeader, token, pageSize);
+            service = createService(serviceClass, bypassCache, storeOnly, background,
+                    acceptHeader, token, pageSize);
             sCache.put(key, service);
         }
         return service;
     }
 
-    private static String makeKey(Class<?> serviceClass, boolean bypassCache,
-            String acceptHeader, String token, Integer pageSize) {
-        return String.format(Locale.US, "%s-%d-%s-%s-%d",
-                serviceClass.getSimpleName(), bypassCache ? 1 : 0,
-                acceptHeader != null ? acceptHeader : "",
+    /**
+     * Builds a single via the given factory, with all services the factory obtains
+     * via {@link #get} answering exclusively from the response store instead of the
+     * network. Fails if any of the needed responses isn't stored, or if the factory
+     * doesn't use any API service at all.
+     *
+     * The mode is bound to the calling thread. It's kept while the single runs, so services
+     * obtained lazily by operators like flatMap() or defer() are covered as well, but only
+     * as long as they run on the subscribing thread. Parts of the single which are moved to
+     * other threads (e.g. via subscribeOn()) need to obtain their services while the single
+     * is built, otherwise their requests go to the network.
+     */
+    public static <T> Single<T> fromStoredResponses(Callable<Single<T>> singleFactory) {
+        boolean[] usedService = new boolean[1];
+        sStoreOnlyState.set(usedService);
+        try {
+            Single<T> single = singleFactory.call();
+            if (!usedService[0]) {
+                // Data doesn't come from the API, so there's nothing to take from the store
+                return Single.error(new IllegalStateException("No API service used"));
+            }
+            return new StoreOnlySingle<>(single, usedService);
+        } catch (Exception e) {
+            return Single.error(e);
+        } finally {
+            sStoreOnlyState.remove();
+        }
+    }
+
+    /**
+     * Builds a single via the given factory, with all services the factory obtains
+     * via {@link #get} sending their requests with background priority, which means
+     * they're only sent if the rate limit budget allows for it.
+     *
+     * @see RateLimitScheduler
+     */
+    public static <T> Single<T> asBackgroundWork(Callable<Single<T>> singleFactory) {
+        sBackgroundState.set(true);
+        try {
+            return singleFactory.call();
+        } catch (Exception e) {
+            return Single.error(e);
+        } finally {
+            sBackgroundState.remove();
+        }
+    }
+
+    /**
+     * @return Whether the current thread is building or running a single for
+     * {@link #fromStoredResponses}
+     */
+    public static boolean isAnsweringFromStore() {
+        return sStoreOnlyState.get() != null;
+    }
+
+    // Keeps the store-only mode while subscribing to the source, but not while calling the
+    // observer, as the observer may start loading fresh data
+    private static class StoreOnlySingle<T> extends Single<T> {
+        private final Single<T> mSource;
+        private final boolean[] mState;
+
+        StoreOnlySingle(Single<T> source, boolean[] state) {
+            mSource = source;
+            mState = state;
+        }
+
+        @Override
+        protected void subscribeActual(SingleObserver<? super T> observer) {
+            sStoreOnlyState.set(mState);
+            try {
+                mSource.subscribe(new SingleObserver<T>() {
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        runWithoutStoreOnlyMode(() -> observer.onSubscribe(d));
+                    }
+
+                    @Override
+                    public void onSuccess(T value) {
+                        runWithoutStoreOnlyMode(() -> observer.onSuccess(value));
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        runWithoutStoreOnlyMode(() -> observer.onError(e));
+                    }
+                });
+            } finally {
+                sStoreOnlyState.remove();
+            }
+        }
+
+        private void runWithoutStoreOnlyMode(Runnable runnable) {
+            // The observer may be called on another thread, which isn't in our mode
+            boolean inMode = sStoreOnlyState.get() == mState;
+            if (inMode) {
+                sStoreOnlyState.remove();
+            }
+            try {
+                runnable.run();
+            } finally {
+                if (inMode) {
+                    sStoreOnlyState.set(mState);
+                }
+            }
+        }
+    }
+
+    private static String makeKey(Class<?> serviceClass, boolean bypassCache, boolean storeOnly,
+            boolean background, String acceptHeader, String token, Integer pageSize) {
+        return String.format(Locale.US, "%s-%d-%d-%d-%s-%s-%d",
+                serviceClass.getSimpleName(), bypassCache ? 1 : 0, storeOnly ? 1 : 0,
+                background ? 1 : 0, acceptHeader != null ? acceptHeader : "",
                 token != null ? token : "", pageSize != null ? pageSize : 0);
     }
 
     private static <S> S createService(Class<S> serviceClass, final boolean bypassCache,
-            final String acceptHeader, final String token, final Integer pageSize) {
+            final boolean storeOnly, final boolean background, final String acceptHeader,
+            final String token, final Integer pageSize) {
         OkHttpClient.Builder clientBuilder = sApiHttpClient.newBuilder()
                 .addInterceptor(PAGINATION_INTERCEPTOR)
                 .addNetworkInterceptor(ETAG_WORKAROUND_INTERCEPTOR)
@@ -171,17 +307,32 @@ public class ServiceFactory {
                         }
                         requestBuilder.addHeader("Accept", header);
                     }
+                    requestBuilder.tag(RateLimitScheduler.Priority.class, background
+                            ? RateLimitScheduler.Priority.BACKGROUND
+                            : RateLimitScheduler.Priority.FOREGROUND);
 
                     return chain.proceed(requestBuilder.build());
                 });
 
+        if (storeOnly) {
+            clientBuilder.addInterceptor(STORE_ONLY_INTERCEPTOR);
+        }
+        clientBuilder.addInterceptor(sResponseStore.getInterceptor());
+
         if (BuildConfig.DEBUG) {
             clientBuilder.addInterceptor(LOGGING_INTERCEPTOR);
             clientBuilder.addInterceptor(CACHE_STATUS_INTERCEPTOR);
         }
-        if (bypassCache) {
+        if (bypassCache && !storeOnly) {
             clientBuilder.addInterceptor(CACHE_BYPASS_INTERCEPTOR);
         }
+        // Added last, so identical requests are recognized by their final headers
+        clientBuilder.addInterceptor(REQUEST_COALESCER.getInterceptor());
+        // Retries requests hitting a rate limit; waiting for budget is done below the
+        // HTTP cache by the network interceptor, so cached responses don't wait
+        clientBuilder.addInterceptor(RATE_LIMIT_SCHEDULER.getInterceptor());
+        clientBuilder.addNetworkInterceptor(RATE_LIMIT_SCHEDULER.getNetworkInterceptor());
+        clientBuilder.addInterceptor(NETWORK_METRICS.getInterceptor());
 
         Retrofit retrofit = RETROFIT_BUILDER
                 .baseUrl("https://api.github.com")
@@ -198,8 +349,18 @@ public class ServiceFactory {
         return sImageHttpClient;
     }
 
+    public static ResponseStore getResponseStore() {
+        return sResponseStore;
+    }
+
+    public static NetworkMetrics getNetworkMetrics() {
+        return NETWORK_METRICS;
+    }
+
     static void initClient(Context context) {
         int twentyMB = 20 * 1024 * 1024;
+        sResponseStore = new ResponseStore(new File(context.getCacheDir(), "api-store"),
+                2 * twentyMB);
         sApiHttpClient = new OkHttpClient.Builder()
                 .cache(new Cache(new File(context.getCacheDir(), "api-http"), twentyMB))
                 .build();
@@ -22,19 +22,27 @@ import android.os.Parcelable;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.collection.LongSparseArray;
 import androidx.appcompat.widget.PopupMenu;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 import android.text.TextUtils;
 import android.util.SparseArray;
 import android.view.Menu;
 import android.view.MenuInflater;
 import android.view.MenuItem;
+import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewGroup;
+import android.widget.HorizontalScrollView;
 
 import com.gh4a.Gh4Application;
 import com.gh4a.R;
+import com.gh4a.adapter.DiffAdapter;
 import com.gh4a.fragment.ConfirmationDialogFragment;
+import com.gh4a.model.ParsedDiff;
 import com.gh4a.utils.ActivityResultHelpers;
 import com.gh4a.utils.ApiHelpers;
 import com.gh4a.utils.FileUtils;
@@ -42,20 +50,21 @@ import com.gh4a.utils.HtmlUtils;
 import com.gh4a.utils.IntentUtils;
 import com.gh4a.utils.RxUtils;
 import com.gh4a.utils.StringUtils;
+import com.gh4a.utils.UiUtils;
+import com.gh4a.widget.FindActionModeCallback;
 import com.gh4a.widget.ReactionBar;
 import com.meisolsson.githubsdk.model.PositionalCommentBase;
 import com.meisolsson.githubsdk.model.Reactions;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 import io.reactivex.Single;
 import retrofit2.Response;
 
 public abstract class DiffViewerActivity<C extends PositionalCommentBase> extends WebViewerActivity
         implements ReactionBar.Callback, ReactionBar.ReactionDetailsCache.Listener,
-        ConfirmationDialogFragment.Callback {
+        ConfirmationDialogFragment.Callback, DiffAdapter.Callback {
     protected static <C extends PositionalCommentBase> Intent fillInIntent(Intent baseIntent,
             String repoOwner, String repoName, String commitSha, String path, String diff,
             List<C> comments, int initialLine, int highlightStartLine, int highlightEndLine,
@@ -79,11 +88,6 @@ public abstract class DiffViewerActivity<C extends PositionalCommentBase> extend
         return intent;
     }
 
-    private static final String COMMENT_ADD_URI_FORMAT =
-            "comment://add?position=%d&l=%d&r=%d&isRightLine=%b";
-    private static final String COMMENT_EDIT_URI_FORMAT =
-            "comment://edit?position=%d&l=%d&r=%d&isRightLine=%b&id=%d";
-
     private static final String REACTION_PLUS_ONE_PATH = "M1 21h4V9H1v12zm22-11c0-1.1-.9-2-2-2"
             + "h-6.31l.95-4.57.03-.32c0-.41-.17-.79-.44-1.06L14.17 1 7.59 7.59C7.22 7.95 7 8.45 7 9"
             + "v10c0 1.1.9 2 2 2h9c.83 0 1.54-.5 1.84-1.22l3.02-7.05c.09-.23.14-.47.14-.73"
@@ -176,20 +180,66 @@ public abstract class DiffViewerActivity<C extends PositionalCommentBase> extend
         }
     }
 
-    private String mDiff;
-    private String[] mDiffLines;
+    private ParsedDiff mDiff;
     private final SparseArray<List<PositionalCommentBase>> mCommentsByPosition = new SparseArray<>();
     private final LongSparseArray<CommentWrapper> mWrappedComments = new LongSparseArray<>();
 
+    private HorizontalScrollView mScroller;
+    private RecyclerView mRecyclerView;
+    private DiffAdapter mAdapter;
+    private boolean mWrapLines;
+    private boolean mInitialPositionApplied;
+
     private static final int MENU_ITEM_VIEW = 10;
 
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
+        mAdapter = new DiffAdapter(this, mDiff, Gh4Application.get().isAuthorized(),
+                this, this, mReactionDetailsCache);
+
+        mScroller = findViewById(R.id.diff_scroller);
+        mScroller.addOnLayoutChangeListener((v, left, top, right, bottom,
+                oldLeft, oldTop, oldRight, oldBottom) -> {
+            if (right - left != oldRight - oldLeft) {
+                // Can't change layout params during layout
+                v.post(this::updateContentWidth);
+            }
+        });
+
+        final View popupAnchorParent = (View) findViewById(R.id.popup_helper).getParent();
+        mRecyclerView = findViewById(R.id.diff_list);
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        mRecyclerView.setAdapter(mAdapter);
+        mRecyclerView.addOnItemTouchListener(new RecyclerView.SimpleOnItemTouchListener() {
+            @Override
+            public boolean onInterceptTouchEvent(@NonNull RecyclerView rv, @NonNull MotionEvent e) {
+                if (e.getAction() == MotionEvent.ACTION_DOWN) {
+                    // Remember the touch position for anchoring the comment action popup
+                    int[] location = new int[2];
+                    popupAnchorParent.getLocationOnScreen(location);
+                    mLastTouchDown.set((int) e.getRawX() - location[0],
+                            (int) e.getRawY() - location[1]);
+                }
+                return false;
+            }
+        });
+
         loadComments(true, false);
     }
 
+    @Override
+    protected int getNativeContentLayout() {
+        return R.layout.diff_viewer;
+    }
+
+    @Nullable
+    @Override
+    protected FindActionModeCallback.Searchable getNativeSearchable() {
+        return mAdapter;
+    }
+
     @Nullable
     @Override
     protected String getActionBarTitle() {
@@ -202,12 +252,30 @@ public abstract class DiffViewerActivity<C extends PositionalCommentBase> extend
         return mRepoOwner + "/" + mRepoName;
     }
 
+    @Override
+    protected void onResume() {
+        super.onResume();
+        mAdapter.resume();
+    }
+
+    @Override
+    protected void onPause() {
+        mAdapter.pause();
+        super.onPause();
+    }
+
     @Override
     protected void onDestroy() {
         mReactionDetailsCache.destroy();
+        mAdapter.destroy();
         super.onDestroy();
     }
 
+    @Override
+    public boolean canChildScrollUp() {
+        return UiUtils.canViewScrollUp(mRecyclerView);
+    }
+
     @Override
     protected void onInitExtras(Bundle extras) {
         super.onInitExtras(extras);
@@ -215,7 +283,7 @@ public abstract class DiffViewerActivity<C extends PositionalCommentBase> extend
         mRepoName = extras.getString("repo");
         mPath = extras.getString("path");
         mSha = extras.getString("sha");
-        mDiff = extras.getString("diff");
+        mDiff = new ParsedDiff(extras.getString("diff"));
         mInitialLine = extras.getInt("initial_line", -1);
         mHighlightStartLine = extras.getInt("highlight_start", -1);
         mHighlightEndLine = extras.getInt("highlight_end", -1);
@@ -272,10 +340,89 @@ public abstract class DiffViewerActivity<C extends PositionalCommentBase> extend
         }
     }
 
+    @Override
+    protected void onDataReady() {
+        mAdapter.setComments(mCommentsByPosition);
+        super.onDataReady();
+        if (!mInitialPositionApplied) {
+            applyInitialPosition();
+            mInitialPositionApplied = true;
+        }
+    }
+
+    @Override
+    protected void applyLineWrapping(boolean enabled) {
+        mWrapLines = enabled;
+        updateContentWidth();
+    }
+
+    private void updateContentWidth() {
+        int viewportWidth = mScroller.getWidth();
+        if (viewportWidth == 0) {
+            // Not laid out yet, we'll be called again once that happened
+            return;
+        }
+        int width = mWrapLines
+                ? viewportWidth
+                : Math.max(viewportWidth, mAdapter.getUnwrappedContentWidth());
+        ViewGroup.LayoutParams lp = mRecyclerView.getLayoutParams();
+        if (lp.width != width) {
+            lp.width = width;
+            mRecyclerView.setLayoutParams(lp);
+        }
+        mAdapter.setCommentWidth(viewportWidth);
+    }
+
+    private void applyInitialPosition() {
+        int position = -1;
+        if (mInitialLine > 0 && mInitialLine < mDiff.getLineCount()) {
+            position = mAdapter.getPositionForLine(mInitialLine);
+        } else if (mInitialComment != null) {
+            position = mAdapter.getPositionForComment(mInitialComment.commentId);
+            mAdapter.setHighlightedCommentId(mInitialComment.commentId);
+        } else if (mHighlightStartLine != -1 && mHighlightEndLine != -1) {
+            int startLine = mDiff.findLine(mHighlightStartLine, mHighlightIsRight);
+            int endLine = mDiff.findLine(mHighlightEndLine, mHighlightIsRight);
+            if (startLine != -1 && endLine != -1) {
+                mAdapter.setHighlightedLines(startLine, endLine);
+                position = mAdapter.getPositionForLine(startLine);
+            }
+        }
+        if (position >= 0) {
+            LinearLayoutManager lm = (LinearLayoutManager) mRecyclerView.getLayoutManager();
+            lm.scrollToPositionWithOffset(position, 0);
+        }
+    }
+
+    @Override
+    public void onLineClicked(int line) {
+        if (Gh4Application.get().isAuthorized()) {
+            showCommentActionPopup(0L, line);
+        }
+    }
+
+    @Override
+    public void onCommentMenuClicked(int line, PositionalCommentBase comment) {
+        showCommentActionPopup(comment.id(), line);
+    }
+
+    @Override
+    public ReactionBar.Item getReactionItem(PositionalCommentBase comment) {
+        return mWrappedComments.get(comment.id());
+    }
+
+    private void showCommentActionPopup(long id, int line) {
+        CommentActionPopup p = new CommentActionPopup(id, line, mDiff.getLine(line),
+                mDiff.getLeftLineNumber(line), mDiff.getRightLineNumber(line),
+                mLastTouchDown.x, mLastTouchDown.y,
+                mDiff.getLineType(line) == ParsedDiff.LINE_TYPE_ADDED);
+        p.show();
+    }
+
     @Override
     protected String generateHtml(String cssTheme, boolean addTitleHeader) {
+        // Only used for printing, the diff is displayed natively
         StringBuilder content = new StringBuilder();
-        boolean authorized = Gh4Application.get().isAuthorized();
         String title = addTitleHeader ? getDocumentTitle() : null;
 
         content.append("<html><head><title>");
@@ -285,79 +432,31 @@ public abstract class DiffViewerActivity<C extends PositionalCommentBase> extend
         content.append("</title>");
         HtmlUtils.writeCssInclude(content, "text", cssTheme);
         HtmlUtils.writeScriptInclude(content, "codeutils");
-        content.append("</head><body");
-
-        int highlightInsertPos = content.length();
-        content.append(">");
+        content.append("</head><body>");
         if (title != null) {
             content.append("<h2>").append(title).append("</h2>");
         }
         content.append("<pre>");
 
-        mDiffLines = mDiff != null ? mDiff.split("\n") : new String[0];
-
-        int highlightStartLine = -1, highlightEndLine = -1;
-        int leftDiffPosition = -1, rightDiffPosition = -1;
-
-        for (int i = 0; i < mDiffLines.length; i++) {
-            String line = mDiffLines[i];
+        for (int i = 0; i < mDiff.getLineCount(); i++) {
+            String line = mDiff.getLine(i);
             String cssClass = null;
-            if (line.startsWith("@@")) {
-                int[] lineNumbers = StringUtils.extractDiffHunkLineNumbers(line);
-                if (lineNumbers != null) {
-                    leftDiffPosition = lineNumbers[0];
-                    rightDiffPosition = lineNumbers[1];
-                }
-                cssClass = "change";
-            } else if (line.startsWith("+")) {
-                ++rightDiffPosition;
-                cssClass = "add";
-            } else if (line.startsWith("-")) {
-                ++leftDiffPosition;
-                cssClass = "remove";
-            } else {
-                ++leftDiffPosition;
-                ++rightDiffPosition;
-            }
-
-            int pos = mHighlightIsRight ? rightDiffPosition : leftDiffPosition;
-            if (pos != -1 && pos == mHighlightStartLine && highlightStartLine == -1) {
-                highlightStartLine = i;
-            }
-            if (pos != -1 && pos == mHighlightEndLine && highlightEndLine == -1) {
-                highlightEndLine = i;
+            switch (mDiff.getLineType(i)) {
+                case ParsedDiff.LINE_TYPE_HUNK_HEADER: cssClass = "change"; break;
+                case ParsedDiff.LINE_TYPE_ADDED: cssClass = "add"; break;
+                case ParsedDiff.LINE_TYPE_REMOVED: cssClass = "remove"; break;
             }
 
-            content.append("<div id=\"line").append(i).append("\"");
+            content.append("<div");
             if (cssClass != null) {
-                content.append("class=\"").append(cssClass).append("\"");
-            }
-            if (authorized) {
-                String uri = String.format(Locale.US, COMMENT_ADD_URI_FORMAT,
-                        i, leftDiffPosition, rightDiffPosition, line.startsWith("+"));
-                content.append(" onclick=\"javascript:location.href='");
-                content.append(uri).append("'\"");
+                content.append(" class=\"").append(cssClass).append("\"");
             }
             content.append(">").append(TextUtils.htmlEncode(line)).append("</div>");
 
             List<PositionalCommentBase> comments = mCommentsByPosition.get(i);
             if (comments != null) {
                 for (PositionalCommentBase comment : comments) {
-                    long id = comment.id();
-                    mWrappedComments.put(id, new CommentWrapper(comment));
-                    content.append("<div ").append("id=\"comment").append(id).append("\"");
-                    content.append(" class=\"comment");
-                    if (mInitialComment != null && mInitialComment.matches(id, null)) {
-                        content.append(" highlighted");
-                    }
-                    content.append("\"");
-                    if (authorized) {
-                        String uri = String.format(Locale.US, COMMENT_EDIT_URI_FORMAT,
-                                i, leftDiffPosition, rightDiffPosition, line.startsWith("+"), id);
-                        content.append(" onclick=\"javascript:location.href='");
-                        content.append(uri).append("'\"");
-                    }
-                    content.append("><div class=\"change\">");
+                    content.append("<div class=\"comment\"><div class=\"change\">");
                     content.append(getString(R.string.commit_comment_header,
                             "<b>" + ApiHelpers.getUserLogin(this, comment.user()) + "</b>",
                             StringUtils.formatRelativeTime(DiffViewerActivity.this, comment.createdAt(), true)));
@@ -381,18 +480,6 @@ public abstract class DiffViewerActivity<C extends PositionalCommentBase> extend
             }
         }
 
-        if (mInitialLine > 0) {
-            content.insert(highlightInsertPos, " onload='scrollToElement(\"line"
-                    + mInitialLine + "\")' onresize='scrollToHighlight();'");
-        } else if (mInitialComment != null) {
-            content.insert(highlightInsertPos, " onload='scrollToElement(\"comment"
-                    + mInitialComment.commentId + "\")' onresize='scrollToHighlight();'");
-        } else if (highlightStartLine != -1 && highlightEndLine != -1) {
-            content.insert(highlightInsertPos, " onload='highlightDiffLines("
-                    + highlightStartLine + "," + highlightEndLine
-                    + ")' onresize='scrollToHighlight();'");
-        }
-
         content.append("</pre></body></html>");
         return content.toString();
     }
@@ -444,6 +531,7 @@ public abstract class DiffViewerActivity<C extends PositionalCommentBase> extend
             if (!TextUtils.equals(comment.path(), mPath)) {
                 continue;
             }
+            mWrappedComments.put(comment.id(), new CommentWrapper(comment));
             int position = comment.position();
             List<PositionalCommentBase> commentsByPos = mCommentsByPosition.get(position);
             if (commentsByPos == null) {
@@ -454,26 +542,6 @@ public abstract class DiffViewerActivity<C extends PositionalCommentBase> extend
         }
     }
 
-    @Override
-    protected void handleUrlLoad(Uri uri) {
-        if (!uri.getScheme().equals("comment")) {
-            super.handleUrlLoad(uri);
-            return;
-        }
-
-        int line = Integer.parseInt(uri.getQueryParameter("position"));
-        int leftLine = Integer.parseInt(uri.getQueryParameter("l"));
-        int rightLine = Integer.parseInt(uri.getQueryParameter("r"));
-        boolean isRightLine = Boolean.parseBoolean(uri.getQueryParameter("isRightLine"));
-        String lineText = mDiffLines[line];
-        String idParam = uri.getQueryParameter("id");
-        long id = idParam != null ? Long.parseLong(idParam) : 0L;
-
-        CommentActionPopup p = new CommentActionPopup(id, line, lineText, leftLine, rightLine,
-                mLastTouchDown.x, mLastTouchDown.y, isRightLine);
-        p.show();
-    }
-
     @Override
     public boolean canAddReaction() {
         return true;
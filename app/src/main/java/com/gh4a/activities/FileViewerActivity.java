@@ -27,33 +27,48 @@ import androidx.annotation.StringRes;
 import androidx.print.PrintHelper;
 import androidx.appcompat.widget.PopupMenu;
 import android.text.TextUtils;
-import android.util.Base64;
+import android.util.Log;
 import android.view.Menu;
 import android.view.MenuInflater;
 import android.view.MenuItem;
+import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewGroup;
+import android.widget.HorizontalScrollView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.gh4a.ApiRequestException;
+import com.gh4a.Gh4Application;
 import com.gh4a.R;
-import com.gh4a.ServiceFactory;
-import com.gh4a.utils.ApiHelpers;
+import com.gh4a.adapter.CodeAdapter;
+import com.gh4a.model.ParsedSource;
 import com.gh4a.utils.DownloadUtils;
 import com.gh4a.utils.FileUtils;
 import com.gh4a.utils.HtmlUtils;
 import com.gh4a.utils.IntentUtils;
+import com.gh4a.utils.MarkdownRenderer;
 import com.gh4a.utils.Optional;
+import com.gh4a.utils.RawFileCache;
 import com.gh4a.utils.StringUtils;
+import com.gh4a.utils.SyntaxHighlighter;
+import com.gh4a.utils.Triplet;
+import com.gh4a.utils.UiUtils;
+import com.gh4a.widget.FindActionModeCallback;
 import com.meisolsson.githubsdk.model.ClientErrorResponse;
-import com.meisolsson.githubsdk.model.Content;
 import com.meisolsson.githubsdk.model.TextMatch;
-import com.meisolsson.githubsdk.service.repositories.RepositoryContentService;
 
 import java.util.List;
 
 import io.reactivex.Single;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
 
 public class FileViewerActivity extends WebViewerActivity
-        implements PopupMenu.OnMenuItemClickListener {
+        implements PopupMenu.OnMenuItemClickListener, CodeAdapter.Callback {
     public static Intent makeIntent(Context context, String repoOwner, String repoName,
             String ref, String fullPath) {
         return makeIntent(context, repoOwner, repoName, ref, fullPath, -1, -1, null);
@@ -89,17 +104,33 @@ public class FileViewerActivity extends WebViewerActivity
     private int mHighlightStart;
     private int mHighlightEnd;
     private TextMatch mTextMatch;
-    private Content mContent;
+    private RawFileCache.CachedFile mFile;
+    // Decoded text, or Base64 encoded data for images
+    private String mFileData;
     private int mLastTouchedLine = 0;
     private boolean mViewRawText;
 
+    // Only used if the file is displayed as code
+    private HorizontalScrollView mCodeScroller;
+    private RecyclerView mCodeView;
+    private ParsedSource mParsedSource;
+    private CodeAdapter mCodeAdapter;
+    private Disposable mHighlightSubscription;
+    private boolean mWrapLines;
+
     private static final int ID_LOADER_FILE = 0;
+    // Larger files are handed to other apps instead of being displayed
+    private static final long MAX_DISPLAYED_FILE_SIZE = 10 * 1024 * 1024;
     private static final int MENU_ITEM_HISTORY = 10;
 
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
+        if (displaysCodeNatively()) {
+            setupCodeView();
+        }
+
         String filename = FileUtils.getFileName(mPath);
         if (FileUtils.isBinaryFormat(filename) && !FileUtils.isImage(filename)) {
             openUnsuitableFileAndFinish();
@@ -108,6 +139,58 @@ public class FileViewerActivity extends WebViewerActivity
         }
     }
 
+    private void setupCodeView() {
+        mCodeScroller = findViewById(R.id.code_scroller);
+        mCodeScroller.addOnLayoutChangeListener((v, left, top, right, bottom,
+                oldLeft, oldTop, oldRight, oldBottom) -> {
+            if (right - left != oldRight - oldLeft) {
+                // Can't change layout params during layout
+                v.post(this::updateCodeWidth);
+            }
+        });
+
+        final View popupAnchorParent = (View) findViewById(R.id.popup_helper).getParent();
+        mCodeView = findViewById(R.id.code_list);
+        mCodeView.setLayoutManager(new LinearLayoutManager(this));
+        mCodeView.addOnItemTouchListener(new RecyclerView.SimpleOnItemTouchListener() {
+            @Override
+            public boolean onInterceptTouchEvent(@NonNull RecyclerView rv, @NonNull MotionEvent e) {
+                if (e.getAction() == MotionEvent.ACTION_DOWN) {
+                    // Remember the touch position for anchoring the line popup
+                    int[] location = new int[2];
+                    popupAnchorParent.getLocationOnScreen(location);
+                    mLastTouchDown.set((int) e.getRawX() - location[0],
+                            (int) e.getRawY() - location[1]);
+                }
+                return false;
+            }
+        });
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (mHighlightSubscription != null) {
+            mHighlightSubscription.dispose();
+        }
+        super.onDestroy();
+    }
+
+    @Override
+    protected int getNativeContentLayout() {
+        return displaysCodeNatively() ? R.layout.code_viewer : 0;
+    }
+
+    @Nullable
+    @Override
+    protected FindActionModeCallback.Searchable getNativeSearchable() {
+        return mCodeAdapter;
+    }
+
+    @Override
+    public boolean canChildScrollUp() {
+        return mCodeView != null ? UiUtils.canViewScrollUp(mCodeView) : super.canChildScrollUp();
+    }
+
     @Nullable
     @Override
     protected String getActionBarTitle() {
@@ -144,22 +227,92 @@ public class FileViewerActivity extends WebViewerActivity
         super.onRefresh();
     }
 
+    @Override
+    protected void onDataReady() {
+        if (mCodeView != null) {
+            findMatchingLines(mFileData);
+            displayCode(mParsedSource, mFileData);
+        }
+        super.onDataReady();
+    }
+
+    private void displayCode(ParsedSource source, String data) {
+        mCodeAdapter = new CodeAdapter(this, source, this);
+        mCodeView.setAdapter(mCodeAdapter);
+        updateCodeWidth();
+
+        if (mHighlightStart > 0) {
+            int startLine = mHighlightStart - 1;
+            int endLine = (mHighlightEnd > 0 ? mHighlightEnd : mHighlightStart) - 1;
+            mCodeAdapter.setHighlightedLines(startLine, endLine);
+            mCodeView.post(() -> {
+                LinearLayoutManager lm = (LinearLayoutManager) mCodeView.getLayoutManager();
+                lm.scrollToPositionWithOffset(startLine, mCodeView.getHeight() / 3);
+            });
+        }
+
+        if (mHighlightSubscription != null) {
+            mHighlightSubscription.dispose();
+            mHighlightSubscription = null;
+        }
+        SyntaxHighlighter highlighter = SyntaxHighlighter.forFile(mPath, data);
+        if (highlighter != null) {
+            mHighlightSubscription = highlighter.highlight(source)
+                    .subscribeOn(Schedulers.computation())
+                    .observeOn(AndroidSchedulers.mainThread())
+                    .subscribe(mCodeAdapter::addHighlighting,
+                            error -> Log.w(Gh4Application.LOG_TAG, "Highlighting failed", error));
+        }
+    }
+
+    @Override
+    protected void applyLineWrapping(boolean enabled) {
+        if (mCodeView == null) {
+            super.applyLineWrapping(enabled);
+            return;
+        }
+        mWrapLines = enabled;
+        updateCodeWidth();
+    }
+
+    private void updateCodeWidth() {
+        int viewportWidth = mCodeScroller.getWidth();
+        if (viewportWidth == 0 || mCodeAdapter == null) {
+            // Not laid out yet or no data, we'll be called again once that happened
+            return;
+        }
+        int width = mWrapLines
+                ? viewportWidth
+                : Math.max(viewportWidth, mCodeAdapter.getUnwrappedContentWidth());
+        ViewGroup.LayoutParams lp = mCodeView.getLayoutParams();
+        if (lp.width != width) {
+            lp.width = width;
+            mCodeView.setLayoutParams(lp);
+        }
+    }
+
+    @Override
+    public void onLineClicked(int line) {
+        onLineTouched(line + 1, mLastTouchDown.x, mLastTouchDown.y);
+    }
+
     @Override
     protected String generateHtml(String cssTheme, boolean addTitleHeader) {
-        String base64Data = mContent.content();
-        if (base64Data != null && FileUtils.isImage(mPath)) {
+        // For code files, only used for printing
+        if (FileUtils.isImage(mPath)) {
             String title = addTitleHeader ? getDocumentTitle() : null;
             String imageUrl = "data:" + FileUtils.getMimeTypeFor(mPath) +
-                    ";base64," + base64Data;
+                    ";base64," + mFileData;
             return highlightImage(imageUrl, cssTheme, title);
-        } else if (base64Data != null && FileUtils.isMarkdown(mPath) && !mViewRawText) {
-            String folderPath = FileUtils.getFolderPath(mPath);
-            return generateMarkdownHtml(base64Data,
-                    mRepoOwner, mRepoName, mRef, folderPath, cssTheme, addTitleHeader);
+        } else if (FileUtils.isMarkdown(mPath) && !mViewRawText) {
+            // Usually already rendered by loadFile(), so this is only a cache lookup
+            String html = MarkdownRenderer.renderBlob(mFile.getETag(), mFileData);
+            html = HtmlUtils.rewriteRelativeUrls(html, mRepoOwner, mRepoName,
+                    mRef != null ? mRef : "master", FileUtils.getFolderPath(mPath));
+            return generateMarkdownHtml(html, cssTheme, addTitleHeader);
         } else {
-            String data = base64Data != null ? StringUtils.fromBase64(base64Data) : "";
-            findMatchingLines(data);
-            return generateCodeHtml(data, mPath,
+            findMatchingLines(mFileData);
+            return generateCodeHtml(mFileData, mPath,
                     mHighlightStart, mHighlightEnd, cssTheme, addTitleHeader);
         }
     }
@@ -188,12 +341,10 @@ public class FileViewerActivity extends WebViewerActivity
         if (!FileUtils.isImage(mPath)) {
             return false;
         }
-        String base64Data = mContent != null ? mContent.content() : null;
-        if (base64Data == null) {
+        if (mFile == null) {
             return false;
         }
-        byte[] decodedData = Base64.decode(base64Data, Base64.DEFAULT);
-        Bitmap bitmap = BitmapFactory.decodeByteArray(decodedData, 0, decodedData.length);
+        Bitmap bitmap = BitmapFactory.decodeFile(mFile.getFile().getPath());
 
         PrintHelper printHelper = new PrintHelper(this);
         printHelper.setScaleMode(PrintHelper.SCALE_MODE_FIT);
@@ -298,6 +449,11 @@ public class FileViewerActivity extends WebViewerActivity
         return !displayingMarkdown && super.shouldWrapLines();
     }
 
+    private boolean displaysCodeNatively() {
+        // Raw Markdown is rare enough to keep using the web view for it
+        return !FileUtils.isImage(mPath) && !FileUtils.isMarkdown(mPath);
+    }
+
     private Uri createUrl() {
         Uri.Builder builder = IntentUtils.createBaseUriForRepo(mRepoOwner, mRepoName)
                 .appendPath("blob")
@@ -340,10 +496,27 @@ public class FileViewerActivity extends WebViewerActivity
     }
 
     private void loadFile(boolean force) {
-        RepositoryContentService service = ServiceFactory.get(RepositoryContentService.class, force);
-        service.getContents(mRepoOwner, mRepoName, mPath, mRef)
-                .map(ApiHelpers::throwOnFailure)
-                .map(Optional::of)
+        final boolean isImage = FileUtils.isImage(mPath);
+        final boolean renderMarkdown = FileUtils.isMarkdown(mPath) && !mViewRawText;
+        final boolean parseSource = displaysCodeNatively();
+        RawFileCache.fetch(this, mRepoOwner, mRepoName, mPath, mRef,
+                        MAX_DISPLAYED_FILE_SIZE, force)
+                .map(result -> {
+                    if (!result.isPresent()) {
+                        return Optional.<Triplet<RawFileCache.CachedFile, String,
+                                ParsedSource>>absent();
+                    }
+                    RawFileCache.CachedFile file = result.get();
+                    String data = isImage ? file.readBase64() : file.readText();
+                    // Render Markdown on the background thread, so the result is cached
+                    // by the time the content is displayed
+                    if (renderMarkdown) {
+                        MarkdownRenderer.renderBlob(file.getETag(), data);
+                    }
+                    // Splitting large files into lines takes a while as well
+                    ParsedSource source = parseSource ? new ParsedSource(data) : null;
+                    return Optional.of(Triplet.create(file, data, source));
+                })
                 .onErrorResumeNext(error -> {
                     if (error instanceof ApiRequestException) {
                         ClientErrorResponse response = ((ApiRequestException) error).getResponse();
@@ -352,7 +525,6 @@ public class FileViewerActivity extends WebViewerActivity
                         if (errors != null) {
                             for (ClientErrorResponse.FieldError fe : errors) {
                                 if (fe.reason() == ClientErrorResponse.FieldError.Reason.TooLarge) {
-                                    openUnsuitableFileAndFinish();
                                     return Single.just(Optional.absent());
                                 }
                             }
@@ -363,12 +535,13 @@ public class FileViewerActivity extends WebViewerActivity
                 .compose(makeLoaderSingle(ID_LOADER_FILE, force))
                 .subscribe(result -> {
                     if (result.isPresent()) {
-                        mContent = result.get();
+                        mFile = result.get().first;
+                        mFileData = result.get().second;
+                        mParsedSource = result.get().third;
                         onDataReady();
                         setContentEmpty(false);
                     } else {
-                        setContentEmpty(true);
-                        setContentShown(true);
+                        openUnsuitableFileAndFinish();
                     }
                 }, this::handleLoadFailure);
     }
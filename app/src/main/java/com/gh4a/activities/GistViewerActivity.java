@@ -30,7 +30,7 @@ import com.gh4a.utils.ApiHelpers;
 import com.gh4a.utils.DownloadUtils;
 import com.gh4a.utils.FileUtils;
 import com.gh4a.utils.IntentUtils;
-import com.gh4a.utils.StringUtils;
+import com.gh4a.utils.MarkdownRenderer;
 import com.meisolsson.githubsdk.model.GistFile;
 import com.meisolsson.githubsdk.service.gists.GistService;
 
@@ -83,8 +83,8 @@ public class GistViewerActivity extends WebViewerActivity {
     @Override
     protected String generateHtml(String cssTheme, boolean addTitleHeader) {
         if (FileUtils.isMarkdown(mGistFile.filename())) {
-            String base64Data = StringUtils.toBase64(mGistFile.content());
-            return generateMarkdownHtml(base64Data, null, null, null, null, cssTheme, addTitleHeader);
+            String html = MarkdownRenderer.render(mGistFile.content());
+            return generateMarkdownHtml(html, cssTheme, addTitleHeader);
         } else {
             return generateCodeHtml(mGistFile.content(), mFileName,
                     -1, -1, cssTheme, addTitleHeader);
@@ -85,7 +85,6 @@ import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import io.reactivex.Flowable;
 import io.reactivex.Single;
 import retrofit2.Response;
 
@@ -682,15 +681,8 @@ public class IssueEditActivity extends BasePagerActivity implements
                     }
                     return files;
                 }))
-                .flatMap(contentsOpt -> contentsOpt.flatMap(contents -> {
-                    List<Single<IssueTemplate>> result = new ArrayList<>();
-                    for (Content c : contents) {
-                        result.add(parseTemplate(service, c));
-                    }
-                    return Flowable.fromIterable(result)
-                            .flatMap(flowable -> flowable.toFlowable())
-                            .toList();
-                }))
+                .flatMap(contentsOpt -> contentsOpt.flatMap(contents -> Single.just(contents)
+                        .compose(RxUtils.mapListConcurrently(c -> parseTemplate(service, c)))))
                 .compose(RxUtils::doInBackground)
                 .compose(RxUtils.mapFailureToValue(HttpURLConnection.HTTP_NOT_FOUND, Optional.absent()));
     }
@@ -699,8 +691,7 @@ public class IssueEditActivity extends BasePagerActivity implements
         return service.getContentsRaw(mRepoOwner, mRepoName, content.path(), null)
             .map(ApiHelpers::throwOnFailure)
             .map(bytes -> new String(bytes))
-            .map(IssueTemplate::new)
-            .compose(RxUtils::doInBackground);
+            .map(IssueTemplate::new);
     }
 
     private static class IssueTemplate implements Parcelable {
@@ -20,17 +20,18 @@ import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.content.pm.ApplicationInfo;
-import android.content.res.AssetManager;
 import android.graphics.Color;
 import android.graphics.Point;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.SystemClock;
 import android.print.PrintAttributes;
 import android.print.PrintDocumentAdapter;
 import android.print.PrintManager;
 import android.text.TextUtils;
+import android.util.Log;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.MotionEvent;
@@ -41,20 +42,23 @@ import android.webkit.WebSettings;
 import android.webkit.WebView;
 import android.webkit.WebViewClient;
 
+import androidx.annotation.LayoutRes;
+import androidx.annotation.Nullable;
+
 import com.gh4a.BaseActivity;
+import com.gh4a.Gh4Application;
 import com.gh4a.R;
 import com.gh4a.fragment.SettingsFragment;
 import com.gh4a.utils.FileUtils;
 import com.gh4a.utils.HtmlUtils;
 import com.gh4a.utils.IntentUtils;
+import com.gh4a.utils.MarkdownRenderer;
+import com.gh4a.utils.PrettifyPluginIndex;
 import com.gh4a.utils.StringUtils;
 import com.gh4a.utils.UiUtils;
 import com.gh4a.widget.FindActionModeCallback;
 import com.gh4a.widget.SwipeRefreshLayout;
 
-import java.io.IOException;
-import java.util.ArrayList;
-
 @SuppressLint("AddJavascriptInterface")
 public abstract class WebViewerActivity extends BaseActivity implements
         SwipeRefreshLayout.ChildScrollDelegate, View.OnTouchListener {
@@ -68,13 +72,13 @@ public abstract class WebViewerActivity extends BaseActivity implements
     private boolean mRequiresNativeClient;
     private boolean mPageFinished;
     private boolean mRenderingDone;
+    private long mPageLoadStartTime;
     private final Handler mHandler = new Handler();
 
     public static final String DARK_CSS_THEME = "dark";
     public static final String LIGHT_CSS_THEME = "light";
     public static final String PRINT_CSS_THEME = "print";
 
-    private static final ArrayList<String> sLanguagePlugins = new ArrayList<>();
     private static final int[] ZOOM_SIZES = { 50, 75, 100, 150, 200 };
 
     private final WebViewClient mWebViewClient = new WebViewClient() {
@@ -110,10 +114,13 @@ public abstract class WebViewerActivity extends BaseActivity implements
             WebView.setWebContentsDebuggingEnabled(true);
         }
 
-        setContentView(R.layout.web_viewer);
+        int nativeContentLayout = getNativeContentLayout();
+        setContentView(nativeContentLayout != 0 ? nativeContentLayout : R.layout.web_viewer);
 
         setContentShown(false);
-        setupWebView();
+        if (nativeContentLayout == 0) {
+            setupWebView();
+        }
         setChildScrollDelegate(this);
     }
 
@@ -144,7 +151,6 @@ public abstract class WebViewerActivity extends BaseActivity implements
 
         WebSettings s = mWebView.getSettings();
         initWebViewSettings(s);
-        addCommonJavascriptInterfaces(mWebView);
 
         SharedPreferences prefs = getSharedPreferences(SettingsFragment.PREF_NAME, MODE_PRIVATE);
         int initialZoomLevel = prefs.getInt(SettingsFragment.KEY_TEXT_SIZE, 2);
@@ -157,7 +163,6 @@ public abstract class WebViewerActivity extends BaseActivity implements
         mWebView.setOnTouchListener(this);
     }
 
-    @SuppressLint("SetJavaScriptEnabled")
     private void initWebViewSettings(WebSettings s) {
         s.setLayoutAlgorithm(WebSettings.LayoutAlgorithm.NORMAL);
         s.setAllowFileAccess(false);
@@ -165,13 +170,19 @@ public abstract class WebViewerActivity extends BaseActivity implements
         s.setDisplayZoomControls(false);
         s.setLoadsImagesAutomatically(true);
         s.setSupportZoom(true);
-        s.setJavaScriptEnabled(true);
         s.setUseWideViewPort(false);
     }
 
-    private void addCommonJavascriptInterfaces(WebView webView) {
-        webView.addJavascriptInterface(new Base64JavascriptInterface(), "Base64");
-        webView.addJavascriptInterface(new HtmlUtilsJavascriptInterface(), "HtmlUtils");
+    // Only our own code pages need JavaScript. Markdown can contain raw HTML, which
+    // mustn't be able to run scripts, so JavaScript is kept off for everything else.
+    @SuppressLint("SetJavaScriptEnabled")
+    private void prepareForContent(WebView webView, Object nativeClient) {
+        webView.getSettings().setJavaScriptEnabled(mRequiresNativeClient);
+        if (mRequiresNativeClient) {
+            webView.addJavascriptInterface(nativeClient, "NativeClient");
+        } else {
+            webView.removeJavascriptInterface("NativeClient");
+        }
     }
 
     @Override
@@ -226,12 +237,17 @@ public abstract class WebViewerActivity extends BaseActivity implements
     }
 
     private void doSearch() {
-        if (mWebView == null) {
-            return;
+        FindActionModeCallback findAction = new FindActionModeCallback(this);
+        if (mWebView != null) {
+            findAction.setWebView(mWebView);
+        } else {
+            FindActionModeCallback.Searchable searchable = getNativeSearchable();
+            if (searchable == null) {
+                return;
+            }
+            findAction.setSearchable(searchable);
         }
-        FindActionModeCallback findAction = new FindActionModeCallback(mWebView.getContext());
         startSupportActionMode(findAction);
-        findAction.setWebView(mWebView);
         findAction.showSoftInput();
     }
 
@@ -243,11 +259,10 @@ public abstract class WebViewerActivity extends BaseActivity implements
 
         mPrintWebView = new WebView(this);
         initWebViewSettings(mPrintWebView.getSettings());
-        addCommonJavascriptInterfaces(mPrintWebView);
 
-        if (mRequiresNativeClient) {
-            mPrintWebView.addJavascriptInterface(new PrintNativeClientJavascriptInterface(), "NativeClient");
-        } else {
+        final String html = generateHtml(PRINT_CSS_THEME, true);
+        prepareForContent(mPrintWebView, new PrintNativeClientJavascriptInterface());
+        if (!mRequiresNativeClient) {
             mPrintWebView.setWebViewClient(new WebViewClient() {
                 @Override
                 public void onPageFinished(WebView webView, String url) {
@@ -255,7 +270,6 @@ public abstract class WebViewerActivity extends BaseActivity implements
                 }
             });
         }
-        final String html = generateHtml(PRINT_CSS_THEME, true);
         mPrintWebView.loadDataWithBaseURL("file:///android_asset/", html, null, "utf-8", null);
         supportInvalidateOptionsMenu();
     }
@@ -297,9 +311,22 @@ public abstract class WebViewerActivity extends BaseActivity implements
         if (mPageFinished && (mRenderingDone || !mRequiresNativeClient)) {
             applyLineWrapping(shouldWrapLines());
             setContentShown(true);
+            logPageReadyTime();
         }
     }
 
+    // Page-ready time is what matters for content heavy pages like large code files,
+    // so make it easy to compare in debug builds
+    private void logPageReadyTime() {
+        if (mPageLoadStartTime != 0
+                && (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            long duration = SystemClock.elapsedRealtime() - mPageLoadStartTime;
+            Log.d(Gh4Application.LOG_TAG, "Page ready after " + duration + " ms: "
+                    + getDocumentTitle());
+        }
+        mPageLoadStartTime = 0;
+    }
+
     protected boolean shouldWrapLines() {
         return getPrefs().getBoolean("line_wrapping", false);
     }
@@ -308,8 +335,10 @@ public abstract class WebViewerActivity extends BaseActivity implements
         getPrefs().edit().putBoolean("line_wrapping", enabled).apply();
     }
 
-    private void applyLineWrapping(boolean enabled) {
-        mWebView.loadUrl("javascript:applyLineWrapping(" + enabled + ")");
+    protected void applyLineWrapping(boolean enabled) {
+        if (mWebView != null && mRequiresNativeClient) {
+            mWebView.loadUrl("javascript:applyLineWrapping(" + enabled + ")");
+        }
     }
 
     protected void handleUrlLoad(Uri uri) {
@@ -320,40 +349,28 @@ public abstract class WebViewerActivity extends BaseActivity implements
     }
 
     protected void onDataReady() {
+        if (mWebView == null) {
+            // Subclass displays its content natively and has filled its views already
+            mHasData = true;
+            supportInvalidateOptionsMenu();
+            applyLineWrapping(shouldWrapLines());
+            setContentShown(true);
+            return;
+        }
         final String cssTheme = getResources().getBoolean(R.bool.is_dark_theme)
                 ? DARK_CSS_THEME : LIGHT_CSS_THEME;
         final String html = generateHtml(cssTheme, false);
-        if (mRequiresNativeClient) {
-            mWebView.addJavascriptInterface(new NativeClientJavascriptInterface(), "NativeClient");
-        }
+        prepareForContent(mWebView, new NativeClientJavascriptInterface());
+        mPageLoadStartTime = SystemClock.elapsedRealtime();
         mWebView.loadDataWithBaseURL("file:///android_asset/", html, null, "utf-8", null);
         mHasData = true;
         supportInvalidateOptionsMenu();
     }
 
-    private void loadLanguagePluginListIfNeeded() {
-        if (!sLanguagePlugins.isEmpty()) {
-            return;
-        }
-
-        AssetManager am = getAssets();
-        try {
-            String[] files = am.list("prettify-plugins");
-            for (String filename : files) {
-                if (filename.endsWith(".js")) {
-                    int dotPosition = filename.lastIndexOf('.');
-                    sLanguagePlugins.add("prettify-plugins/" + filename.substring(0, dotPosition));
-                }
-            }
-        } catch (IOException e) {
-            // retry next time
-            sLanguagePlugins.clear();
-        }
-    }
-
-    protected String generateMarkdownHtml(String base64Data,
-            String repoOwner, String repoName, String ref, String folderPath,
-            String cssTheme, boolean addTitleHeader) {
+    /**
+     * @param html Markdown content already rendered to HTML, see {@link MarkdownRenderer}
+     */
+    protected String generateMarkdownHtml(String html, String cssTheme, boolean addTitleHeader) {
         String title = addTitleHeader ? getDocumentTitle() : null;
         StringBuilder content = new StringBuilder();
         content.append("<html><head><title>");
@@ -361,7 +378,6 @@ public abstract class WebViewerActivity extends BaseActivity implements
             content.append(title);
         }
         content.append("</title>");
-        HtmlUtils.writeScriptInclude(content, "showdown");
         HtmlUtils.writeCssInclude(content, "markdown", cssTheme);
         content.append("</head>");
 
@@ -369,23 +385,7 @@ public abstract class WebViewerActivity extends BaseActivity implements
         if (title != null) {
             content.append("<h2>").append(title).append("</h2>");
         }
-        content.append("<div id='content'></div>");
-
-        content.append("<script>");
-        content.append("var text = Base64.decode('");
-        content.append(base64Data.replaceAll("\\n", ""));
-        content.append("');\n");
-        content.append("var converter = new showdown.Converter();\n");
-        content.append("converter.setFlavor('github');\n");
-        content.append("var html = converter.makeHtml(text);\n");
-        if (repoOwner != null && repoName != null) {
-            String actualRef = ref == null ? "master" : ref;
-            content.append(String.format("html = HtmlUtils.rewriteRelativeUrls(html, '%s', '%s', '%s', '%s');\n",
-                    repoOwner, repoName, actualRef, folderPath));
-        }
-        content.append("document.getElementById('content').innerHTML = html;");
-        content.append("</script>");
-
+        content.append("<div id='content'>").append(html).append("</div>");
         content.append("</body></html>");
 
         mRequiresNativeClient = false;
@@ -404,10 +404,10 @@ public abstract class WebViewerActivity extends BaseActivity implements
         content.append("</title>");
         HtmlUtils.writeScriptInclude(content, "codeutils");
 
+        String language = prettifyLanguageCodeFor(fileName, data);
         HtmlUtils.writeCssInclude(content, "prettify", cssTheme);
         HtmlUtils.writeScriptInclude(content, "prettify");
-        loadLanguagePluginListIfNeeded();
-        for (String plugin : sLanguagePlugins) {
+        for (String plugin : PrettifyPluginIndex.getPluginsForLanguage(this, language)) {
             HtmlUtils.writeScriptInclude(content, plugin);
         }
         content.append("</head>");
@@ -419,7 +419,7 @@ public abstract class WebViewerActivity extends BaseActivity implements
             content.append("<h2>").append(title).append("</h2>");
         }
         content.append("<pre id='content' class='prettyprint linenums lang-");
-        content.append(prettifyLanguageCodeFor(fileName, data)).append("'>");
+        content.append(language).append("'>");
 
         content.append(TextUtils.htmlEncode(data));
         content.append("</pre></body></html>");
@@ -461,26 +461,27 @@ public abstract class WebViewerActivity extends BaseActivity implements
     @Override
     protected abstract boolean canSwipeToRefresh();
 
-    protected boolean handlePrintRequest() {
-        return false;
+    /**
+     * Allows subclasses to display their content natively instead of in a web view.
+     * If a layout is returned here, no web view is created for displaying the content;
+     * it's only used for printing (via generateHtml()). Subclasses are responsible for
+     * filling their views before calling onDataReady() and for applying line wrapping.
+     */
+    @LayoutRes
+    protected int getNativeContentLayout() {
+        return 0;
     }
-    protected abstract String generateHtml(String cssTheme, boolean addTitleHeader);
-    protected abstract String getDocumentTitle();
 
-    private static class Base64JavascriptInterface {
-        @JavascriptInterface
-        public String decode(String base64) {
-            return StringUtils.fromBase64(base64);
-        }
+    @Nullable
+    protected FindActionModeCallback.Searchable getNativeSearchable() {
+        return null;
     }
 
-    private static class HtmlUtilsJavascriptInterface {
-        @JavascriptInterface
-        public String rewriteRelativeUrls(final String html, final String repoUser,
-                final String repoName, final String branch, final String folderPath) {
-            return HtmlUtils.rewriteRelativeUrls(html, repoUser, repoName, branch, folderPath);
-        }
+    protected boolean handlePrintRequest() {
+        return false;
     }
+    protected abstract String generateHtml(String cssTheme, boolean addTitleHeader);
+    protected abstract String getDocumentTitle();
 
     private class NativeClientJavascriptInterface {
         @JavascriptInterface
@@ -0,0 +1,232 @@
+package com.gh4a.adapter;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.TextPaint;
+import android.text.style.BackgroundColorSpan;
+import android.text.style.ForegroundColorSpan;
+import android.util.TypedValue;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.webkit.WebView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.gh4a.R;
+import com.gh4a.model.ParsedSource;
+import com.gh4a.utils.SyntaxHighlighter;
+import com.gh4a.utils.UiUtils;
+import com.gh4a.widget.FindActionModeCallback;
+
+/**
+ * Displays a source file line by line, with line numbers.
+ *
+ * Like {@link DiffAdapter}, line views only exist for the visible part of the file.
+ * Syntax highlighting tokens are handed in chunk by chunk as they're produced in the
+ * background; lines are displayed as plain text until their tokens arrived, and the
+ * tokens are only turned into spans when binding a line.
+ */
+public class CodeAdapter extends RecyclerView.Adapter<CodeAdapter.LineViewHolder>
+        implements FindActionModeCallback.Searchable {
+    public interface Callback {
+        void onLineClicked(int line);
+    }
+
+    private final Context mContext;
+    private final ParsedSource mSource;
+    private final Callback mCallback;
+    private final TextPaint mLinePaint;
+    private final int mLineNumberDigits;
+    // Tokens of every line as produced by SyntaxHighlighter, null until highlighted
+    private final int[][] mLineTokens;
+
+    private final int[] mTokenColors = new int[SyntaxHighlighter.TOKEN_TYPE_COUNT];
+    private final int mLineNumberBackgroundColor;
+    private final int mHighlightBackgroundColor;
+    private final int mSecondaryTextColor;
+
+    private int mHighlightStartLine = -1;
+    private int mHighlightEndLine = -1;
+
+    private final LineSearch mSearch;
+
+    public CodeAdapter(Context context, ParsedSource source, Callback callback) {
+        mContext = context;
+        mSource = source;
+        mCallback = callback;
+        mLineNumberDigits = String.valueOf(source.getLineCount()).length();
+        mLineTokens = new int[source.getLineCount()][];
+
+        float textSize = context.getResources().getDimension(R.dimen.diff_line_text_size);
+        mLinePaint = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+        mLinePaint.setTypeface(Typeface.MONOSPACE);
+        mLinePaint.setTextSize(textSize * UiUtils.getCodeTextSizeMultiplier(context));
+
+        mTokenColors[SyntaxHighlighter.TOKEN_KEYWORD] =
+                ContextCompat.getColor(context, R.color.code_keyword);
+        mTokenColors[SyntaxHighlighter.TOKEN_TYPE] =
+                ContextCompat.getColor(context, R.color.code_type);
+        mTokenColors[SyntaxHighlighter.TOKEN_LITERAL] =
+                ContextCompat.getColor(context, R.color.code_literal);
+        mTokenColors[SyntaxHighlighter.TOKEN_STRING] =
+                ContextCompat.getColor(context, R.color.code_string);
+        mTokenColors[SyntaxHighlighter.TOKEN_COMMENT] =
+                ContextCompat.getColor(context, R.color.code_comment);
+        mTokenColors[SyntaxHighlighter.TOKEN_TAG] =
+                ContextCompat.getColor(context, R.color.code_tag);
+        mTokenColors[SyntaxHighlighter.TOKEN_ATTRIBUTE_NAME] =
+                ContextCompat.getColor(context, R.color.code_attribute_name);
+        mLineNumberBackgroundColor =
+                ContextCompat.getColor(context, R.color.diff_default_line_number_background);
+        mHighlightBackgroundColor =
+                ContextCompat.getColor(context, R.color.diff_highlight_background);
+        mSecondaryTextColor = UiUtils.resolveColor(context, android.R.attr.textColorSecondary);
+        mSearch = new LineSearch(this, new LineSearch.Lines() {
+            @Override
+            public int getLineCount() {
+                return source.getLineCount();
+            }
+
+            @Override
+            public String getDisplayLine(int line) {
+                return source.getDisplayLine(line);
+            }
+
+            @Override
+            public int getPositionForLine(int line) {
+                return line;
+            }
+        }, mHighlightBackgroundColor,
+                ContextCompat.getColor(context, R.color.diff_search_match_background));
+    }
+
+    public void addHighlighting(SyntaxHighlighter.Chunk chunk) {
+        int count = Math.min(chunk.lineTokens.length, mLineTokens.length - chunk.startLine);
+        System.arraycopy(chunk.lineTokens, 0, mLineTokens, chunk.startLine, count);
+        notifyItemRangeChanged(chunk.startLine, count);
+    }
+
+    /**
+     * @param startLine First line to highlight, 0-based
+     * @param endLine Last line to highlight (inclusive)
+     */
+    public void setHighlightedLines(int startLine, int endLine) {
+        mHighlightStartLine = startLine;
+        mHighlightEndLine = endLine;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * @return Width needed for displaying the longest line without wrapping it
+     */
+    public int getUnwrappedContentWidth() {
+        int padding = 2 * mContext.getResources().getDimensionPixelSize(R.dimen.code_diff_padding);
+        // Line number column, with padding and separator
+        int chars = mLineNumberDigits + 3 + mSource.getMaxLineLength();
+        return padding + (int) Math.ceil(chars * mLinePaint.measureText("m"));
+    }
+
+    @Override
+    public int getItemCount() {
+        return mSource.getLineCount();
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mSearch.setRecyclerView(recyclerView);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        mSearch.setRecyclerView(null);
+        super.onDetachedFromRecyclerView(recyclerView);
+    }
+
+    @NonNull
+    @Override
+    public LineViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        TextView view = (TextView) inflater.inflate(R.layout.row_diff_line, parent, false);
+        return new LineViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull LineViewHolder holder, int line) {
+        SpannableStringBuilder builder = new SpannableStringBuilder();
+        String number = String.valueOf(line + 1);
+        builder.append(' ');
+        for (int i = number.length(); i < mLineNumberDigits; i++) {
+            builder.append(' ');
+        }
+        builder.append(number).append(' ');
+        builder.setSpan(new BackgroundColorSpan(mLineNumberBackgroundColor),
+                0, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        builder.setSpan(new ForegroundColorSpan(mSecondaryTextColor),
+                0, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        builder.append(' ');
+
+        int textStart = builder.length();
+        builder.append(mSource.getDisplayLine(line));
+
+        int[] tokens = mLineTokens[line];
+        if (tokens != null) {
+            for (int i = 0; i < tokens.length; i += 3) {
+                builder.setSpan(new ForegroundColorSpan(mTokenColors[tokens[i + 2]]),
+                        textStart + tokens[i], textStart + tokens[i + 1],
+                        Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            }
+        }
+        mSearch.addMatchSpans(builder, line, textStart);
+
+        boolean highlighted = line >= mHighlightStartLine && line <= mHighlightEndLine;
+        holder.mLine = line;
+        holder.mTextView.setText(builder);
+        holder.mTextView.setBackgroundColor(highlighted ? mHighlightBackgroundColor : 0);
+    }
+
+    @Override
+    public void setFindListener(@Nullable WebView.FindListener listener) {
+        mSearch.setFindListener(listener);
+    }
+
+    @Override
+    public void findAllAsync(String find) {
+        mSearch.findAllAsync(find);
+    }
+
+    @Override
+    public void findNext(boolean forward) {
+        mSearch.findNext(forward);
+    }
+
+    @Override
+    public void clearMatches() {
+        mSearch.clearMatches();
+    }
+
+    public class LineViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
+        private final TextView mTextView;
+        private int mLine;
+
+        public LineViewHolder(TextView view) {
+            super(view);
+            mTextView = view;
+            mTextView.setTypeface(Typeface.MONOSPACE);
+            mTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX, mLinePaint.getTextSize());
+            mTextView.setOnClickListener(this);
+        }
+
+        @Override
+        public void onClick(View view) {
+            mCallback.onLineClicked(mLine);
+        }
+    }
+}
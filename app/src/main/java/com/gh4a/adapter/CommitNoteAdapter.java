@@ -130,6 +130,33 @@ public class CommitNoteAdapter extends RootAdapter<GitComment, CommitNoteAdapter
         return users;
     }
 
+    /**
+     * Converts the bodies of the given comments around the given position, so binding
+     * them doesn't need to do it. Meant to be called on a background thread.
+     */
+    public void preRenderBodies(final List<GitComment> comments, int centerPosition) {
+        mImageGetter.preEncode(mContext, new HttpImageGetter.HtmlSource() {
+            @Override
+            public int getCount() {
+                return comments.size();
+            }
+
+            @Override
+            public Object getKey(int position) {
+                return getBodyKey(comments.get(position));
+            }
+
+            @Override
+            public String getHtml(int position) {
+                return comments.get(position).bodyHtml();
+            }
+        }, centerPosition);
+    }
+
+    private static Object getBodyKey(GitComment comment) {
+        return HttpImageGetter.makeKey(comment.id(), comment.updatedAt());
+    }
+
     @Override
     public void clear() {
         super.clear();
@@ -181,7 +208,7 @@ public class CommitNoteAdapter extends RootAdapter<GitComment, CommitNoteAdapter
             holder.tvEditTimestamp.setVisibility(View.VISIBLE);
         }
 
-        mImageGetter.bind(holder.tvDesc, item.bodyHtml(), item.id());
+        mImageGetter.bind(holder.tvDesc, item.bodyHtml(), getBodyKey(item));
 
         final SpannableStringBuilder login = ApiHelpers.getUserLoginWithType(mContext, user, true);
         holder.tvExtra.setText(login);
@@ -0,0 +1,489 @@
+package com.gh4a.adapter;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.TextPaint;
+import android.text.style.BackgroundColorSpan;
+import android.text.style.ForegroundColorSpan;
+import android.util.SparseArray;
+import android.util.TypedValue;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.webkit.WebView;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.gh4a.R;
+import com.gh4a.model.ParsedDiff;
+import com.gh4a.utils.ApiHelpers;
+import com.gh4a.utils.AvatarHandler;
+import com.gh4a.utils.HttpImageGetter;
+import com.gh4a.utils.StringUtils;
+import com.gh4a.utils.UiUtils;
+import com.gh4a.widget.FindActionModeCallback;
+import com.gh4a.widget.ReactionBar;
+import com.meisolsson.githubsdk.model.PositionalCommentBase;
+import com.meisolsson.githubsdk.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Displays a diff line by line, with the comments made on a line following it.
+ *
+ * Line views are only created for the visible part of the diff and the line contents
+ * are only extracted when binding a line, so the cost of displaying a diff doesn't
+ * depend on its size.
+ */
+public class DiffAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
+        implements FindActionModeCallback.Searchable {
+    public interface Callback {
+        void onLineClicked(int line);
+        void onCommentMenuClicked(int line, PositionalCommentBase comment);
+        ReactionBar.Item getReactionItem(PositionalCommentBase comment);
+    }
+
+    private static final int VIEW_TYPE_LINE = 0;
+    private static final int VIEW_TYPE_COMMENT = 1;
+
+    private final Context mContext;
+    private final ParsedDiff mDiff;
+    private final Callback mCallback;
+    private final ReactionBar.Callback mReactionCallback;
+    private final ReactionBar.ReactionDetailsCache mReactionDetailsCache;
+    private final HttpImageGetter mImageGetter;
+    private final TextPaint mLinePaint;
+    private final int mLineNumberDigits;
+    private final boolean mCanComment;
+
+    private final int mAddedLineBackgroundColor;
+    private final int mRemovedLineBackgroundColor;
+    private final int mAddedLineNumberBackgroundColor;
+    private final int mRemovedLineNumberBackgroundColor;
+    private final int mDefaultLineNumberBackgroundColor;
+    private final int mHunkHeaderBackgroundColor;
+    private final int mHighlightBackgroundColor;
+    private final int mSecondaryTextColor;
+
+    // Lines having comments, in ascending order, along with their comments and the
+    // number of comments on all lines before them
+    private int[] mCommentLines = new int[0];
+    private List<PositionalCommentBase>[] mCommentGroups = newCommentGroups(0);
+    private int[] mCommentsBefore = new int[0];
+    private int mCommentCount;
+
+    private int mHighlightStartLine = -1;
+    private int mHighlightEndLine = -1;
+    private long mHighlightedCommentId = -1;
+    private int mCommentWidth = ViewGroup.LayoutParams.MATCH_PARENT;
+
+    private final LineSearch mSearch;
+
+    public DiffAdapter(Context context, ParsedDiff diff, boolean canComment, Callback callback,
+            ReactionBar.Callback reactionCallback, ReactionBar.ReactionDetailsCache cache) {
+        mContext = context;
+        mDiff = diff;
+        mCanComment = canComment;
+        mCallback = callback;
+        mReactionCallback = reactionCallback;
+        mReactionDetailsCache = cache;
+        mImageGetter = new HttpImageGetter(context);
+        mLineNumberDigits = String.valueOf(diff.getLineNumberUpperBound()).length();
+
+        float textSize = context.getResources().getDimension(R.dimen.diff_line_text_size);
+        mLinePaint = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+        mLinePaint.setTypeface(Typeface.MONOSPACE);
+        mLinePaint.setTextSize(textSize * UiUtils.getCodeTextSizeMultiplier(context));
+
+        mAddedLineBackgroundColor = UiUtils.resolveColor(context, R.attr.colorDiffAddBackground);
+        mRemovedLineBackgroundColor =
+                UiUtils.resolveColor(context, R.attr.colorDiffRemoveBackground);
+        mAddedLineNumberBackgroundColor =
+                UiUtils.resolveColor(context, R.attr.colorDiffAddLineNumberBackground);
+        mRemovedLineNumberBackgroundColor =
+                UiUtils.resolveColor(context, R.attr.colorDiffRemoveLineNumberBackground);
+        mDefaultLineNumberBackgroundColor =
+                ContextCompat.getColor(context, R.color.diff_default_line_number_background);
+        mHunkHeaderBackgroundColor =
+                ContextCompat.getColor(context, R.color.diff_hunk_header_background);
+        mHighlightBackgroundColor =
+                ContextCompat.getColor(context, R.color.diff_highlight_background);
+        mSecondaryTextColor = UiUtils.resolveColor(context, android.R.attr.textColorSecondary);
+        mSearch = new LineSearch(this, new LineSearch.Lines() {
+            @Override
+            public int getLineCount() {
+                return diff.getLineCount();
+            }
+
+            @Override
+            public String getDisplayLine(int line) {
+                return diff.getDisplayLine(line);
+            }
+
+            @Override
+            public int getPositionForLine(int line) {
+                return DiffAdapter.this.getPositionForLine(line);
+            }
+        }, mHighlightBackgroundColor,
+                ContextCompat.getColor(context, R.color.diff_search_match_background));
+    }
+
+    public void destroy() {
+        mImageGetter.destroy();
+    }
+
+    public void resume() {
+        mImageGetter.resume();
+    }
+
+    public void pause() {
+        mImageGetter.pause();
+    }
+
+    /**
+     * @param commentsByLine Comments to display, keyed by the index of the line they
+     *                       were made on
+     */
+    public void setComments(SparseArray<List<PositionalCommentBase>> commentsByLine) {
+        int groupCount = 0;
+        for (int i = 0; i < commentsByLine.size(); i++) {
+            int line = commentsByLine.keyAt(i);
+            if (line >= 0 && line < mDiff.getLineCount()) {
+                groupCount++;
+            }
+        }
+
+        mCommentLines = new int[groupCount];
+        mCommentGroups = newCommentGroups(groupCount);
+        mCommentsBefore = new int[groupCount];
+        mCommentCount = 0;
+
+        int group = 0;
+        for (int i = 0; i < commentsByLine.size(); i++) {
+            int line = commentsByLine.keyAt(i);
+            if (line < 0 || line >= mDiff.getLineCount()) {
+                continue;
+            }
+            List<PositionalCommentBase> comments = new ArrayList<>(commentsByLine.valueAt(i));
+            mCommentLines[group] = line;
+            mCommentGroups[group] = comments;
+            mCommentsBefore[group] = mCommentCount;
+            mCommentCount += comments.size();
+            group++;
+        }
+        notifyDataSetChanged();
+    }
+
+    public void setHighlightedLines(int startLine, int endLine) {
+        mHighlightStartLine = startLine;
+        mHighlightEndLine = endLine;
+        notifyDataSetChanged();
+    }
+
+    public void setHighlightedCommentId(long id) {
+        mHighlightedCommentId = id;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Sets the width of comment views. When lines aren't wrapped, the list is as wide
+     * as the longest line, but comments should still fit the screen.
+     */
+    public void setCommentWidth(int width) {
+        if (width != mCommentWidth) {
+            mCommentWidth = width;
+            notifyDataSetChanged();
+        }
+    }
+
+    /**
+     * @return Width needed for displaying the longest line without wrapping it
+     */
+    public int getUnwrappedContentWidth() {
+        int padding = 2 * mContext.getResources().getDimensionPixelSize(R.dimen.code_diff_padding);
+        int chars = getLineNumberColumnsLength() + mDiff.getMaxLineLength();
+        return padding + (int) Math.ceil(chars * mLinePaint.measureText("m"));
+    }
+
+    public int getPositionForLine(int line) {
+        // Index of last group before the line
+        int group = Arrays.binarySearch(mCommentLines, line);
+        group = group >= 0 ? group - 1 : -group - 2;
+        return group >= 0
+                ? line + mCommentsBefore[group] + mCommentGroups[group].size()
+                : line;
+    }
+
+    public int getPositionForComment(long id) {
+        for (int group = 0; group < mCommentGroups.length; group++) {
+            List<PositionalCommentBase> comments = mCommentGroups[group];
+            for (int i = 0; i < comments.size(); i++) {
+                if (comments.get(i).id() == id) {
+                    return getPositionForLine(mCommentLines[group]) + 1 + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getItemCount() {
+        return mDiff.getLineCount() + mCommentCount;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return findCommentGroup(position) >= 0 ? VIEW_TYPE_COMMENT : VIEW_TYPE_LINE;
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mSearch.setRecyclerView(recyclerView);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        mSearch.setRecyclerView(null);
+        super.onDetachedFromRecyclerView(recyclerView);
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == VIEW_TYPE_COMMENT) {
+            View view = inflater.inflate(R.layout.row_timeline_comment, parent, false);
+            return new CommentViewHolder(view);
+        }
+        TextView view = (TextView) inflater.inflate(R.layout.row_diff_line, parent, false);
+        return new LineViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        int group = findCommentGroup(position);
+        if (group >= 0) {
+            int index = position - getPositionForLine(mCommentLines[group]) - 1;
+            bindComment((CommentViewHolder) holder, mCommentLines[group],
+                    mCommentGroups[group].get(index));
+        } else {
+            bindLine((LineViewHolder) holder, getLineForPosition(position));
+        }
+    }
+
+    @Override
+    public void setFindListener(@Nullable WebView.FindListener listener) {
+        mSearch.setFindListener(listener);
+    }
+
+    @Override
+    public void findAllAsync(String find) {
+        mSearch.findAllAsync(find);
+    }
+
+    @Override
+    public void findNext(boolean forward) {
+        mSearch.findNext(forward);
+    }
+
+    @Override
+    public void clearMatches() {
+        mSearch.clearMatches();
+    }
+
+    private void bindLine(LineViewHolder holder, int line) {
+        int type = mDiff.getLineType(line);
+        int left = mDiff.getLeftLineNumber(line);
+        int right = mDiff.getRightLineNumber(line);
+
+        int backgroundColor = 0;
+        int lineNumberBackgroundColor = mDefaultLineNumberBackgroundColor;
+        switch (type) {
+            case ParsedDiff.LINE_TYPE_ADDED:
+                backgroundColor = mAddedLineBackgroundColor;
+                lineNumberBackgroundColor = mAddedLineNumberBackgroundColor;
+                break;
+            case ParsedDiff.LINE_TYPE_REMOVED:
+                backgroundColor = mRemovedLineBackgroundColor;
+                lineNumberBackgroundColor = mRemovedLineNumberBackgroundColor;
+                break;
+            case ParsedDiff.LINE_TYPE_HUNK_HEADER:
+                backgroundColor = mHunkHeaderBackgroundColor;
+                break;
+        }
+        if (line >= mHighlightStartLine && line <= mHighlightEndLine) {
+            backgroundColor = mHighlightBackgroundColor;
+        }
+
+        SpannableStringBuilder builder = new SpannableStringBuilder();
+        if (type != ParsedDiff.LINE_TYPE_HUNK_HEADER) {
+            appendLineNumber(builder, type != ParsedDiff.LINE_TYPE_ADDED ? left : 0);
+            appendLineNumber(builder, type != ParsedDiff.LINE_TYPE_REMOVED ? right : 0);
+            builder.setSpan(new BackgroundColorSpan(lineNumberBackgroundColor),
+                    0, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            builder.setSpan(new ForegroundColorSpan(mSecondaryTextColor),
+                    0, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            builder.append(' ');
+        }
+
+        int textStart = builder.length();
+        builder.append(mDiff.getDisplayLine(line));
+        mSearch.addMatchSpans(builder, line, textStart);
+
+        holder.mLine = line;
+        holder.mTextView.setText(builder);
+        holder.mTextView.setBackgroundColor(backgroundColor);
+        holder.mTextView.setClickable(mCanComment);
+    }
+
+    private void appendLineNumber(SpannableStringBuilder builder, int number) {
+        String numberText = number > 0 ? String.valueOf(number) : "";
+        builder.append(' ');
+        for (int i = numberText.length(); i < mLineNumberDigits; i++) {
+            builder.append(' ');
+        }
+        builder.append(numberText).append(' ');
+    }
+
+    private int getLineNumberColumnsLength() {
+        // Two line number columns, with padding and separator
+        return 2 * (mLineNumberDigits + 2) + 1;
+    }
+
+    private void bindComment(CommentViewHolder holder, int line, PositionalCommentBase comment) {
+        User user = comment.user();
+
+        holder.mLine = line;
+        holder.mComment = comment;
+
+        ViewGroup.LayoutParams lp = holder.itemView.getLayoutParams();
+        if (lp.width != mCommentWidth) {
+            lp.width = mCommentWidth;
+            holder.itemView.setLayoutParams(lp);
+        }
+        if (comment.id() == mHighlightedCommentId) {
+            holder.itemView.setBackgroundColor(mHighlightBackgroundColor);
+        } else {
+            holder.itemView.setBackground(holder.mDefaultBackground);
+        }
+
+        AvatarHandler.assignAvatar(holder.mAvatar, user);
+        holder.mUser.setText(ApiHelpers.getUserLoginWithType(mContext, user, true));
+        holder.mTimestamp.setText(
+                StringUtils.formatRelativeTime(mContext, comment.createdAt(), true));
+        mImageGetter.bind(holder.mBody, comment.bodyHtml(),
+                HttpImageGetter.makeKey(comment.id(), comment.updatedAt()));
+
+        holder.mReactions.setReactions(comment.reactions());
+        holder.mReactions.setCallback(mReactionCallback, mCallback.getReactionItem(comment));
+        holder.mMenu.setVisibility(mCanComment ? View.VISIBLE : View.GONE);
+    }
+
+    private int getLineForPosition(int position) {
+        int group = findLastGroupBefore(position);
+        return group >= 0
+                ? position - mCommentsBefore[group] - mCommentGroups[group].size()
+                : position;
+    }
+
+    /**
+     * @return Index of the comment group containing the item at the given position,
+     * or -1 if that item is a line
+     */
+    private int findCommentGroup(int position) {
+        int group = findLastGroupBefore(position);
+        if (group < 0) {
+            return -1;
+        }
+        int linePosition = mCommentLines[group] + mCommentsBefore[group];
+        return position <= linePosition + mCommentGroups[group].size() ? group : -1;
+    }
+
+    /**
+     * @return Index of the last comment group whose line is displayed before the given
+     * position, or -1 if there is none
+     */
+    private int findLastGroupBefore(int position) {
+        int low = 0;
+        int high = mCommentLines.length - 1;
+        int result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (mCommentLines[mid] + mCommentsBefore[mid] < position) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<PositionalCommentBase>[] newCommentGroups(int count) {
+        return (List<PositionalCommentBase>[]) new List[count];
+    }
+
+    private class LineViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
+        private final TextView mTextView;
+        private int mLine;
+
+        public LineViewHolder(TextView view) {
+            super(view);
+            mTextView = view;
+            mTextView.setTypeface(Typeface.MONOSPACE);
+            mTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX, mLinePaint.getTextSize());
+            mTextView.setOnClickListener(this);
+        }
+
+        @Override
+        public void onClick(View view) {
+            mCallback.onLineClicked(mLine);
+        }
+    }
+
+    private class CommentViewHolder extends RecyclerView.ViewHolder
+            implements View.OnClickListener {
+        private final ImageView mAvatar;
+        private final TextView mUser;
+        private final TextView mTimestamp;
+        private final TextView mBody;
+        private final ReactionBar mReactions;
+        private final View mMenu;
+        private final Drawable mDefaultBackground;
+        private int mLine;
+        private PositionalCommentBase mComment;
+
+        public CommentViewHolder(View view) {
+            super(view);
+            mAvatar = view.findViewById(R.id.iv_gravatar);
+            mUser = view.findViewById(R.id.tv_extra);
+            mTimestamp = view.findViewById(R.id.tv_timestamp);
+            mBody = view.findViewById(R.id.tv_desc);
+            mReactions = view.findViewById(R.id.reactions);
+            mReactions.setDetailsCache(mReactionDetailsCache);
+            mMenu = view.findViewById(R.id.iv_menu);
+            mMenu.setOnClickListener(this);
+            mDefaultBackground = view.getBackground();
+
+            // Commit comment edit timestamps aren't meaningful, see CommentViewHolder
+            view.findViewById(R.id.tv_edit_timestamp).setVisibility(View.GONE);
+        }
+
+        @Override
+        public void onClick(View view) {
+            mCallback.onCommentMenuClicked(mLine, mComment);
+        }
+    }
+}
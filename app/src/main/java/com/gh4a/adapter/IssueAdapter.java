@@ -35,6 +35,12 @@ import com.meisolsson.githubsdk.model.Issue;
 public class IssueAdapter extends RootAdapter<Issue, IssueAdapter.ViewHolder> {
     public IssueAdapter(Context context) {
         super(context);
+        setHasStableIds(true);
+    }
+
+    @Override
+    protected long getItemId(Issue issue) {
+        return issue.id();
     }
 
     @Override
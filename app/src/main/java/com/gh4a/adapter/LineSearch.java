@@ -0,0 +1,202 @@
+package com.gh4a.adapter;
+
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.BackgroundColorSpan;
+import android.util.Log;
+import android.webkit.WebView;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.gh4a.Gh4Application;
+import com.gh4a.widget.FindActionModeCallback;
+
+import java.util.Arrays;
+
+import io.reactivex.Single;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Searching for adapters displaying text line by line, like {@link CodeAdapter} and
+ * {@link DiffAdapter}.
+ *
+ * Lines are scanned for matches in the background, like syntax highlighting is done,
+ * so searching a large file doesn't block the UI. Matches are only turned into spans
+ * when binding the line containing them.
+ */
+class LineSearch implements FindActionModeCallback.Searchable {
+    interface Lines {
+        int getLineCount();
+        /**
+         * Called on a background thread, so must not depend on state changed after
+         * creating the adapter.
+         */
+        String getDisplayLine(int line);
+        int getPositionForLine(int line);
+    }
+
+    private final RecyclerView.Adapter<?> mAdapter;
+    private final Lines mLines;
+    private final int mMatchBackgroundColor;
+    private final int mActiveMatchBackgroundColor;
+
+    private String mSearchText;
+    private Matches mMatches = new Matches();
+    private int mActiveMatch = -1;
+    private WebView.FindListener mFindListener;
+    private RecyclerView mRecyclerView;
+    private Disposable mScanSubscription;
+
+    LineSearch(RecyclerView.Adapter<?> adapter, Lines lines,
+            int matchBackgroundColor, int activeMatchBackgroundColor) {
+        mAdapter = adapter;
+        mLines = lines;
+        mMatchBackgroundColor = matchBackgroundColor;
+        mActiveMatchBackgroundColor = activeMatchBackgroundColor;
+    }
+
+    /**
+     * Needs to be called when the adapter is attached to or detached from its recycler view.
+     */
+    void setRecyclerView(@Nullable RecyclerView recyclerView) {
+        mRecyclerView = recyclerView;
+        if (recyclerView == null) {
+            cancelScan();
+        }
+    }
+
+    /**
+     * Highlights the matches in the given line.
+     *
+     * @param textStart Offset of the line contents in the builder
+     */
+    void addMatchSpans(SpannableStringBuilder builder, int line, int textStart) {
+        if (mSearchText == null) {
+            return;
+        }
+        for (int i = 0; i < mMatches.count; i++) {
+            if (mMatches.lines[i] != line) {
+                continue;
+            }
+            int start = textStart + mMatches.offsets[i];
+            int color = i == mActiveMatch ? mActiveMatchBackgroundColor : mMatchBackgroundColor;
+            builder.setSpan(new BackgroundColorSpan(color),
+                    start, start + mSearchText.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        }
+    }
+
+    @Override
+    public void setFindListener(@Nullable WebView.FindListener listener) {
+        mFindListener = listener;
+    }
+
+    @Override
+    public void findAllAsync(final String find) {
+        cancelScan();
+        mScanSubscription = Single.fromCallable(() -> findMatches(find))
+                .subscribeOn(Schedulers.computation())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(matches -> {
+                    mScanSubscription = null;
+                    mSearchText = find;
+                    mMatches = matches;
+                    mActiveMatch = -1;
+                    mAdapter.notifyDataSetChanged();
+                    if (matches.count > 0) {
+                        selectMatch(0);
+                    } else {
+                        reportFindResult();
+                    }
+                }, error -> Log.w(Gh4Application.LOG_TAG, "Searching failed", error));
+    }
+
+    @Override
+    public void findNext(boolean forward) {
+        if (mMatches.count > 0) {
+            int next = mActiveMatch + (forward ? 1 : -1);
+            selectMatch((next + mMatches.count) % mMatches.count);
+        }
+    }
+
+    @Override
+    public void clearMatches() {
+        cancelScan();
+        mSearchText = null;
+        mMatches = new Matches();
+        mActiveMatch = -1;
+        mAdapter.notifyDataSetChanged();
+    }
+
+    private void cancelScan() {
+        if (mScanSubscription != null) {
+            mScanSubscription.dispose();
+            mScanSubscription = null;
+        }
+    }
+
+    private Matches findMatches(String find) {
+        Matches matches = new Matches();
+        for (int line = 0; line < mLines.getLineCount(); line++) {
+            String text = mLines.getDisplayLine(line);
+            int offset = indexOfIgnoreCase(text, find, 0);
+            while (offset >= 0) {
+                matches.add(line, offset);
+                offset = indexOfIgnoreCase(text, find, offset + find.length());
+            }
+        }
+        return matches;
+    }
+
+    private void selectMatch(int match) {
+        int oldLine = mActiveMatch >= 0 ? mMatches.lines[mActiveMatch] : -1;
+        mActiveMatch = match;
+        int line = mMatches.lines[match];
+        if (oldLine >= 0) {
+            mAdapter.notifyItemChanged(mLines.getPositionForLine(oldLine));
+        }
+        mAdapter.notifyItemChanged(mLines.getPositionForLine(line));
+
+        if (mRecyclerView != null) {
+            LinearLayoutManager lm = (LinearLayoutManager) mRecyclerView.getLayoutManager();
+            lm.scrollToPositionWithOffset(mLines.getPositionForLine(line),
+                    mRecyclerView.getHeight() / 3);
+        }
+        reportFindResult();
+    }
+
+    private void reportFindResult() {
+        if (mFindListener != null) {
+            mFindListener.onFindResultReceived(Math.max(mActiveMatch, 0), mMatches.count, true);
+        }
+    }
+
+    private static int indexOfIgnoreCase(String text, String find, int start) {
+        for (int i = start; i <= text.length() - find.length(); i++) {
+            if (text.regionMatches(true, i, find, 0, find.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static class Matches {
+        int[] lines = new int[0];
+        int[] offsets = new int[0];
+        int count;
+
+        void add(int line, int offset) {
+            if (count == lines.length) {
+                int newSize = Math.max(16, count * 2);
+                lines = Arrays.copyOf(lines, newSize);
+                offsets = Arrays.copyOf(offsets, newSize);
+            }
+            lines[count] = line;
+            offsets[count] = offset;
+            count++;
+        }
+    }
+}
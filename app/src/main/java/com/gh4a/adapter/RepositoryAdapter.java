@@ -37,6 +37,12 @@ public class RepositoryAdapter extends RootAdapter<Repository, RepositoryAdapter
         implements Filterable {
     public RepositoryAdapter(Context context) {
         super(context);
+        setHasStableIds(true);
+    }
+
+    @Override
+    protected long getItemId(Repository repository) {
+        return repository.id();
     }
 
     @Override
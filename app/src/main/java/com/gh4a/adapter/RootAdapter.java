@@ -16,7 +16,12 @@
 package com.gh4a.adapter;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.Nullable;
 import androidx.core.graphics.drawable.DrawableCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 import android.text.TextUtils;
 import android.view.LayoutInflater;
@@ -28,6 +33,8 @@ import android.widget.Filterable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * The Root adapter.
@@ -52,6 +59,10 @@ public abstract class RootAdapter<T, VH extends RecyclerView.ViewHolder>
      */
     private List<T> mObjects;
     private final List<T> mUnfilteredObjects;
+    // Objects to be displayed once the diff against mObjects is computed
+    private List<T> mPendingObjects;
+    private Runnable mPendingOnDisplayed;
+    private int mDiffGeneration;
 
     /**
      * The context.
@@ -74,6 +85,34 @@ public abstract class RootAdapter<T, VH extends RecyclerView.ViewHolder>
 
     protected static final int CUSTOM_VIEW_TYPE_START = VIEW_TYPE_ITEM;
 
+    private static final long HEADER_ITEM_ID = -2;
+    private static final long FOOTER_ITEM_ID = -3;
+
+    private static final Executor DIFF_EXECUTOR = Executors.newSingleThreadExecutor();
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private final ListUpdateCallback mUpdateCallback = new ListUpdateCallback() {
+        @Override
+        public void onInserted(int position, int count) {
+            notifyItemRangeInserted(getItemStart() + position, count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            notifyItemRangeRemoved(getItemStart() + position, count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            notifyItemMoved(getItemStart() + fromPosition, getItemStart() + toPosition);
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            notifyItemRangeChanged(getItemStart() + position, count, payload);
+        }
+    };
+
     private final Filter mFilter = new Filter() {
         @Override
         protected FilterResults performFiltering(CharSequence constraint) {
@@ -97,8 +136,7 @@ public abstract class RootAdapter<T, VH extends RecyclerView.ViewHolder>
         @SuppressWarnings("unchecked")
         @Override
         protected void publishResults(CharSequence constraint, FilterResults results) {
-            mObjects = (List<T>) results.values;
-            notifyDataSetChanged();
+            updateDisplayedObjects(new ArrayList<>((List<T>) results.values), null);
         }
     };
 
@@ -155,18 +193,33 @@ public abstract class RootAdapter<T, VH extends RecyclerView.ViewHolder>
 
     @Override
     public int getItemViewType(int position) {
-        int itemStart = mHeaderView != null ? 1 : 0;
+        int itemStart = getItemStart();
         if (mHeaderView != null && position == 0) {
             return VIEW_TYPE_HEADER;
         } else if (mFooterView != null && position == itemStart + mObjects.size()) {
             return VIEW_TYPE_FOOTER;
         } else {
-            int viewType = getItemViewType(getItem(position - itemStart));
+            int viewType = getItemViewType(mObjects.get(position - itemStart));
             assert viewType >= CUSTOM_VIEW_TYPE_START;
             return viewType;
         }
     }
 
+    @Override
+    public long getItemId(int position) {
+        int itemStart = getItemStart();
+        if (mHeaderView != null && position == 0) {
+            return HEADER_ITEM_ID;
+        } else if (mFooterView != null && position == itemStart + mObjects.size()) {
+            return FOOTER_ITEM_ID;
+        }
+        return getItemId(mObjects.get(position - itemStart));
+    }
+
+    /**
+     * Returns the number of displayed items, which doesn't include items passed to
+     * {@link #setItems(Collection)} while the differences to them are calculated.
+     */
     public int getCount() {
         return mObjects.size();
     }
@@ -176,7 +229,11 @@ public abstract class RootAdapter<T, VH extends RecyclerView.ViewHolder>
     }
 
     public T getItemFromAdapterPosition(int position) {
-        return mObjects.get(position - (mHeaderView != null ? 1 : 0));
+        return mObjects.get(position - getItemStart());
+    }
+
+    private int getItemStart() {
+        return mHeaderView != null ? 1 : 0;
     }
 
     /**
@@ -185,33 +242,117 @@ public abstract class RootAdapter<T, VH extends RecyclerView.ViewHolder>
      * @param object the object
      */
     public void add(T object) {
+        applyPendingObjects();
         mUnfilteredObjects.add(object);
         mObjects.add(object);
     }
 
     public void addAll(Collection<T> objects) {
         if (objects != null) {
+            applyPendingObjects();
+            int oldCount = mObjects.size();
             mUnfilteredObjects.addAll(objects);
             mObjects.addAll(objects);
-            notifyDataSetChanged();
+            notifyItemRangeInserted(getItemStart() + oldCount, objects.size());
         }
     }
 
+    /**
+     * Replaces the adapter contents by the given objects. If items are displayed already,
+     * the differences to the new contents are calculated in the background, so only
+     * the items which actually changed are rebound.
+     */
+    public void setItems(Collection<T> objects) {
+        setItems(objects, null);
+    }
+
+    /**
+     * Like {@link #setItems(Collection)}, but runs the given callback once the new contents
+     * are displayed, from which point on positions refer to them. The callback isn't run
+     * if the contents are replaced again before.
+     */
+    public void setItems(Collection<T> objects, @Nullable Runnable onDisplayed) {
+        mUnfilteredObjects.clear();
+        mUnfilteredObjects.addAll(objects);
+        updateDisplayedObjects(new ArrayList<>(objects), onDisplayed);
+    }
+
     public void remove(T object) {
+        applyPendingObjects();
         mUnfilteredObjects.remove(object);
-        mObjects.remove(object);
-        notifyDataSetChanged();
+        int position = mObjects.indexOf(object);
+        if (position >= 0) {
+            mObjects.remove(position);
+            notifyItemRemoved(getItemStart() + position);
+        }
     }
 
     public void clear() {
+        int oldCount = mObjects.size();
+        mDiffGeneration++;
+        mPendingObjects = null;
+        mPendingOnDisplayed = null;
         mUnfilteredObjects.clear();
         mObjects.clear();
-        notifyDataSetChanged();
+        notifyItemRangeRemoved(getItemStart(), oldCount);
     }
 
     public void highlight(int position) {
         mHighlightPosition = position;
-        notifyDataSetChanged();
+        notifyItemChanged(position);
+    }
+
+    private void updateDisplayedObjects(final List<T> newObjects,
+            @Nullable final Runnable onDisplayed) {
+        final int generation = ++mDiffGeneration;
+        final List<T> oldObjects = mObjects;
+
+        if (oldObjects.isEmpty() || newObjects.isEmpty()) {
+            // Nothing to compare, so there's no point in going to the background
+            mPendingObjects = null;
+            mPendingOnDisplayed = null;
+            mObjects = newObjects;
+            notifyItemRangeRemoved(getItemStart(), oldObjects.size());
+            notifyItemRangeInserted(getItemStart(), newObjects.size());
+            if (onDisplayed != null) {
+                onDisplayed.run();
+            }
+            return;
+        }
+
+        mPendingObjects = newObjects;
+        mPendingOnDisplayed = onDisplayed;
+        DIFF_EXECUTOR.execute(() -> {
+            final DiffUtil.DiffResult result =
+                    DiffUtil.calculateDiff(new ItemDiffCallback(oldObjects, newObjects));
+            MAIN_HANDLER.post(() -> {
+                if (generation != mDiffGeneration) {
+                    // Superseded by a later update
+                    return;
+                }
+                mPendingObjects = null;
+                mPendingOnDisplayed = null;
+                mObjects = newObjects;
+                result.dispatchUpdatesTo(mUpdateCallback);
+                if (onDisplayed != null) {
+                    onDisplayed.run();
+                }
+            });
+        });
+    }
+
+    private void applyPendingObjects() {
+        if (mPendingObjects != null) {
+            mDiffGeneration++;
+            mObjects = mPendingObjects;
+            mPendingObjects = null;
+            notifyDataSetChanged();
+            if (mPendingOnDisplayed != null) {
+                Runnable onDisplayed = mPendingOnDisplayed;
+                mPendingOnDisplayed = null;
+                onDisplayed.run();
+            }
+        }
     }
 
     @Override
@@ -293,6 +434,25 @@ public abstract class RootAdapter<T, VH extends RecyclerView.ViewHolder>
         return VIEW_TYPE_ITEM;
     }
 
+    /**
+     * Returns a unique ID for the item. Subclasses overriding this should enable
+     * stable IDs, which are then also used to match items when updating the contents.
+     */
+    protected long getItemId(T item) {
+        return RecyclerView.NO_ID;
+    }
+
+    protected boolean areItemsTheSame(T oldItem, T newItem) {
+        if (hasStableIds()) {
+            return getItemId(oldItem) == getItemId(newItem);
+        }
+        return oldItem.equals(newItem);
+    }
+
+    protected boolean areContentsTheSame(T oldItem, T newItem) {
+        return oldItem.equals(newItem);
+    }
+
     @Override
     public Filter getFilter() {
         return mFilter;
@@ -306,6 +466,38 @@ public abstract class RootAdapter<T, VH extends RecyclerView.ViewHolder>
         return false;
     }
 
+    private class ItemDiffCallback extends DiffUtil.Callback {
+        private final List<T> mOldObjects;
+        private final List<T> mNewObjects;
+
+        public ItemDiffCallback(List<T> oldObjects, List<T> newObjects) {
+            mOldObjects = oldObjects;
+            mNewObjects = newObjects;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return mOldObjects.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return mNewObjects.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            return RootAdapter.this.areItemsTheSame(mOldObjects.get(oldItemPosition),
+                    mNewObjects.get(newItemPosition));
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            return RootAdapter.this.areContentsTheSame(mOldObjects.get(oldItemPosition),
+                    mNewObjects.get(newItemPosition));
+        }
+    }
+
     private static class HeaderViewHolder extends RecyclerView.ViewHolder {
         public HeaderViewHolder(View v) {
             super(v);
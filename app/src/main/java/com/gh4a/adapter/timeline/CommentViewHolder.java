@@ -138,7 +138,8 @@ class CommentViewHolder
         }
 
         // Body
-        mImageGetter.bind(tvDesc, item.comment().bodyHtml(), item.comment().id());
+        mImageGetter.bind(tvDesc, item.comment().bodyHtml(),
+                TimelineItemAdapter.getBodyKey(item.comment()));
 
         // Extra view
         SpannableStringBuilder userName = ApiHelpers.getUserLoginWithType(mContext, user, true);
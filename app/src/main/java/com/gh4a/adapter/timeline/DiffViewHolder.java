@@ -2,7 +2,6 @@ package com.gh4a.adapter.timeline;
 
 import android.content.Context;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Typeface;
@@ -22,7 +21,6 @@ import android.view.View;
 import android.widget.TextView;
 
 import com.gh4a.R;
-import com.gh4a.fragment.SettingsFragment;
 import com.gh4a.model.TimelineItem;
 import com.gh4a.utils.IntentUtils;
 import com.gh4a.utils.StringUtils;
@@ -31,10 +29,6 @@ import com.meisolsson.githubsdk.model.ReviewComment;
 
 class DiffViewHolder extends TimelineItemAdapter.TimelineItemViewHolder<TimelineItem.Diff>
         implements View.OnClickListener {
-    private static final float[] DIFF_SIZE_MULTIPLIERS = new float[] {
-            0.8F, 0.9F, 1F, 1.25F, 1.5F
-    };
-
     private final int mAddedLineBackgroundColor;
     private final int mRemovedLineBackgroundColor;
     private final int mAddedLineNumberBackgroundColor;
@@ -166,16 +160,7 @@ class DiffViewHolder extends TimelineItemAdapter.TimelineItemViewHolder<Timeline
         mDiffHunkTextView.setTypeface(Typeface.MONOSPACE);
         mDiffHunkTextView.setText(builder);
         mDiffHunkTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX,
-                mInitialDiffTextSize * getDiffSizeMultiplier());
-    }
-
-    private float getDiffSizeMultiplier() {
-        Context context = itemView.getContext();
-        SharedPreferences prefs = context.getSharedPreferences(SettingsFragment.PREF_NAME,
-                Context.MODE_PRIVATE);
-        int textSizeSetting = prefs.getInt(SettingsFragment.KEY_TEXT_SIZE, 2);
-        return textSizeSetting >= 0 && textSizeSetting < DIFF_SIZE_MULTIPLIERS.length
-                ? DIFF_SIZE_MULTIPLIERS[textSizeSetting] : 1F;
+                mInitialDiffTextSize * UiUtils.getCodeTextSizeMultiplier(itemView.getContext()));
     }
 
     private void appendLineNumber(SpannableStringBuilder builder, int maxLength, String numberText,
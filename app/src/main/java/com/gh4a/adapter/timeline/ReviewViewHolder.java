@@ -116,7 +116,7 @@ class ReviewViewHolder
         mAvatarContainer.setTag(review.user());
 
         formatTitle(review);
-        mImageGetter.bind(mBodyView, review.bodyHtml(), review.id());
+        mImageGetter.bind(mBodyView, review.bodyHtml(), TimelineItemAdapter.getBodyKey(review));
 
         if (mCallback.canQuote()) {
             mBodyView.setCustomSelectionActionModeCallback(mQuoteActionModeCallback);
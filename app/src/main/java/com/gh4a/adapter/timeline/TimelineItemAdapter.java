@@ -3,6 +3,7 @@ package com.gh4a.adapter.timeline;
 import android.content.Context;
 import android.content.Intent;
 import android.net.Uri;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.MenuItem;
@@ -18,6 +19,7 @@ import com.gh4a.widget.ReactionBar;
 import com.meisolsson.githubsdk.model.GitHubCommentBase;
 import com.meisolsson.githubsdk.model.Reaction;
 import com.meisolsson.githubsdk.model.Reactions;
+import com.meisolsson.githubsdk.model.Review;
 import com.meisolsson.githubsdk.model.User;
 
 import java.util.Collection;
@@ -187,6 +189,40 @@ public class TimelineItemAdapter
         mDontClearCacheOnClear = true;
     }
 
+    /**
+     * Converts the bodies of comments and reviews in the given items around the given
+     * position, so binding them doesn't need to do it. Meant to be called on a background
+     * thread.
+     */
+    public void preRenderBodies(final List<TimelineItem> items, int centerPosition) {
+        mImageGetter.preEncode(mContext, new HttpImageGetter.HtmlSource() {
+            @Override
+            public int getCount() {
+                return items.size();
+            }
+
+            @Override
+            public Object getKey(int position) {
+                TimelineItem item = items.get(position);
+                if (item instanceof TimelineItem.TimelineComment) {
+                    return getBodyKey(((TimelineItem.TimelineComment) item).comment());
+                } else if (item instanceof TimelineItem.TimelineReview) {
+                    return getBodyKey(((TimelineItem.TimelineReview) item).review());
+                }
+                return null;
+            }
+
+            @Override
+            public String getHtml(int position) {
+                TimelineItem item = items.get(position);
+                if (item instanceof TimelineItem.TimelineComment) {
+                    return ((TimelineItem.TimelineComment) item).comment().bodyHtml();
+                }
+                return ((TimelineItem.TimelineReview) item).review().bodyHtml();
+            }
+        }, centerPosition);
+    }
+
     public Set<User> getUsers() {
         final HashSet<User> users = new HashSet<>();
         for (int i = 0; i < getCount(); i++) {
@@ -212,6 +248,22 @@ public class TimelineItemAdapter
         super.addAll(objects);
     }
 
+    @Override
+    public void setItems(Collection<TimelineItem> objects, @Nullable Runnable onDisplayed) {
+        mDontClearCacheOnClear = false;
+        super.setItems(objects, onDisplayed);
+    }
+
+    static Object getBodyKey(GitHubCommentBase comment) {
+        return HttpImageGetter.makeKey(comment.id(), comment.updatedAt());
+    }
+
+    static Object getBodyKey(Review review) {
+        // Reviews don't carry an update timestamp, so use their body as version
+        String body = review.bodyHtml();
+        return HttpImageGetter.makeKey(review.id(), body != null ? body.hashCode() : 0);
+    }
+
     @Override
     public TimelineItemViewHolder onCreateViewHolder(LayoutInflater inflater, ViewGroup parent,
             int viewType) {
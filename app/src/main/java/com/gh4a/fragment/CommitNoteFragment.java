@@ -202,6 +202,14 @@ public class CommitNoteFragment extends ListDataBaseFragment<GitComment> impleme
         return mAdapter;
     }
 
+    @Override
+    protected void onPrepareData(List<GitComment> data) {
+        CommitNoteAdapter adapter = mAdapter;
+        if (adapter != null) {
+            adapter.preRenderBodies(data, getFirstVisiblePosition());
+        }
+    }
+
     @Override
     protected void onAddData(RootAdapter<GitComment, ?> adapter, List<GitComment> data) {
         super.onAddData(adapter, data);
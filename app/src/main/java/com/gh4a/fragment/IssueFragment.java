@@ -9,22 +9,17 @@ import com.gh4a.R;
 import com.gh4a.ServiceFactory;
 import com.gh4a.activities.EditIssueCommentActivity;
 import com.gh4a.activities.PullRequestActivity;
-import com.gh4a.model.TimelineItem;
+import com.gh4a.model.Conversation;
+import com.gh4a.model.ConversationStream;
 import com.gh4a.utils.ApiHelpers;
 import com.gh4a.utils.IntentUtils;
-import com.gh4a.utils.RxUtils;
 import com.meisolsson.githubsdk.model.GitHubCommentBase;
 import com.meisolsson.githubsdk.model.Issue;
 import com.meisolsson.githubsdk.model.IssueState;
 import com.meisolsson.githubsdk.service.issues.IssueCommentService;
 import com.meisolsson.githubsdk.service.issues.IssueTimelineService;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 import io.reactivex.Single;
-import io.reactivex.schedulers.Schedulers;
 import retrofit2.Response;
 
 public class IssueFragment extends IssueFragmentBase {
@@ -72,29 +67,23 @@ public class IssueFragment extends IssueFragmentBase {
     }
 
     @Override
-    protected Single<List<TimelineItem>> onCreateDataSingle(boolean bypassCache) {
+    protected ConversationStream loadConversation(boolean bypassCache) {
         final int issueNumber = mIssue.number();
         final IssueTimelineService timelineService = ServiceFactory.get(IssueTimelineService.class, bypassCache);
         final IssueCommentService commentService =
                 ServiceFactory.get(IssueCommentService.class, bypassCache);
 
-        Single<List<TimelineItem.TimelineComment>> commentSingle = ApiHelpers.PageIterator
-                .toSingle(page -> commentService.getIssueComments(mRepoOwner, mRepoName, issueNumber, page))
-                .compose(RxUtils.mapList(TimelineItem.TimelineComment::new))
-                .subscribeOn(Schedulers.io());
-        Single<List<TimelineItem.TimelineEvent>> eventSingle = ApiHelpers.PageIterator
-                .toSingle(page -> timelineService.getTimeline(mRepoOwner, mRepoName, issueNumber, page))
-                .compose(RxUtils.filter(event -> INTERESTING_EVENTS.contains(event.event())))
-                .compose((RxUtils.mapList(TimelineItem.TimelineEvent::new)))
-                .subscribeOn(Schedulers.io());
+        return new ConversationStream(
+                ApiHelpers.PageIterator.toObservable(page ->
+                        commentService.getIssueComments(mRepoOwner, mRepoName, issueNumber, page)),
+                ApiHelpers.PageIterator.toObservable(page ->
+                        timelineService.getTimeline(mRepoOwner, mRepoName, issueNumber, page)));
+    }
 
-        return Single.zip(commentSingle, eventSingle, (comments, events) -> {
-            ArrayList<TimelineItem> result = new ArrayList<>();
-            result.addAll(comments);
-            result.addAll(events);
-            Collections.sort(result, TimelineItem.COMPARATOR);
-            return result;
-        });
+    @Override
+    protected Single<Conversation> loadConversationChanges(Conversation known) {
+        return Single.zip(loadIssueCommentChanges(known), loadEventChanges(known),
+                Conversation::new);
     }
 
     @Override
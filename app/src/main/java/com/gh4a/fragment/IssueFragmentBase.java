@@ -20,7 +20,9 @@ import android.content.Intent;
 import android.graphics.Typeface;
 import android.os.Bundle;
 import android.os.Parcelable;
+import android.os.SystemClock;
 import android.text.SpannableString;
+import android.text.format.DateUtils;
 import android.text.style.StyleSpan;
 import android.view.LayoutInflater;
 import android.view.Menu;
@@ -39,6 +41,9 @@ import com.gh4a.ServiceFactory;
 import com.gh4a.activities.UserActivity;
 import com.gh4a.adapter.RootAdapter;
 import com.gh4a.adapter.timeline.TimelineItemAdapter;
+import com.gh4a.model.Conversation;
+import com.gh4a.model.ConversationStream;
+import com.gh4a.model.ConversationUpdateService;
 import com.gh4a.model.TimelineItem;
 import com.gh4a.utils.ActivityResultHelpers;
 import com.gh4a.utils.ApiHelpers;
@@ -50,8 +55,10 @@ import com.gh4a.utils.StringUtils;
 import com.gh4a.utils.UiUtils;
 import com.gh4a.widget.EditorBottomSheet;
 import com.gh4a.widget.ReactionBar;
+import com.meisolsson.githubsdk.model.GitHubComment;
 import com.meisolsson.githubsdk.model.GitHubCommentBase;
 import com.meisolsson.githubsdk.model.Issue;
+import com.meisolsson.githubsdk.model.IssueEvent;
 import com.meisolsson.githubsdk.model.IssueEventType;
 import com.meisolsson.githubsdk.model.Label;
 import com.meisolsson.githubsdk.model.Reaction;
@@ -60,17 +67,22 @@ import com.meisolsson.githubsdk.model.User;
 import com.meisolsson.githubsdk.model.request.CommentRequest;
 import com.meisolsson.githubsdk.model.request.ReactionRequest;
 import com.meisolsson.githubsdk.service.issues.IssueCommentService;
+import com.meisolsson.githubsdk.service.issues.IssueTimelineService;
 import com.meisolsson.githubsdk.service.reactions.ReactionService;
 
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.collection.LruCache;
 import androidx.coordinatorlayout.widget.CoordinatorLayout;
 import androidx.recyclerview.widget.RecyclerView;
+import io.reactivex.Observable;
 import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
 import retrofit2.Response;
 
 public abstract class IssueFragmentBase extends ListDataBaseFragment<TimelineItem> implements
@@ -90,6 +102,16 @@ public abstract class IssueFragmentBase extends ListDataBaseFragment<TimelineIte
             IssueEventType.ReviewDismissed, IssueEventType.CrossReferenced
     );
 
+    // Conversations loaded last, used as base for incremental refreshes. Those need to
+    // survive the fragment, as refreshing the issue or pull request recreates it. As
+    // deletions can't be detected incrementally, the conversations are only used for
+    // a limited time.
+    private static final long MAX_CONVERSATION_AGE = 15 * DateUtils.MINUTE_IN_MILLIS;
+    private static final LruCache<String, ConversationSnapshot> sConversationSnapshots =
+            new LruCache<>(10);
+    // Use large pages for incremental refreshes, so the changes are likely on the last page
+    protected static final int CHANGES_PAGE_SIZE = 100;
+
     protected View mListHeaderView;
     protected Issue mIssue;
     protected String mRepoOwner;
@@ -286,6 +308,98 @@ public abstract class IssueFragmentBase extends ListDataBaseFragment<TimelineIte
         return super.onOptionsItemSelected(item);
     }
 
+    @Override
+    protected Single<List<TimelineItem>> onCreateDataSingle(boolean bypassCache) {
+        if (ServiceFactory.isAnsweringFromStore()) {
+            // Stored responses are older than our snapshot, so don't replace the latter
+            return loadConversation(bypassCache).toConversation()
+                    .map(conversation -> conversation.toTimelineItems(INTERESTING_EVENTS));
+        }
+
+        final String snapshotKey = getConversationSnapshotKey();
+        final Single<Conversation> conversationSingle;
+        ConversationSnapshot snapshot = sConversationSnapshots.get(snapshotKey);
+        if (snapshot != null && snapshot.isValid()) {
+            conversationSingle = loadConversationChanges(snapshot.conversation)
+                    .map(snapshot.conversation::mergeWith);
+        } else {
+            conversationSingle = loadConversation(bypassCache).toConversation();
+        }
+        return conversationSingle
+                .doOnSuccess(this::storeConversationSnapshot)
+                .map(conversation -> conversation.toTimelineItems(INTERESTING_EVENTS));
+    }
+
+    @Override
+    protected Observable<List<TimelineItem>> onCreateDataObservable(boolean bypassCache) {
+        ConversationSnapshot snapshot = sConversationSnapshots.get(getConversationSnapshotKey());
+        if (snapshot != null && snapshot.isValid()) {
+            // Loading the changes only takes a few requests, so there's no point in streaming
+            return onCreateDataSingle(bypassCache).toObservable();
+        }
+
+        // Show the beginning of the conversation while the rest of it is still loading,
+        // so long threads don't take longer to show up than short ones
+        ConversationStream stream = loadConversation(bypassCache);
+        return stream.toTimelineItems(INTERESTING_EVENTS)
+                .concatWith(stream.toConversation()
+                        .doOnSuccess(this::storeConversationSnapshot)
+                        .ignoreElement());
+    }
+
+    /**
+     * Starts loading the complete conversation.
+     */
+    protected abstract ConversationStream loadConversation(boolean bypassCache);
+
+    /**
+     * Loads everything that was added to or changed in the conversation since the given
+     * conversation was loaded, in the format expected by {@link Conversation#mergeWith}.
+     */
+    protected abstract Single<Conversation> loadConversationChanges(Conversation known);
+
+    protected Single<List<GitHubComment>> loadIssueCommentChanges(Conversation known) {
+        ConversationUpdateService service =
+                ServiceFactory.get(ConversationUpdateService.class, true);
+        Date newestUpdate = known.getNewestIssueCommentUpdate();
+        String since = newestUpdate != null ? ApiHelpers.formatTimestamp(newestUpdate) : null;
+        return ApiHelpers.PageIterator
+                .toSingle(page -> service.getIssueCommentsSince(mRepoOwner, mRepoName,
+                        mIssue.number(), since, page))
+                .subscribeOn(Schedulers.io());
+    }
+
+    protected Single<List<IssueEvent>> loadEventChanges(Conversation known) {
+        // The timeline doesn't support filtering by date, but is ordered chronologically,
+        // so it's sufficient to look at the last page(s)
+        IssueTimelineService service = ServiceFactory.get(IssueTimelineService.class,
+                true, null, null, CHANGES_PAGE_SIZE);
+        Date newestEventDate = known.getNewestEventDate();
+        return ApiHelpers.PageIterator
+                .tail(page -> service.getTimeline(mRepoOwner, mRepoName, mIssue.number(), page),
+                        // Events without date (e.g. commits) aren't shown, so skipping them is fine
+                        event -> newestEventDate != null && (event.createdAt() == null
+                                || event.createdAt().before(newestEventDate)))
+                .subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * Makes the next refresh load the complete conversation again, which is needed
+     * after changes that can't be detected incrementally, like deletions.
+     */
+    protected void invalidateConversationSnapshot() {
+        sConversationSnapshots.remove(getConversationSnapshotKey());
+    }
+
+    private void storeConversationSnapshot(Conversation conversation) {
+        sConversationSnapshots.put(getConversationSnapshotKey(),
+                new ConversationSnapshot(conversation));
+    }
+
+    private String getConversationSnapshotKey() {
+        return mRepoOwner + "/" + mRepoName + "#" + mIssue.number();
+    }
+
     public void reloadEvents(boolean alsoClearCaches) {
         if (mAdapter != null && !alsoClearCaches) {
             // Don't clear adapter's cache, we're only interested in the new event
@@ -302,28 +416,60 @@ public abstract class IssueFragmentBase extends ListDataBaseFragment<TimelineIte
         return mAdapter;
     }
 
+    @Override
+    protected void onPrepareData(List<TimelineItem> data) {
+        TimelineItemAdapter adapter = mAdapter;
+        if (adapter != null) {
+            int initialCommentPosition = findInitialCommentPosition(data);
+            adapter.preRenderBodies(data, initialCommentPosition >= 0
+                    ? initialCommentPosition
+                    : getFirstVisiblePosition() - 1 /* adjust for header view */);
+        }
+    }
+
     @Override
     protected void onAddData(RootAdapter<TimelineItem, ?> adapter, List<TimelineItem> data) {
-        super.onAddData(adapter, data);
-        if (mInitialComment != null) {
-            for (int i = 0; i < data.size(); i++) {
-                TimelineItem item = data.get(i);
-                long itemId = 0;
-                if (item instanceof TimelineItem.TimelineComment) {
-                    itemId = ((TimelineItem.TimelineComment) item).comment().id();
-                } else if (item instanceof TimelineItem.TimelineReview) {
-                    itemId = ((TimelineItem.TimelineReview) item).review().id();
-                }
-                if (mInitialComment.matches(itemId, item.getCreatedAt())) {
-                    scrollToAndHighlightPosition(i + 1 /* adjust for header view */);
-                    break;
-                }
+        final int initialCommentPosition = findInitialCommentPosition(data);
+        // Positions only refer to the new data once the adapter displays it
+        adapter.setItems(data, () -> {
+            if (getView() == null) {
+                return;
+            }
+            if (initialCommentPosition >= 0) {
+                scrollToAndHighlightPosition(initialCommentPosition + 1 /* adjust for header view */);
+                // Don't jump back to it when further items arrive
+                mInitialComment = null;
+            }
+            updateMentionUsers();
+        });
+    }
+
+    private int findInitialCommentPosition(List<TimelineItem> data) {
+        if (mInitialComment == null) {
+            return -1;
+        }
+        for (int i = 0; i < data.size(); i++) {
+            TimelineItem item = data.get(i);
+            long itemId = 0;
+            if (item instanceof TimelineItem.TimelineComment) {
+                itemId = ((TimelineItem.TimelineComment) item).comment().id();
+            } else if (item instanceof TimelineItem.TimelineReview) {
+                itemId = ((TimelineItem.TimelineReview) item).review().id();
+            }
+            if (mInitialComment.matches(itemId, item.getCreatedAt())) {
+                return i;
             }
-            mInitialComment = null;
         }
+        return -1;
+    }
 
-        updateMentionUsers();
-        removeLoadingIndicator(adapter);
+    @Override
+    protected void onDataLoadFinished() {
+        super.onDataLoadFinished();
+        mInitialComment = null;
+        if (mAdapter != null) {
+            removeLoadingIndicator(mAdapter);
+        }
     }
 
     private void showLoadingIndicator(View loadingView) {
@@ -512,14 +658,16 @@ public abstract class IssueFragmentBase extends ListDataBaseFragment<TimelineIte
         ReactionService service = ServiceFactory.get(ReactionService.class, false);
         ReactionRequest request = ReactionRequest.builder().content(content).build();
         return service.createIssueCommentReaction(mRepoOwner, mRepoName, comment.id(), request)
-                .map(ApiHelpers::throwOnFailure);
+                .map(ApiHelpers::throwOnFailure)
+                .doOnSuccess(reaction -> invalidateConversationSnapshot());
     }
 
     @Override
     public Single<Boolean> deleteReaction(GitHubCommentBase comment, long reactionId) {
         ReactionService service = ServiceFactory.get(ReactionService.class, false);
         return service.deleteIssueCommentReaction(mRepoOwner, mRepoName, comment.id(), reactionId)
-                .map(ApiHelpers::mapToTrueOnSuccess);
+                .map(ApiHelpers::mapToTrueOnSuccess)
+                .doOnSuccess(result -> invalidateConversationSnapshot());
     }
 
     @Override
@@ -631,8 +779,23 @@ public abstract class IssueFragmentBase extends ListDataBaseFragment<TimelineIte
                 .compose(RxUtils.wrapForBackgroundTask(getBaseActivity(),
                         R.string.deleting_msg, R.string.error_delete_comment))
                 .subscribe(result -> {
+                    invalidateConversationSnapshot();
                     reloadEvents(false);
                     getActivity().setResult(Activity.RESULT_OK);
                 }, error -> handleActionFailure("Deleting comment failed", error));
     }
+
+    private static class ConversationSnapshot {
+        final Conversation conversation;
+        final long timestamp;
+
+        ConversationSnapshot(Conversation conversation) {
+            this.conversation = conversation;
+            this.timestamp = SystemClock.elapsedRealtime();
+        }
+
+        boolean isValid() {
+            return SystemClock.elapsedRealtime() - timestamp < MAX_CONVERSATION_AGE;
+        }
+    }
 }
@@ -6,8 +6,11 @@ import androidx.recyclerview.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
 
+import com.gh4a.ServiceFactory;
 import com.gh4a.adapter.RootAdapter;
+import com.gh4a.utils.RxUtils;
 
+import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.reactivex.disposables.Disposable;
 
@@ -41,8 +44,7 @@ public abstract class ListDataBaseFragment<T> extends LoadingListFragmentBase {
     }
 
     protected void onAddData(RootAdapter<T, ?> adapter, List<T> data) {
-        adapter.addAll(data);
-        adapter.notifyDataSetChanged();
+        adapter.setItems(data);
     }
 
     @Override
@@ -62,21 +64,55 @@ public abstract class ListDataBaseFragment<T> extends LoadingListFragmentBase {
         List<T> initialData = force ? null : onGetInitialData();
         if (initialData != null) {
             handleNewData(initialData);
+            onDataLoadFinished();
         } else {
-            mSubscription = onCreateDataSingle(force)
-                    .compose(makeLoaderSingle(0, force))
-                    .subscribe(this::handleNewData, this::handleLoadFailure);
+            Observable<List<T>> freshObservable = onCreateDataObservable(force);
+            // Unless explicitly refreshing, show the last known data while the fresh data loads
+            Observable<List<T>> dataObservable = force
+                    ? freshObservable
+                    : RxUtils.cachedThenFresh(
+                            ServiceFactory.fromStoredResponses(() -> onCreateDataSingle(false)),
+                            freshObservable);
+            mSubscription = dataObservable
+                    .doOnNext(this::onPrepareData)
+                    .compose(makeLoaderObservable(0, force))
+                    .subscribe(this::handleNewData, this::handleLoadFailure,
+                            this::onDataLoadFinished);
         }
     }
 
     private void handleNewData(List<T> result) {
-        mAdapter.clear();
         onAddData(mAdapter, result);
         setContentShown(true);
         updateEmptyState();
     }
 
+    /**
+     * Creates the single delivering the data. It's also used for displaying the last known
+     * data via {@link ServiceFactory#fromStoredResponses}, so services need to be obtained
+     * while creating it, as described there.
+     */
     protected abstract Single<List<T>> onCreateDataSingle(boolean bypassCache);
+    /**
+     * Creates the observable delivering the data. Subclasses can override this to display
+     * data while loading is still in progress, by emitting partial data sets. Every data
+     * set replaces the previous one, so each needs to contain everything loaded so far.
+     */
+    protected Observable<List<T>> onCreateDataObservable(boolean bypassCache) {
+        return onCreateDataSingle(bypassCache).toObservable();
+    }
+    /**
+     * Called after the last data set was handed to {@link #onAddData}.
+     */
+    protected void onDataLoadFinished() {
+    }
+    /**
+     * Called on a background thread for every data set before it is handed to
+     * {@link #onAddData}, to allow for doing expensive preparations (e.g. HTML conversion)
+     * off the main thread.
+     */
+    protected void onPrepareData(List<T> data) {
+    }
     protected List<T> onGetInitialData() {
         return null;
     }
@@ -27,6 +27,8 @@ public abstract class LoadingListFragmentBase extends LoadingFragmentBase implem
     private LinearLayoutManager mLayoutManager;
     private NestedScrollView mEmptyViewContainer;
     private RecyclerFastScroller mFastScroller;
+    // Read by background work preparing data for display
+    private volatile int mFirstVisiblePosition;
 
     private static final String STATE_KEY_ARGS_HASH = "args_hash";
 
@@ -52,6 +54,12 @@ public abstract class LoadingListFragmentBase extends LoadingFragmentBase implem
         mLayoutManager = new LinearLayoutManager(view.getContext());
         mRecyclerView = view.findViewById(R.id.list);
         mRecyclerView.setLayoutManager(mLayoutManager);
+        mRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                mFirstVisiblePosition = Math.max(0, mLayoutManager.findFirstVisibleItemPosition());
+            }
+        });
         onRecyclerViewInflated(mRecyclerView, inflater);
         if (hasDividers()) {
             mRecyclerView.addItemDecoration(new DividerItemDecoration(view.getContext()));
@@ -131,6 +139,14 @@ public abstract class LoadingListFragmentBase extends LoadingFragmentBase implem
     protected void onRecyclerViewInflated(RecyclerView view, LayoutInflater inflater) {
     }
 
+    /**
+     * @return Adapter position of the first visible item. Unlike the layout manager,
+     * this can be asked from any thread.
+     */
+    protected int getFirstVisiblePosition() {
+        return mFirstVisiblePosition;
+    }
+
     protected void scrollToAndHighlightPosition(final int position) {
         getBaseActivity().collapseAppBar();
         mLayoutManager.scrollToPositionWithOffset(position, 0);
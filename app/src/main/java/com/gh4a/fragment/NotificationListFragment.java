@@ -22,6 +22,7 @@ import com.gh4a.utils.ApiHelpers;
 import com.gh4a.utils.IntentUtils;
 import com.gh4a.utils.RxUtils;
 import com.gh4a.utils.SingleFactory;
+import com.gh4a.worker.NotificationPoller;
 import com.gh4a.worker.NotificationsWorker;
 import com.meisolsson.githubsdk.model.NotificationSubject;
 import com.meisolsson.githubsdk.model.NotificationThread;
@@ -281,6 +282,7 @@ public class NotificationListFragment extends LoadingListFragmentBase implements
     }
 
     private void handleMarkAsRead(Repository repository, NotificationThread notification) {
+        NotificationPoller.invalidate(getActivity());
         if (mAdapter.markAsRead(repository, notification)) {
             if (!mAll && !mParticipating) {
                 mCallback.setNotificationsIndicatorVisible(false);
@@ -24,6 +24,7 @@ import android.view.LayoutInflater;
 import android.view.View;
 
 import com.gh4a.R;
+import com.gh4a.ServiceFactory;
 import com.gh4a.adapter.RootAdapter;
 import com.gh4a.utils.ApiHelpers;
 import com.gh4a.utils.RxUtils;
@@ -35,8 +36,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import io.reactivex.Observable;
 import io.reactivex.Single;
+import io.reactivex.android.schedulers.AndroidSchedulers;
 import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
 import io.reactivex.subjects.BehaviorSubject;
 import io.reactivex.subjects.Subject;
 import retrofit2.Response;
@@ -112,19 +116,15 @@ public abstract class PagedDataBaseFragment<T> extends LoadingListFragmentBase i
 
     private void load(boolean force) {
         mSubscription = mPageSubject
-                .flatMap(page -> loadPage(page, force)
-                        .map(response -> {
-                            if (response.code() == HttpURLConnection.HTTP_NO_CONTENT) {
-                                return Response.success(new ApiHelpers.DummyPage<T>());
-                            }
-                            return response;
-                        })
-                        .map(ApiHelpers::throwOnFailure)
-                        .compose(RxUtils::doInBackground)
-                        .toObservable())
-                .scan(Pair.create(new ArrayList<T>(), 0), (pair, page) -> {
-                    pair.first.addAll(page.items());
-                    return Pair.create(pair.first, page.next());
+                .flatMap(page -> loadPageObservable(page, force)
+                        .map(result -> Pair.create(page, result))
+                        .observeOn(AndroidSchedulers.mainThread()))
+                .scan(Pair.create(new ArrayList<T>(), 0), (pair, pageResult) -> {
+                    // The first page may be delivered twice, first from the response store
+                    // and then from the network, so start over when getting it
+                    ArrayList<T> items = pageResult.first == 1 ? new ArrayList<>() : pair.first;
+                    items.addAll(pageResult.second.items());
+                    return Pair.create(items, pageResult.second.next());
                 })
                 // filter out initial value
                 .filter(pair -> pair.second == null || pair.second != 0)
@@ -136,30 +136,40 @@ public abstract class PagedDataBaseFragment<T> extends LoadingListFragmentBase i
                 }, this::handleLoadFailure);
     }
 
+    private Observable<Page<T>> loadPageObservable(int page, boolean force) {
+        Single<Page<T>> pageSingle = makePageSingle(loadPage(page, force));
+        if (force || page != 1) {
+            return pageSingle.subscribeOn(Schedulers.io()).toObservable();
+        }
+        // Show the last known first page while the fresh one loads
+        return RxUtils.cachedThenFresh(
+                makePageSingle(ServiceFactory.fromStoredResponses(() -> loadPage(page, false))),
+                pageSingle);
+    }
+
+    private Single<Page<T>> makePageSingle(Single<Response<Page<T>>> responseSingle) {
+        return responseSingle
+                .map(response -> {
+                    if (response.code() == HttpURLConnection.HTTP_NO_CONTENT) {
+                        return Response.success(new ApiHelpers.DummyPage<T>());
+                    }
+                    return response;
+                })
+                .map(ApiHelpers::throwOnFailure);
+    }
+
     private void fillData(List<T> data, Integer nextPage) {
         mNextPage = nextPage;
         mLoadingView.setVisibility(nextPage != null ? View.VISIBLE : View.GONE);
-
-        if (mAdapter.getCount() > 0 && !data.isEmpty() && data.iterator().next() == mAdapter.getItem(0)) {
-            // there are common items, preserve them in order to keep the scroll position
-            ArrayList<T> newData = new ArrayList<>();
-            int index = 0, count = mAdapter.getCount();
-            for (T item : data) {
-                if (index < count && item == mAdapter.getItem(index++)) {
-                    // we already know about the item
-                    continue;
-                }
-                newData.add(item);
-            }
-            onAddData(mAdapter, newData);
-        } else {
-            mAdapter.clear();
-            onAddData(mAdapter, data);
-        }
+        onAddData(mAdapter, data);
     }
 
+    /**
+     * Sets the adapter contents to all items loaded so far. The adapter
+     * only rebinds what actually changed, so the scroll position is kept.
+     */
     protected void onAddData(RootAdapter<T, ? extends RecyclerView.ViewHolder> adapter, Collection<T> data) {
-        adapter.addAll(data);
+        adapter.setItems(data);
     }
 
     @Override
@@ -180,6 +190,12 @@ public abstract class PagedDataBaseFragment<T> extends LoadingListFragmentBase i
     }
 
     protected abstract RootAdapter<T, ? extends RecyclerView.ViewHolder> onCreateAdapter();
+
+    /**
+     * Creates the single delivering the given page. The first page is also loaded via
+     * {@link ServiceFactory#fromStoredResponses}, so services need to be obtained while
+     * creating the single, as described there.
+     */
     protected abstract Single<Response<Page<T>>> loadPage(int page, boolean bypassCache);
     public abstract void onItemClick(T item);
 }
@@ -21,29 +21,35 @@ import android.os.Parcelable;
 import androidx.annotation.AttrRes;
 import androidx.annotation.StringRes;
 import androidx.collection.LongSparseArray;
-import android.text.TextUtils;
 import android.util.Pair;
 import android.view.Menu;
 import android.view.MenuInflater;
 import android.view.MenuItem;
 import android.view.View;
 
+import com.gh4a.Gh4Application;
 import com.gh4a.R;
 import com.gh4a.ServiceFactory;
 import com.gh4a.activities.EditIssueCommentActivity;
 import com.gh4a.activities.EditPullRequestCommentActivity;
+import com.gh4a.model.Conversation;
+import com.gh4a.model.ConversationStream;
+import com.gh4a.model.ConversationUpdateService;
+import com.gh4a.model.GraphQlService;
 import com.gh4a.model.StatusWrapper;
-import com.gh4a.model.TimelineItem;
 import com.gh4a.utils.ApiHelpers;
 import com.gh4a.utils.IntentUtils;
 import com.gh4a.utils.Optional;
+import com.gh4a.utils.PullRequestConversationQuery;
 import com.gh4a.utils.RxUtils;
 import com.gh4a.widget.CommitStatusBox;
 import com.gh4a.widget.PullRequestBranchInfoView;
 
 import com.meisolsson.githubsdk.model.CheckRun;
+import com.meisolsson.githubsdk.model.GitHubComment;
 import com.meisolsson.githubsdk.model.GitHubCommentBase;
 import com.meisolsson.githubsdk.model.Issue;
+import com.meisolsson.githubsdk.model.IssueEvent;
 import com.meisolsson.githubsdk.model.IssueState;
 import com.meisolsson.githubsdk.model.PullRequest;
 import com.meisolsson.githubsdk.model.PullRequestMarker;
@@ -66,11 +72,11 @@ import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import io.reactivex.Observable;
@@ -190,7 +196,85 @@ public class PullRequestConversationFragment extends IssueFragmentBase {
    }
 
     @Override
-    protected Single<List<TimelineItem>> onCreateDataSingle(boolean bypassCache) {
+    protected ConversationStream loadConversation(boolean bypassCache) {
+        // The GraphQL API can't be used anonymously
+        if (Gh4Application.get().isAuthorized()) {
+            GraphQlService service = ServiceFactory.get(GraphQlService.class, bypassCache);
+            return PullRequestConversationQuery
+                    .stream(service, mRepoOwner, mRepoName, mIssue.number());
+        }
+        return loadConversationViaRest(bypassCache);
+    }
+
+    @Override
+    protected Single<Conversation> loadConversationChanges(Conversation known) {
+        final int issueNumber = mIssue.number();
+        final PullRequestReviewService reviewService = ServiceFactory.get(
+                PullRequestReviewService.class, true, null, null, CHANGES_PAGE_SIZE);
+        final ConversationUpdateService updateService =
+                ServiceFactory.get(ConversationUpdateService.class, true);
+
+        final long newestReviewId = known.getNewestReviewId();
+        Single<List<Review>> newReviewsSingle = ApiHelpers.PageIterator
+                .tail(page -> reviewService.getReviews(mRepoOwner, mRepoName, issueNumber, page),
+                        review -> review.id() <= newestReviewId);
+        // Pending reviews may have been submitted or deleted since
+        Single<List<Review>> formerlyPendingReviewsSingle = Single.just(known.getPendingReviews())
+                .compose(RxUtils.mapListConcurrently(review -> reviewService
+                        .getReview(mRepoOwner, mRepoName, issueNumber, review.id())
+                        .map(ApiHelpers::throwOnFailure)
+                        .map(Optional::of)
+                        .compose(RxUtils.mapFailureToValue(HttpURLConnection.HTTP_NOT_FOUND,
+                                Optional.<Review>absent()))))
+                .compose(RxUtils.filter(Optional::isPresent))
+                .compose(RxUtils.mapList(Optional::get));
+        Single<List<Review>> changedReviewsSingle = Single.zip(
+                newReviewsSingle.subscribeOn(Schedulers.io()),
+                formerlyPendingReviewsSingle.subscribeOn(Schedulers.io()),
+                (newReviews, formerlyPendingReviews) -> {
+                    List<Review> result = new ArrayList<>(formerlyPendingReviews);
+                    result.addAll(newReviews);
+                    return result;
+                })
+                .cache(); // single is used multiple times -> avoid refetching data
+
+        // Comments of new or just submitted reviews may be older than the newest known
+        // comment, so load them by review
+        Single<List<Pair<Review, List<ReviewComment>>>> changedReviewCommentsSingle =
+                changedReviewsSingle.compose(RxUtils.mapListConcurrently(r -> ApiHelpers.PageIterator
+                        .toSingle(page -> reviewService.getReviewComments(mRepoOwner,
+                                mRepoName, issueNumber, r.id(), page))
+                        .map(comments -> Pair.create(r, comments))));
+        Date newestCommentUpdate = known.getNewestReviewCommentUpdate();
+        String since = newestCommentUpdate != null
+                ? ApiHelpers.formatTimestamp(newestCommentUpdate) : null;
+        Single<List<ReviewComment>> updatedReviewCommentsSingle = ApiHelpers.PageIterator
+                .toSingle(page -> updateService.getPullRequestCommentsSince(mRepoOwner, mRepoName,
+                        issueNumber, since, page));
+
+        return Single.zip(
+                loadIssueCommentChanges(known),
+                loadEventChanges(known),
+                changedReviewsSingle,
+                updatedReviewCommentsSingle.subscribeOn(Schedulers.io()),
+                changedReviewCommentsSingle.subscribeOn(Schedulers.io()),
+                (issueComments, events, reviews, updatedReviewComments, changedReviewComments) -> {
+                    List<ReviewComment> reviewComments = new ArrayList<>(updatedReviewComments);
+                    LongSparseArray<List<ReviewComment>> pendingReviewCommentsById =
+                            new LongSparseArray<>();
+                    for (Pair<Review, List<ReviewComment>> pair : changedReviewComments) {
+                        if (pair.first.state() == ReviewState.Pending) {
+                            pendingReviewCommentsById.put(pair.first.id(), pair.second);
+                        } else {
+                            reviewComments.addAll(pair.second);
+                        }
+                    }
+                    return new Conversation(issueComments, events, reviews,
+                            reviewComments, pendingReviewCommentsById);
+                });
+    }
+
+    private ConversationStream loadConversationViaRest(boolean bypassCache) {
         final int issueNumber = mIssue.number();
         final IssueTimelineService timelineService =
                 ServiceFactory.get(IssueTimelineService.class, bypassCache);
@@ -201,37 +285,25 @@ public class PullRequestConversationFragment extends IssueFragmentBase {
         final PullRequestReviewCommentService prCommentService =
                 ServiceFactory.get(PullRequestReviewCommentService.class, bypassCache);
 
-        Single<List<TimelineItem>> issueCommentsSingle = ApiHelpers.PageIterator
-                .toSingle(page -> commentService.getIssueComments(mRepoOwner, mRepoName, issueNumber, page))
-                .compose(RxUtils.mapList(TimelineItem.TimelineComment::new));
-        Single<List<TimelineItem>> eventsSingle = ApiHelpers.PageIterator
-                .toSingle(page -> timelineService.getTimeline(mRepoOwner, mRepoName, issueNumber, page))
-                .compose(RxUtils.filter(event -> INTERESTING_EVENTS.contains(event.event())))
-                .compose(RxUtils.mapList(TimelineItem.TimelineEvent::new));
+        Observable<List<GitHubComment>> issueCommentPages = ApiHelpers.PageIterator
+                .toObservable(page -> commentService.getIssueComments(mRepoOwner, mRepoName, issueNumber, page));
+        Observable<List<IssueEvent>> eventPages = ApiHelpers.PageIterator
+                .toObservable(page -> timelineService.getTimeline(mRepoOwner, mRepoName, issueNumber, page));
 
         Single<List<Review>> reviewsSingle = ApiHelpers.PageIterator
                 .toSingle(page -> reviewService.getReviews(mRepoOwner, mRepoName, issueNumber, page))
                 .cache(); // single is used multiple times -> avoid refetching data
         Single<List<ReviewComment>> prCommentsSingle = ApiHelpers.PageIterator
                 .toSingle(page -> prCommentService.getPullRequestComments(mRepoOwner, mRepoName, issueNumber, page))
-                .compose(RxUtils.sortList(ApiHelpers.COMMENT_COMPARATOR))
-                .cache(); // single is used multiple times -> avoid refetching data
+                .compose(RxUtils.sortList(ApiHelpers.COMMENT_COMPARATOR));
 
         // For reviews with pending state we have to manually load the comments
         Single<LongSparseArray<List<ReviewComment>>> pendingReviewCommentsByIdSingle = reviewsSingle
                 .compose(RxUtils.filter(r -> r.state() == ReviewState.Pending))
-                .toObservable()
-                .flatMap(reviews -> {
-                    List<Observable<Pair<Long, List<ReviewComment>>>> obsList = new ArrayList<>();
-                    for (Review r : reviews) {
-                        Single<List<ReviewComment>> single = ApiHelpers.PageIterator
-                                .toSingle(page -> reviewService.getReviewComments(mRepoOwner,
-                                        mRepoName, issueNumber, r.id(), page));
-                        obsList.add(Single.zip(Single.just(r.id()), single, Pair::create).toObservable());
-                    }
-                    return Observable.concat(obsList);
-                })
-                .toList()
+                .compose(RxUtils.mapListConcurrently(r -> ApiHelpers.PageIterator
+                        .toSingle(page -> reviewService.getReviewComments(mRepoOwner,
+                                mRepoName, issueNumber, r.id(), page))
+                        .map(comments -> Pair.create(r.id(), comments))))
                 .map(list -> {
                     LongSparseArray<List<ReviewComment>> result = new LongSparseArray<>();
                     for (Pair<Long, List<ReviewComment>> pair : list) {
@@ -240,71 +312,15 @@ public class PullRequestConversationFragment extends IssueFragmentBase {
                     return result;
                 });
 
-        Single<List<TimelineItem.TimelineReview>> reviewItemsSingle = Single.zip(
-                reviewsSingle, prCommentsSingle, pendingReviewCommentsByIdSingle,
-                (prReviews, prComments, pendingReviewCommentsById) -> {
-            LongSparseArray<TimelineItem.TimelineReview> reviewsById = new LongSparseArray<>();
-            List<TimelineItem.TimelineReview> reviewItems = new ArrayList<>();
-
-            for (Review review : prReviews) {
-                TimelineItem.TimelineReview timelineReview = new TimelineItem.TimelineReview(review);
-                reviewsById.put(review.id(), timelineReview);
-                reviewItems.add(timelineReview);
-
-                if (review.state() == ReviewState.Pending) {
-                    for (ReviewComment pendingComment : pendingReviewCommentsById.get(review.id())) {
-                        timelineReview.addComment(pendingComment, null, true);
-                    }
-                }
-            }
+        Single<Conversation> reviewDataSingle = Single.zip(
+                reviewsSingle.subscribeOn(Schedulers.io()),
+                prCommentsSingle.subscribeOn(Schedulers.io()),
+                pendingReviewCommentsByIdSingle.subscribeOn(Schedulers.io()),
+                (reviews, prComments, pendingReviewCommentsById) -> new Conversation(
+                        Collections.emptyList(), Collections.emptyList(), reviews,
+                        prComments, pendingReviewCommentsById));
 
-            Map<String, TimelineItem.TimelineReview> reviewsByDiffHunkId = new HashMap<>();
-            for (ReviewComment comment : prComments) {
-                if (comment.pullRequestReviewId() != null) {
-                    String hunkId = TimelineItem.Diff.getDiffHunkId(comment);
-
-                    TimelineItem.TimelineReview reviewItem = reviewsByDiffHunkId.get(hunkId);
-                    if (reviewItem == null) {
-                        reviewItem = reviewsById.get(comment.pullRequestReviewId());
-                        reviewsByDiffHunkId.put(hunkId, reviewItem);
-                    }
-
-                    reviewItem.addComment(comment, null, true);
-                }
-            }
-
-            return reviewItems;
-        })
-        // In some cases, replies to review threads are considered themselves "reviews" by GitHub.
-        // We drop these "not-really reviews" since we've already added their comments to the
-        // appropriate timeline review items.
-        .compose(RxUtils.filter(reviewItem ->
-                reviewItem.review().state() != ReviewState.Commented
-                  || !TextUtils.isEmpty(reviewItem.review().body())
-                  || !reviewItem.getDiffHunks().isEmpty()));
-
-        // Before the introduction of reviews in 2016, GitHub allowed to add single
-        // review comments which are not linked to a review object.
-        // For now we're showing them in between the conversation, but it would be best
-        // to group them in threads as GitHub does.
-        Single<List<TimelineItem>> prCommentsWithoutReviewSingle = prCommentsSingle
-                        .compose(RxUtils.filter(comment -> comment.pullRequestReviewId() == null))
-                        .compose(RxUtils.mapList(TimelineItem.TimelineComment::new));
-
-        return Single.zip(
-                issueCommentsSingle.subscribeOn(Schedulers.io()),
-                eventsSingle.subscribeOn(Schedulers.io()),
-                reviewItemsSingle.subscribeOn(Schedulers.io()),
-                prCommentsWithoutReviewSingle.subscribeOn(Schedulers.io()),
-                (comments, events, reviewItems, commentsWithoutReview) -> {
-            ArrayList<TimelineItem> result = new ArrayList<>();
-            result.addAll(comments);
-            result.addAll(events);
-            result.addAll(reviewItems);
-            result.addAll(commentsWithoutReview);
-            Collections.sort(result, TimelineItem.COMPARATOR);
-            return result;
-        });
+        return new ConversationStream(issueCommentPages, eventPages, reviewDataSingle);
     }
 
     @Override
@@ -183,15 +183,22 @@ public class ReviewFragment extends ListDataBaseFragment<TimelineItem> implement
         Single<Boolean> hasCommentsSingle = reviewCommentsSingle
                 .map(comments -> !comments.isEmpty());
 
+        // Built up front rather than in flatMap(), as they'd run on another thread
+        // than the one building them, see ServiceFactory.fromStoredResponses()
+        Single<List<GitHubFile>> allFilesSingle = ApiHelpers.PageIterator
+                .toSingle(page -> prService.getPullRequestFiles(
+                        mRepoOwner, mRepoName, mIssueNumber, page));
+        Single<List<ReviewComment>> allCommentsSingle = ApiHelpers.PageIterator
+                .toSingle(page -> commentService.getPullRequestComments(
+                        mRepoOwner, mRepoName, mIssueNumber, page))
+                .compose(RxUtils.sortList(ApiHelpers.COMMENT_COMPARATOR));
+
         Single<Optional<List<GitHubFile>>> filesSingle = hasCommentsSingle
                 .flatMap(hasComments -> {
                     if (!hasComments) {
                         return Single.just(Optional.absent());
                     }
-                    return ApiHelpers.PageIterator
-                            .toSingle(page -> prService.getPullRequestFiles(
-                                    mRepoOwner, mRepoName, mIssueNumber, page))
-                            .map(Optional::of);
+                    return allFilesSingle.map(Optional::of);
                 });
 
         Single<Optional<List<ReviewComment>>> commentsSingle = hasCommentsSingle
@@ -199,11 +206,7 @@ public class ReviewFragment extends ListDataBaseFragment<TimelineItem> implement
                     if (!hasComments) {
                         return Single.just(Optional.absent());
                     }
-                    return ApiHelpers.PageIterator
-                            .toSingle(page -> commentService.getPullRequestComments(
-                                    mRepoOwner, mRepoName, mIssueNumber, page))
-                            .compose(RxUtils.sortList(ApiHelpers.COMMENT_COMPARATOR))
-                            .map(Optional::of);
+                    return allCommentsSingle.map(Optional::of);
                 });
 
         return Single.zip(
@@ -271,6 +274,16 @@ public class ReviewFragment extends ListDataBaseFragment<TimelineItem> implement
         return mAdapter;
     }
 
+    @Override
+    protected void onPrepareData(List<TimelineItem> data) {
+        TimelineItemAdapter adapter = mAdapter;
+        if (adapter != null) {
+            int initialCommentPosition = findInitialCommentPosition(data);
+            adapter.preRenderBodies(data, initialCommentPosition >= 0
+                    ? initialCommentPosition : getFirstVisiblePosition());
+        }
+    }
+
     @Override
     protected void onAddData(RootAdapter<TimelineItem, ?> adapter, List<TimelineItem> data) {
         selectAndRemoveFirstReply(data);
@@ -288,10 +301,17 @@ public class ReviewFragment extends ListDataBaseFragment<TimelineItem> implement
         }
         mBottomSheet.updateHint();
 
-        super.onAddData(adapter, data);
-        if (mInitialComment != null) {
-            highlightInitialComment(data);
-        }
+        final int initialCommentPosition = findInitialCommentPosition(data);
+        // Positions only refer to the new data once the adapter displays it
+        adapter.setItems(data, () -> {
+            if (getView() == null || mInitialComment == null) {
+                return;
+            }
+            if (initialCommentPosition >= 0) {
+                scrollToAndHighlightPosition(initialCommentPosition);
+            }
+            mInitialComment = null;
+        });
     }
 
     private void selectAndRemoveFirstReply(List<TimelineItem> data) {
@@ -323,19 +343,21 @@ public class ReviewFragment extends ListDataBaseFragment<TimelineItem> implement
         }
     }
 
-    private void highlightInitialComment(List<TimelineItem> data) {
+    private int findInitialCommentPosition(List<TimelineItem> data) {
+        if (mInitialComment == null) {
+            return -1;
+        }
         for (int i = 0; i < data.size(); i++) {
             TimelineItem item = data.get(i);
 
             if (item instanceof TimelineItem.TimelineComment) {
                 TimelineItem.TimelineComment comment = (TimelineItem.TimelineComment) item;
                 if (mInitialComment.matches(comment.comment().id(), comment.getCreatedAt())) {
-                    scrollToAndHighlightPosition(i);
-                    break;
+                    return i;
                 }
             }
         }
-        mInitialComment = null;
+        return -1;
     }
 
     private void reloadComments( boolean alsoClearCaches) {
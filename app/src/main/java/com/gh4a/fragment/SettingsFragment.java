@@ -5,7 +5,13 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.pm.PackageInfo;
 import android.content.pm.PackageManager;
+import android.net.Uri;
 import android.os.Bundle;
+import android.text.format.Formatter;
+import android.widget.Toast;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.fragment.app.DialogFragment;
 import androidx.appcompat.app.AlertDialog;
@@ -22,12 +28,22 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import com.gh4a.Gh4Application;
+import com.gh4a.NetworkMetrics;
 import com.gh4a.R;
+import com.gh4a.ServiceFactory;
 import com.gh4a.activities.IssueListActivity;
 import com.gh4a.activities.RepositoryActivity;
+import com.gh4a.utils.RxUtils;
 import com.gh4a.worker.NotificationsWorker;
 import com.gh4a.widget.IntegerListPreference;
 
+import java.io.OutputStream;
+import java.util.List;
+
+import io.reactivex.Single;
+import okio.BufferedSink;
+import okio.Okio;
+
 public class SettingsFragment extends PreferenceFragmentCompat implements
         Preference.OnPreferenceClickListener, Preference.OnPreferenceChangeListener {
     public interface OnStateChangeListener {
@@ -45,14 +61,24 @@ public class SettingsFragment extends PreferenceFragmentCompat implements
     public static final String KEY_NOTIFICATION_INTERVAL = "notification_interval";
     private static final String KEY_ABOUT = "about";
     private static final String KEY_OPEN_SOURCE_COMPONENTS = "open_source_components";
+    private static final String KEY_NETWORK_DIAGNOSTICS = "network_diagnostics";
 
     private OnStateChangeListener mListener;
     private IntegerListPreference mThemePref;
     private Preference mAboutPref;
     private Preference mOpenSourcePref;
+    private Preference mNetworkDiagnosticsPref;
     private TwoStatePreference mNotificationsPref;
     private IntegerListPreference mNotificationIntervalPref;
 
+    private final ActivityResultLauncher<String> mExportMetricsLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(),
+            uri -> {
+                if (uri != null) {
+                    exportNetworkMetrics(uri);
+                }
+            });
+
     @Override
     public void onAttach(Context context) {
         super.onAttach(context);
@@ -77,6 +103,9 @@ public class SettingsFragment extends PreferenceFragmentCompat implements
         mOpenSourcePref = findPreference(KEY_OPEN_SOURCE_COMPONENTS);
         mOpenSourcePref.setOnPreferenceClickListener(this);
 
+        mNetworkDiagnosticsPref = findPreference(KEY_NETWORK_DIAGNOSTICS);
+        mNetworkDiagnosticsPref.setOnPreferenceClickListener(this);
+
         mNotificationsPref = findPreference(KEY_NOTIFICATIONS);
         mNotificationsPref.setOnPreferenceChangeListener(this);
 
@@ -120,10 +149,32 @@ public class SettingsFragment extends PreferenceFragmentCompat implements
             new OpenSourceComponentListDialogFragment()
                     .show(getChildFragmentManager(), "opensource");
             return true;
+        } else if (pref == mNetworkDiagnosticsPref) {
+            new NetworkMetricsDialogFragment()
+                    .show(getChildFragmentManager(), "network_metrics");
+            return true;
         }
         return false;
     }
 
+    private void exportNetworkMetrics(Uri uri) {
+        Context context = getContext().getApplicationContext();
+        Single<Boolean> exportSingle = Single.fromCallable(() -> {
+            try (OutputStream out = context.getContentResolver().openOutputStream(uri);
+                    BufferedSink sink = Okio.buffer(Okio.sink(out))) {
+                ServiceFactory.getNetworkMetrics().writeCsv(sink);
+            }
+            return true;
+        });
+        exportSingle
+                .compose(RxUtils::doInBackground)
+                .subscribe(
+                        result -> Toast.makeText(context, R.string.network_metrics_exported,
+                                Toast.LENGTH_SHORT).show(),
+                        error -> Toast.makeText(context, R.string.network_metrics_export_failed,
+                                Toast.LENGTH_SHORT).show());
+    }
+
     private String getAppName() {
         String version = getAppVersion();
         return getString(R.string.app_name) + " v" + version;
@@ -227,6 +278,101 @@ public class SettingsFragment extends PreferenceFragmentCompat implements
         }
     }
 
+    public static class NetworkMetricsDialogFragment extends DialogFragment {
+        @NonNull
+        @Override
+        public Dialog onCreateDialog(Bundle savedInstanceState) {
+            NetworkMetrics metrics = ServiceFactory.getNetworkMetrics();
+            List<NetworkMetrics.EndpointStats> stats = metrics.getSnapshot();
+            AlertDialog.Builder builder = new AlertDialog.Builder(getContext())
+                    .setTitle(R.string.network_diagnostics)
+                    .setPositiveButton(R.string.ok, null);
+
+            if (stats.isEmpty()) {
+                return builder.setMessage(R.string.network_metrics_empty).create();
+            }
+
+            LayoutInflater inflater = LayoutInflater.from(getContext());
+            RecyclerView rv = (RecyclerView) inflater.inflate(R.layout.open_source_component_list, null);
+            rv.setLayoutManager(new LinearLayoutManager(getContext()));
+            rv.setAdapter(new NetworkMetricsAdapter(getContext(), stats));
+
+            return builder
+                    .setView(rv)
+                    .setNeutralButton(R.string.network_metrics_export, (dialog, which) -> {
+                        SettingsFragment parent = (SettingsFragment) getParentFragment();
+                        parent.mExportMetricsLauncher.launch("gh4a-network-metrics.csv");
+                    })
+                    .setNegativeButton(R.string.network_metrics_reset,
+                            (dialog, which) -> metrics.reset())
+                    .create();
+        }
+    }
+
+    private static class NetworkMetricsAdapter extends RecyclerView.Adapter<NetworkMetricsViewHolder> {
+        private final Context mContext;
+        private final LayoutInflater mInflater;
+        private final List<NetworkMetrics.EndpointStats> mStats;
+
+        public NetworkMetricsAdapter(Context context, List<NetworkMetrics.EndpointStats> stats) {
+            mContext = context;
+            mInflater = LayoutInflater.from(context);
+            mStats = stats;
+        }
+
+        @NonNull
+        @Override
+        public NetworkMetricsViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            View itemView = mInflater.inflate(R.layout.network_metrics_item, parent, false);
+            return new NetworkMetricsViewHolder(itemView);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull NetworkMetricsViewHolder holder, int position) {
+            NetworkMetrics.EndpointStats stats = mStats.get(position);
+            StringBuilder details = new StringBuilder();
+            details.append(mContext.getString(R.string.network_metrics_requests,
+                    stats.getRequests(), stats.getCacheHits(), stats.getNotModified(),
+                    stats.getErrors()));
+            int medianBucket = stats.getLatencyPercentileBucket(50);
+            if (medianBucket >= 0) {
+                details.append("\n").append(mContext.getString(
+                        R.string.network_metrics_transfer,
+                        Formatter.formatShortFileSize(mContext, stats.getBytes()),
+                        NetworkMetrics.getLatencyBucketLabel(medianBucket),
+                        NetworkMetrics.getLatencyBucketLabel(
+                                stats.getLatencyPercentileBucket(90))));
+            }
+            if (stats.getPagedLoads() > 0) {
+                details.append("\n").append(mContext.getString(R.string.network_metrics_pages,
+                        stats.getPagedLoads(), stats.getAveragePagesPerLoad(),
+                        stats.getMaxPagesPerLoad()));
+            }
+            holder.bind(stats.getEndpoint(), details);
+        }
+
+        @Override
+        public int getItemCount() {
+            return mStats.size();
+        }
+    }
+
+    private static class NetworkMetricsViewHolder extends RecyclerView.ViewHolder {
+        private final TextView mTitleView;
+        private final TextView mDetailsView;
+
+        public NetworkMetricsViewHolder(@NonNull View itemView) {
+            super(itemView);
+            mTitleView = itemView.findViewById(R.id.title);
+            mDetailsView = itemView.findViewById(R.id.details);
+        }
+
+        public void bind(String endpoint, CharSequence details) {
+            mTitleView.setText(endpoint);
+            mDetailsView.setText(details);
+        }
+    }
+
     private static class OpenSourceComponentAdapter extends RecyclerView.Adapter<OpenSourceComponentViewHolder> {
         private static final String[][] COMPONENTS = new String[][] {
             { "android-gif-drawable", "https://github.com/koral--/android-gif-drawable" },
@@ -0,0 +1,290 @@
+package com.gh4a.model;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.collection.LongSparseArray;
+import androidx.core.util.ObjectsCompat;
+
+import com.gh4a.utils.ApiHelpers;
+import com.gh4a.utils.SortedListMerger;
+
+import com.meisolsson.githubsdk.model.GitHubComment;
+import com.meisolsson.githubsdk.model.GitHubCommentBase;
+import com.meisolsson.githubsdk.model.IssueEvent;
+import com.meisolsson.githubsdk.model.IssueEventType;
+import com.meisolsson.githubsdk.model.Review;
+import com.meisolsson.githubsdk.model.ReviewComment;
+import com.meisolsson.githubsdk.model.ReviewState;
+import com.meisolsson.githubsdk.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Everything making up the conversation of an issue or pull request, as delivered by the API.
+ *
+ * Both the REST and the GraphQL based loaders produce an instance of this, so the conversion
+ * into timeline items only exists once and both data sources result in the same timeline.
+ * Instances are also kept around as base for incremental refreshes, which only fetch
+ * what changed since and {@link #mergeWith merge} that into the known data.
+ */
+public class Conversation {
+    @NonNull
+    public final List<GitHubComment> issueComments;
+    @NonNull
+    public final List<IssueEvent> events;
+    @NonNull
+    public final List<Review> reviews;
+    // Comments of all non-pending reviews, sorted by creation date
+    @NonNull
+    public final List<ReviewComment> reviewComments;
+    // For pending reviews, the above doesn't contain the comments, so they're kept per review ID
+    @NonNull
+    public final LongSparseArray<List<ReviewComment>> pendingReviewCommentsById;
+
+    public Conversation(@NonNull List<GitHubComment> issueComments,
+            @NonNull List<IssueEvent> events, @NonNull List<Review> reviews,
+            @NonNull List<ReviewComment> reviewComments,
+            @NonNull LongSparseArray<List<ReviewComment>> pendingReviewCommentsById) {
+        this.issueComments = issueComments;
+        this.events = events;
+        this.reviews = reviews;
+        this.reviewComments = reviewComments;
+        this.pendingReviewCommentsById = pendingReviewCommentsById;
+    }
+
+    public Conversation(@NonNull List<GitHubComment> issueComments,
+            @NonNull List<IssueEvent> events) {
+        this(issueComments, events, Collections.emptyList(), Collections.emptyList(),
+                new LongSparseArray<>());
+    }
+
+    /**
+     * @return Latest update time of all issue comments, or null if there are none
+     */
+    @Nullable
+    public Date getNewestIssueCommentUpdate() {
+        return getNewestUpdate(issueComments);
+    }
+
+    /**
+     * @return Latest update time of all non-pending review comments, or null if there are none
+     */
+    @Nullable
+    public Date getNewestReviewCommentUpdate() {
+        return getNewestUpdate(reviewComments);
+    }
+
+    /**
+     * @return Creation time of the newest event, or null if there are no events
+     */
+    @Nullable
+    public Date getNewestEventDate() {
+        Date newest = null;
+        for (IssueEvent event : events) {
+            if (newest == null || (event.createdAt() != null && event.createdAt().after(newest))) {
+                newest = event.createdAt();
+            }
+        }
+        return newest;
+    }
+
+    public long getNewestReviewId() {
+        long newest = 0;
+        for (Review review : reviews) {
+            newest = Math.max(newest, review.id());
+        }
+        return newest;
+    }
+
+    public List<Review> getPendingReviews() {
+        List<Review> result = new ArrayList<>();
+        for (Review review : reviews) {
+            if (review.state() == ReviewState.Pending) {
+                result.add(review);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Merges changes into the conversation.
+     *
+     * @param changes New or updated comments, new events and new or updated reviews. Reviews
+     *                which were pending before must be contained in their current state, as
+     *                they're dropped otherwise, and the pending review comments need to be
+     *                complete.
+     * @return A new conversation containing the merged data
+     */
+    public Conversation mergeWith(Conversation changes) {
+        List<GitHubComment> mergedIssueComments = mergeById(issueComments, changes.issueComments);
+        List<ReviewComment> mergedReviewComments = mergeById(reviewComments, changes.reviewComments);
+        Collections.sort(mergedReviewComments, ApiHelpers.COMMENT_COMPARATOR);
+
+        LongSparseArray<Review> changedReviewsById = new LongSparseArray<>();
+        for (Review review : changes.reviews) {
+            changedReviewsById.put(review.id(), review);
+        }
+        List<Review> mergedReviews = new ArrayList<>();
+        for (Review review : reviews) {
+            Review changed = changedReviewsById.get(review.id());
+            if (changed != null) {
+                mergedReviews.add(changed);
+                changedReviewsById.remove(review.id());
+            } else if (review.state() != ReviewState.Pending) {
+                mergedReviews.add(review);
+            }
+        }
+        for (int i = 0; i < changedReviewsById.size(); i++) {
+            mergedReviews.add(changedReviewsById.valueAt(i));
+        }
+
+        List<IssueEvent> mergedEvents = new ArrayList<>(events);
+        for (IssueEvent event : changes.events) {
+            if (!containsEvent(events, event)) {
+                mergedEvents.add(event);
+            }
+        }
+
+        return new Conversation(mergedIssueComments, mergedEvents, mergedReviews,
+                mergedReviewComments, changes.pendingReviewCommentsById);
+    }
+
+    public List<TimelineItem> toTimelineItems(Collection<IssueEventType> interestingEvents) {
+        // All sources are delivered in chronological order by the API, so they only
+        // need to be merged
+        List<TimelineItem> commentItems = new ArrayList<>();
+        for (GitHubComment comment : issueComments) {
+            commentItems.add(new TimelineItem.TimelineComment(comment));
+        }
+        List<TimelineItem> eventItems = new ArrayList<>();
+        for (IssueEvent event : events) {
+            if (interestingEvents.contains(event.event())) {
+                eventItems.add(new TimelineItem.TimelineEvent(event));
+            }
+        }
+
+        // Before the introduction of reviews in 2016, GitHub allowed to add single
+        // review comments which are not linked to a review object.
+        // For now we're showing them in between the conversation, but it would be best
+        // to group them in threads as GitHub does.
+        List<TimelineItem> orphanReviewCommentItems = new ArrayList<>();
+        for (ReviewComment comment : reviewComments) {
+            if (comment.pullRequestReviewId() == null) {
+                orphanReviewCommentItems.add(new TimelineItem.TimelineComment(comment));
+            }
+        }
+
+        return SortedListMerger.merge(Arrays.asList(commentItems, eventItems,
+                buildReviewItems(), orphanReviewCommentItems), TimelineItem.COMPARATOR);
+    }
+
+    private List<TimelineItem.TimelineReview> buildReviewItems() {
+        LongSparseArray<TimelineItem.TimelineReview> reviewsById = new LongSparseArray<>();
+        List<TimelineItem.TimelineReview> reviewItems = new ArrayList<>();
+        DiffHunkIndex diffHunkIndex = new DiffHunkIndex();
+
+        for (Review review : reviews) {
+            TimelineItem.TimelineReview timelineReview =
+                    new TimelineItem.TimelineReview(review, diffHunkIndex);
+            reviewsById.put(review.id(), timelineReview);
+            reviewItems.add(timelineReview);
+
+            if (review.state() == ReviewState.Pending) {
+                List<ReviewComment> pendingComments = pendingReviewCommentsById.get(review.id());
+                if (pendingComments != null) {
+                    for (ReviewComment pendingComment : pendingComments) {
+                        timelineReview.addComment(pendingComment, null, true);
+                    }
+                }
+            }
+        }
+
+        LongSparseArray<TimelineItem.TimelineReview> reviewsByDiffHunk = new LongSparseArray<>();
+        for (ReviewComment comment : reviewComments) {
+            if (comment.pullRequestReviewId() != null) {
+                long diffHunkKey = diffHunkIndex.getKey(comment);
+
+                TimelineItem.TimelineReview reviewItem = reviewsByDiffHunk.get(diffHunkKey);
+                if (reviewItem == null) {
+                    reviewItem = reviewsById.get(comment.pullRequestReviewId());
+                    reviewsByDiffHunk.put(diffHunkKey, reviewItem);
+                }
+
+                reviewItem.addComment(comment, null, true);
+            }
+        }
+
+        // In some cases, replies to review threads are considered themselves "reviews" by GitHub.
+        // We drop these "not-really reviews" since we've already added their comments to the
+        // appropriate timeline review items.
+        List<TimelineItem.TimelineReview> result = new ArrayList<>();
+        for (TimelineItem.TimelineReview reviewItem : reviewItems) {
+            if (reviewItem.review().state() != ReviewState.Commented
+                    || !TextUtils.isEmpty(reviewItem.review().body())
+                    || !reviewItem.getDiffHunks().isEmpty()) {
+                result.add(reviewItem);
+            }
+        }
+        // Reviews are listed in creation order, which differs from submission order for
+        // reviews that were pending for a while. There are few of them, so just sort.
+        Collections.sort(result, TimelineItem.COMPARATOR);
+        return result;
+    }
+
+    private static <T extends GitHubCommentBase> List<T> mergeById(List<T> items,
+            List<T> changedItems) {
+        LongSparseArray<T> changedItemsById = new LongSparseArray<>();
+        for (T item : changedItems) {
+            changedItemsById.put(item.id(), item);
+        }
+        List<T> result = new ArrayList<>();
+        for (T item : items) {
+            T changed = changedItemsById.get(item.id());
+            if (changed != null) {
+                changedItemsById.remove(item.id());
+            }
+            result.add(changed != null ? changed : item);
+        }
+        for (int i = 0; i < changedItemsById.size(); i++) {
+            result.add(changedItemsById.valueAt(i));
+        }
+        return result;
+    }
+
+    @Nullable
+    private static Date getNewestUpdate(List<? extends GitHubCommentBase> comments) {
+        Date newest = null;
+        for (GitHubCommentBase comment : comments) {
+            Date updatedAt = comment.updatedAt() != null ? comment.updatedAt() : comment.createdAt();
+            if (updatedAt != null && (newest == null || updatedAt.after(newest))) {
+                newest = updatedAt;
+            }
+        }
+        return newest;
+    }
+
+    // Events have no usable identity across data sources (the GraphQL API doesn't provide
+    // the REST IDs), so they're compared by their content
+    private static boolean containsEvent(List<IssueEvent> events, IssueEvent event) {
+        for (IssueEvent other : events) {
+            if (other.event() == event.event()
+                    && ObjectsCompat.equals(other.createdAt(), event.createdAt())
+                    && ObjectsCompat.equals(getUserId(other.actor()), getUserId(event.actor()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private static Long getUserId(@Nullable User user) {
+        return user != null ? user.id() : null;
+    }
+}
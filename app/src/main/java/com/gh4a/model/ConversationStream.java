@@ -0,0 +1,115 @@
+package com.gh4a.model;
+
+import android.util.Pair;
+
+import com.gh4a.utils.RxUtils;
+import com.gh4a.utils.SortedListMerger;
+import com.meisolsson.githubsdk.model.GitHubComment;
+import com.meisolsson.githubsdk.model.IssueEvent;
+import com.meisolsson.githubsdk.model.IssueEventType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * A {@link Conversation} which is delivered piece by piece while it's loading.
+ *
+ * Issue comments and events arrive page by page, in chronological order. Reviews are
+ * only delivered once they're complete including their comments, as those need to be
+ * grouped by review and diff hunk. They don't hold back comments and events, but are
+ * inserted into the timeline when they arrive.
+ */
+public class ConversationStream {
+    private final Observable<List<GitHubComment>> mIssueCommentPages;
+    private final Observable<List<IssueEvent>> mEventPages;
+    // Conversation without issue comments and events
+    private final Single<Conversation> mReviewData;
+
+    public ConversationStream(Observable<List<GitHubComment>> issueCommentPages,
+            Observable<List<IssueEvent>> eventPages, Single<Conversation> reviewData) {
+        // Both the timeline and the complete conversation are built from the same requests,
+        // and the sources are loaded in parallel
+        mIssueCommentPages = issueCommentPages.subscribeOn(Schedulers.io()).cache();
+        mEventPages = eventPages.subscribeOn(Schedulers.io()).cache();
+        mReviewData = reviewData.subscribeOn(Schedulers.io()).cache();
+    }
+
+    public ConversationStream(Observable<List<GitHubComment>> issueCommentPages,
+            Observable<List<IssueEvent>> eventPages) {
+        this(issueCommentPages, eventPages, Single.just(new Conversation(
+                Collections.emptyList(), Collections.emptyList())));
+    }
+
+    /**
+     * @return Observable emitting the timeline loaded so far whenever it grows. Comments and
+     *         events are only emitted once their position is final, so they're appended to
+     *         the previous emission, while review items may be inserted in between.
+     */
+    public Observable<List<TimelineItem>> toTimelineItems(
+            Collection<IssueEventType> interestingEvents) {
+        List<Observable<List<TimelineItem>>> sources = Arrays.asList(
+                mIssueCommentPages.map(comments -> new Conversation(comments,
+                        Collections.emptyList()).toTimelineItems(interestingEvents)),
+                mEventPages.map(events -> new Conversation(Collections.emptyList(),
+                        events).toTimelineItems(interestingEvents)));
+        // The second member of the pair tells whether the list is complete
+        Observable<Pair<List<TimelineItem>, Boolean>> commentsAndEvents =
+                RxUtils.mergeSorted(sources, TimelineItem.COMPARATOR)
+                        .map(items -> Pair.create(items, false))
+                        .concatWith(Observable.just(
+                                Pair.create(Collections.<TimelineItem>emptyList(), true)))
+                        .scan(Pair.create(Collections.<TimelineItem>emptyList(), false),
+                                (loaded, next) -> {
+                                    List<TimelineItem> items = new ArrayList<>(loaded.first);
+                                    items.addAll(next.first);
+                                    return Pair.create(items, next.second);
+                                });
+        Observable<List<TimelineItem>> reviewItems = mReviewData.toObservable()
+                .map(reviewData -> reviewData.toTimelineItems(interestingEvents))
+                .startWith(Collections.<TimelineItem>emptyList());
+
+        return Observable.combineLatest(commentsAndEvents, reviewItems,
+                        (loaded, reviews) -> insertReviewItems(loaded.first, loaded.second, reviews))
+                .filter(items -> !items.isEmpty())
+                .defaultIfEmpty(new ArrayList<>());
+    }
+
+    private static List<TimelineItem> insertReviewItems(List<TimelineItem> items,
+            boolean complete, List<TimelineItem> reviewItems) {
+        if (reviewItems.isEmpty()) {
+            return items;
+        }
+        // Reviews newer than the loaded items would be placed at the end for now, and
+        // later comments would be inserted before them, so hold them back until then
+        List<TimelineItem> insertableReviewItems = reviewItems;
+        if (!complete) {
+            TimelineItem lastItem = items.isEmpty() ? null : items.get(items.size() - 1);
+            int count = 0;
+            while (lastItem != null && count < reviewItems.size()
+                    && TimelineItem.COMPARATOR.compare(reviewItems.get(count), lastItem) <= 0) {
+                count++;
+            }
+            insertableReviewItems = reviewItems.subList(0, count);
+        }
+        return SortedListMerger.merge(Arrays.asList(items, insertableReviewItems),
+                TimelineItem.COMPARATOR);
+    }
+
+    public Single<Conversation> toConversation() {
+        return Single.zip(flatten(mIssueCommentPages), flatten(mEventPages), mReviewData,
+                (issueComments, events, reviewData) -> new Conversation(issueComments, events,
+                        reviewData.reviews, reviewData.reviewComments,
+                        reviewData.pendingReviewCommentsById));
+    }
+
+    private static <T> Single<List<T>> flatten(Observable<List<T>> pages) {
+        return pages.concatMapIterable(page -> page).toList();
+    }
+}
@@ -0,0 +1,33 @@
+package com.gh4a.model;
+
+import com.meisolsson.githubsdk.model.GitHubComment;
+import com.meisolsson.githubsdk.model.Page;
+import com.meisolsson.githubsdk.model.ReviewComment;
+
+import io.reactivex.Single;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+
+/**
+ * Comment list endpoints restricted to comments updated after a given time, which
+ * the SDK's services don't offer.
+ */
+public interface ConversationUpdateService {
+    @GET("repos/{owner}/{repo}/issues/{issue_number}/comments")
+    Single<Response<Page<GitHubComment>>> getIssueCommentsSince(
+            @Path("owner") String owner,
+            @Path("repo") String repo,
+            @Path("issue_number") long issueNumber,
+            @Query("since") String since,
+            @Query("page") long page);
+
+    @GET("repos/{owner}/{repo}/pulls/{pull_number}/comments")
+    Single<Response<Page<ReviewComment>>> getPullRequestCommentsSince(
+            @Path("owner") String owner,
+            @Path("repo") String repo,
+            @Path("pull_number") long pullNumber,
+            @Query("since") String since,
+            @Query("page") long page);
+}
@@ -0,0 +1,43 @@
+package com.gh4a.model;
+
+import com.meisolsson.githubsdk.model.ReviewComment;
+
+import java.util.HashMap;
+
+/**
+ * Assigns compact keys to the diff hunks review comments belong to, for use in primitive-keyed
+ * collections like {@link androidx.collection.LongSparseArray}.
+ *
+ * Review comments are grouped by their original commit, path and original position. Every
+ * combination of commit and path gets a dense ID when first seen, which is combined with the
+ * position into a long, so no objects need to be allocated per comment. Keys are only
+ * comparable when they come from the same index, so all collections taking part in grouping
+ * the comments of a conversation should share one.
+ */
+public class DiffHunkIndex {
+    private final HashMap<String, HashMap<String, Integer>> mLocationIdsByCommit =
+            new HashMap<>();
+    private int mLocationCount;
+
+    /**
+     * Returns the key of the diff hunk the given comment belongs to.
+     * NOTE: Grouping comments this way is not correct in all of the possible cases (comments
+     * created with "Start new conversation" are incorrect). Sadly the GitHub API doesn't provide
+     * better information than that so this is all that we can rely on.
+     */
+    public long getKey(ReviewComment comment) {
+        HashMap<String, Integer> locationIdsByPath =
+                mLocationIdsByCommit.get(comment.originalCommitId());
+        if (locationIdsByPath == null) {
+            locationIdsByPath = new HashMap<>();
+            mLocationIdsByCommit.put(comment.originalCommitId(), locationIdsByPath);
+        }
+        Integer locationId = locationIdsByPath.get(comment.path());
+        if (locationId == null) {
+            locationId = mLocationCount++;
+            locationIdsByPath.put(comment.path(), locationId);
+        }
+        Integer position = comment.originalPosition();
+        return ((long) locationId << 32) | ((position != null ? position : -1) & 0xffffffffL);
+    }
+}
@@ -0,0 +1,24 @@
+package com.gh4a.model;
+
+import com.meisolsson.githubsdk.model.NotificationThread;
+import com.meisolsson.githubsdk.model.Page;
+
+import io.reactivex.Single;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
+import retrofit2.http.Query;
+
+/**
+ * Notification list endpoint with a conditional request header, which the SDK's services
+ * don't offer. As we make the request conditional ourselves, answers from the HTTP cache
+ * are bypassed.
+ */
+public interface NotificationPollService {
+    @Headers("Cache-Control: no-cache")
+    @GET("notifications")
+    Single<Response<Page<NotificationThread>>> getNotifications(
+            @Header("If-Modified-Since") String ifModifiedSince,
+            @Query("page") long page);
+}
@@ -0,0 +1,240 @@
+package com.gh4a.model;
+
+import androidx.annotation.Nullable;
+
+import com.gh4a.utils.StringUtils;
+
+import java.util.Arrays;
+
+/**
+ * Line oriented view on a unified diff.
+ *
+ * Only line boundaries and hunk starts are determined when constructing it, which is
+ * a single cheap pass over the text. Line contents are only extracted when asked for,
+ * and line numbers are calculated for a whole hunk when one of its lines is first
+ * accessed, so huge diffs don't need to be fully processed before displaying them.
+ */
+public class ParsedDiff {
+    public static final int LINE_TYPE_CONTEXT = 0;
+    public static final int LINE_TYPE_ADDED = 1;
+    public static final int LINE_TYPE_REMOVED = 2;
+    public static final int LINE_TYPE_HUNK_HEADER = 3;
+
+    private static final int TAB_WIDTH = 4;
+
+    private final String mDiff;
+    // Start offsets of all lines, followed by the end offset of the last line
+    private final int[] mLineStarts;
+    private final int mLineCount;
+    private final int[] mHunkStartLines;
+    private final int mHunkCount;
+    private final int mMaxLineLength;
+    // Left and right line numbers of every line, valid for the hunks marked as computed
+    private int[] mLeftLineNumbers;
+    private int[] mRightLineNumbers;
+    private boolean[] mHunkComputed;
+
+    public ParsedDiff(@Nullable String diff) {
+        mDiff = diff != null ? diff : "";
+
+        int[] lineStarts = new int[64];
+        int[] hunkStarts = new int[8];
+        int lineCount = 0;
+        int hunkCount = 0;
+        int maxLength = 0;
+        boolean hasTabs = mDiff.indexOf('\t') >= 0;
+        int length = mDiff.length();
+        int start = 0;
+
+        while (start < length) {
+            int end = mDiff.indexOf('\n', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (lineCount + 1 >= lineStarts.length) {
+                lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+            }
+            if (mDiff.startsWith("@@", start)) {
+                if (hunkCount == hunkStarts.length) {
+                    hunkStarts = Arrays.copyOf(hunkStarts, hunkStarts.length * 2);
+                }
+                hunkStarts[hunkCount++] = lineCount;
+            }
+            lineStarts[lineCount++] = start;
+            maxLength = Math.max(maxLength,
+                    hasTabs ? getExpandedLength(start, end) : end - start);
+            start = end + 1;
+        }
+        lineStarts[lineCount] = Math.min(start, length + 1);
+
+        mLineStarts = lineStarts;
+        mLineCount = lineCount;
+        mHunkStartLines = hunkStarts;
+        mHunkCount = hunkCount;
+        mMaxLineLength = maxLength;
+    }
+
+    public int getLineCount() {
+        return mLineCount;
+    }
+
+    /**
+     * @return Length of the longest line in characters, with tabs expanded
+     */
+    public int getMaxLineLength() {
+        return mMaxLineLength;
+    }
+
+    /**
+     * @return A value not smaller than any line number in the diff, without needing
+     * to calculate all line numbers
+     */
+    public int getLineNumberUpperBound() {
+        if (mHunkCount == 0) {
+            return 0;
+        }
+        int lastHunkStart = mHunkStartLines[mHunkCount - 1];
+        int[] lineNumbers = StringUtils.extractDiffHunkLineNumbers(getLine(lastHunkStart));
+        int linesInHunk = mLineCount - lastHunkStart;
+        return lineNumbers != null
+                ? Math.max(lineNumbers[0], lineNumbers[1]) + linesInHunk : mLineCount;
+    }
+
+    public String getLine(int index) {
+        return mDiff.substring(mLineStarts[index], mLineStarts[index + 1] - 1);
+    }
+
+    /**
+     * @return Line contents as they should be displayed, with tabs expanded to spaces
+     */
+    public String getDisplayLine(int index) {
+        String line = getLine(index);
+        if (line.indexOf('\t') < 0) {
+            return line;
+        }
+        StringBuilder sb = new StringBuilder(line.length() + TAB_WIDTH);
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\t') {
+                do {
+                    sb.append(' ');
+                } while (sb.length() % TAB_WIDTH != 0);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    public int getLineType(int index) {
+        int start = mLineStarts[index];
+        if (start >= mLineStarts[index + 1] - 1) {
+            return LINE_TYPE_CONTEXT;
+        }
+        switch (mDiff.charAt(start)) {
+            case '+': return LINE_TYPE_ADDED;
+            case '-': return LINE_TYPE_REMOVED;
+            case '@': return mDiff.startsWith("@@", start)
+                    ? LINE_TYPE_HUNK_HEADER : LINE_TYPE_CONTEXT;
+            default: return LINE_TYPE_CONTEXT;
+        }
+    }
+
+    /**
+     * @return Line number in the old file version that corresponds to the given line,
+     * or -1 if the line isn't part of any hunk. For hunk headers, the number of the line
+     * preceding the hunk is returned; for added lines, the number of the last preceding
+     * line present in the old version is returned.
+     */
+    public int getLeftLineNumber(int index) {
+        return ensureHunkComputed(index) ? mLeftLineNumbers[index] : -1;
+    }
+
+    /**
+     * Equivalent of {@link #getLeftLineNumber(int)} for the new file version.
+     */
+    public int getRightLineNumber(int index) {
+        return ensureHunkComputed(index) ? mRightLineNumbers[index] : -1;
+    }
+
+    /**
+     * Finds the diff line showing the given line of the old or new file version.
+     *
+     * @return Line index, or -1 if that line isn't part of the diff
+     */
+    public int findLine(int lineNumber, boolean right) {
+        for (int hunk = 0; hunk < mHunkCount; hunk++) {
+            int start = mHunkStartLines[hunk];
+            int end = hunk + 1 < mHunkCount ? mHunkStartLines[hunk + 1] : mLineCount;
+            // Check the hunk range first, so only hunks in question need to be computed
+            int[] range = StringUtils.extractDiffHunkLineNumbers(getLine(start));
+            if (range == null || lineNumber <= range[right ? 1 : 0]) {
+                continue;
+            }
+            for (int i = start + 1; i < end; i++) {
+                int number = right ? getRightLineNumber(i) : getLeftLineNumber(i);
+                if (number == lineNumber) {
+                    return i;
+                }
+                if (number > lineNumber) {
+                    break;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private boolean ensureHunkComputed(int index) {
+        int hunk = Arrays.binarySearch(mHunkStartLines, 0, mHunkCount, index);
+        if (hunk < 0) {
+            // Not a hunk start, so binarySearch returned -(index of next hunk start) - 1
+            hunk = -hunk - 2;
+        }
+        if (hunk < 0) {
+            // Line before the first hunk
+            return false;
+        }
+        if (mHunkComputed == null) {
+            mHunkComputed = new boolean[mHunkCount];
+            mLeftLineNumbers = new int[mLineCount];
+            mRightLineNumbers = new int[mLineCount];
+        }
+        if (!mHunkComputed[hunk]) {
+            computeHunk(hunk);
+        }
+        return true;
+    }
+
+    private void computeHunk(int hunk) {
+        int start = mHunkStartLines[hunk];
+        int end = hunk + 1 < mHunkCount ? mHunkStartLines[hunk + 1] : mLineCount;
+        int[] lineNumbers = StringUtils.extractDiffHunkLineNumbers(getLine(start));
+        int left = lineNumbers != null ? lineNumbers[0] : -1;
+        int right = lineNumbers != null ? lineNumbers[1] : -1;
+
+        mLeftLineNumbers[start] = left;
+        mRightLineNumbers[start] = right;
+        for (int i = start + 1; i < end; i++) {
+            switch (getLineType(i)) {
+                case LINE_TYPE_ADDED: right++; break;
+                case LINE_TYPE_REMOVED: left++; break;
+                default: left++; right++; break;
+            }
+            mLeftLineNumbers[i] = left;
+            mRightLineNumbers[i] = right;
+        }
+        mHunkComputed[hunk] = true;
+    }
+
+    private int getExpandedLength(int start, int end) {
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            if (mDiff.charAt(i) == '\t') {
+                length += TAB_WIDTH - (length % TAB_WIDTH);
+            } else {
+                length++;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,102 @@
+package com.gh4a.model;
+
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Line oriented view on the contents of a source file.
+ *
+ * Like {@link ParsedDiff}, only line boundaries are determined when constructing it,
+ * and line contents are extracted when asked for.
+ */
+public class ParsedSource {
+    private static final int TAB_WIDTH = 4;
+
+    private final String mSource;
+    // Start offsets of all lines, followed by the end offset of the last line
+    private final int[] mLineStarts;
+    private final int mLineCount;
+    private final int mMaxLineLength;
+
+    public ParsedSource(@Nullable String source) {
+        mSource = source != null ? source : "";
+
+        int[] lineStarts = new int[64];
+        int lineCount = 0;
+        int maxLength = 0;
+        boolean hasTabs = mSource.indexOf('\t') >= 0;
+        int length = mSource.length();
+        int start = 0;
+
+        while (start < length) {
+            int end = mSource.indexOf('\n', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (lineCount + 1 >= lineStarts.length) {
+                lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+            }
+            lineStarts[lineCount++] = start;
+            maxLength = Math.max(maxLength,
+                    hasTabs ? getExpandedLength(start, end) : end - start);
+            start = end + 1;
+        }
+        lineStarts[lineCount] = Math.min(start, length + 1);
+
+        mLineStarts = lineStarts;
+        mLineCount = lineCount;
+        mMaxLineLength = maxLength;
+    }
+
+    public int getLineCount() {
+        return mLineCount;
+    }
+
+    /**
+     * @return Length of the longest line in characters, with tabs expanded
+     */
+    public int getMaxLineLength() {
+        return mMaxLineLength;
+    }
+
+    /**
+     * @return Line contents as they should be displayed, with tabs expanded to spaces and
+     * without a trailing carriage return
+     */
+    public String getDisplayLine(int index) {
+        int start = mLineStarts[index];
+        int end = mLineStarts[index + 1] - 1;
+        if (end > start && mSource.charAt(end - 1) == '\r') {
+            end--;
+        }
+        String line = mSource.substring(start, end);
+        if (line.indexOf('\t') < 0) {
+            return line;
+        }
+        StringBuilder sb = new StringBuilder(line.length() + TAB_WIDTH);
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\t') {
+                do {
+                    sb.append(' ');
+                } while (sb.length() % TAB_WIDTH != 0);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private int getExpandedLength(int start, int end) {
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            if (mSource.charAt(i) == '\t') {
+                length += TAB_WIDTH - (length % TAB_WIDTH);
+            } else {
+                length++;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,33 @@
+package com.gh4a.model;
+
+import io.reactivex.Single;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+
+/**
+ * Contents endpoint returning the file itself instead of Base64 encoded JSON, which
+ * the SDK's services don't offer. The body isn't buffered, so it can be streamed to disk.
+ *
+ * The response must neither end up in the HTTP cache nor in the response store, as
+ * callers keep the file themselves.
+ */
+public interface RawContentService {
+    @Streaming
+    @Headers({
+        "Accept: application/vnd.github.v3.raw",
+        "Cache-Control: no-store"
+    })
+    @GET("repos/{owner}/{repo}/contents/{path}")
+    Single<Response<ResponseBody>> getRawContents(
+            @Path("owner") String owner,
+            @Path("repo") String repo,
+            @Path(value = "path", encoded = true) String encodedPath,
+            @Query("ref") String ref,
+            @Header("If-None-Match") String etag);
+}
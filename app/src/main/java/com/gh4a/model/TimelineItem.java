@@ -4,6 +4,7 @@ import android.content.Context;
 import android.content.Intent;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.collection.LongSparseArray;
 
 import com.gh4a.activities.PullRequestDiffViewerActivity;
 import com.gh4a.utils.IntentUtils;
@@ -20,16 +21,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public abstract class TimelineItem {
     public static final Comparator<TimelineItem> COMPARATOR = (lhs, rhs) -> {
         if (lhs.getCreatedAt() == null) {
-            return 1;
+            return rhs.getCreatedAt() == null ? 0 : 1;
         }
         if (rhs.getCreatedAt() == null) {
             return -1;
@@ -149,10 +148,25 @@ public abstract class TimelineItem {
         private final Review review;
 
         @NonNull
-        private final Map<String, Diff> diffHunksBySpecialId = new HashMap<>();
+        private final DiffHunkIndex diffHunkIndex;
+
+        @NonNull
+        private final LongSparseArray<Diff> diffHunksByKey = new LongSparseArray<>();
+
+        @NonNull
+        private final List<Diff> diffHunks = new ArrayList<>();
 
         public TimelineReview(@NonNull Review review) {
+            this(review, new DiffHunkIndex());
+        }
+
+        /**
+         * @param diffHunkIndex Index for grouping comments by diff hunks, which may be shared
+         *                      with other reviews of the same pull request.
+         */
+        public TimelineReview(@NonNull Review review, @NonNull DiffHunkIndex diffHunkIndex) {
             this.review = review;
+            this.diffHunkIndex = diffHunkIndex;
         }
 
         public Review review() {
@@ -171,7 +185,7 @@ public abstract class TimelineItem {
         }
 
         public Collection<Diff> getDiffHunks() {
-            return diffHunksBySpecialId.values();
+            return diffHunks;
         }
 
         /**
@@ -186,19 +200,16 @@ public abstract class TimelineItem {
          */
         public void addComment(@NonNull ReviewComment comment, @Nullable GitHubFile file,
                 boolean addNewDiffHunk) {
-            // Comments are grouped by a special diff hunk id which is a combination of these 3
-            // fields. By using this id we can display comments and their replies together under
-            // a single diff hunk.
-            // NOTE: Using this id is not correct in all of the possible cases (Comments created
-            // with "Start new conversation" are incorrect). Sadly the GitHub API doesn't provide
-            // better information than that so this is all that we can rely on.
-            String id = Diff.getDiffHunkId(comment);
-
-            Diff diffHunk = diffHunksBySpecialId.get(id);
+            // Comments are grouped by their diff hunk, so we can display comments and their
+            // replies together under a single diff hunk.
+            long key = diffHunkIndex.getKey(comment);
+
+            Diff diffHunk = diffHunksByKey.get(key);
             if (diffHunk == null) {
                 if (addNewDiffHunk) {
                     diffHunk = new Diff(new TimelineComment(comment, file));
-                    diffHunksBySpecialId.put(id, diffHunk);
+                    diffHunksByKey.put(key, diffHunk);
+                    diffHunks.add(diffHunk);
                 }
             } else {
                 if (diffHunk.isReply()) {
@@ -228,17 +239,6 @@ public abstract class TimelineItem {
 
         private boolean mIsReply;
 
-        /**
-         * Returns special id that is used to group comments together with all replies to them
-         * under the same diff hunk.
-         *
-         * @param comment The comment for which to return the special id.
-         */
-        public static String getDiffHunkId(ReviewComment comment) {
-            return comment.originalCommitId() + comment.path() +
-                    comment.originalPosition();
-        }
-
         public Diff(TimelineComment timelineComment) {
             timelineComment.diff = this;
             comments.add(timelineComment);
@@ -5,11 +5,12 @@ import android.content.Intent;
 import android.net.Uri;
 
 import androidx.annotation.VisibleForTesting;
+import androidx.collection.LongSparseArray;
 import androidx.fragment.app.FragmentActivity;
 
 import com.gh4a.ServiceFactory;
 import com.gh4a.activities.ReviewActivity;
-import com.gh4a.model.TimelineItem;
+import com.gh4a.model.DiffHunkIndex;
 import com.gh4a.utils.ApiHelpers;
 import com.gh4a.utils.IntentUtils;
 import com.gh4a.utils.Optional;
@@ -19,9 +20,6 @@ import com.meisolsson.githubsdk.model.ReviewComment;
 import com.meisolsson.githubsdk.service.pull_request.PullRequestReviewCommentService;
 import com.meisolsson.githubsdk.service.pull_request.PullRequestReviewService;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import io.reactivex.Single;
 
 public class PullRequestReviewCommentLoadTask extends UrlLoadTask {
@@ -61,20 +59,21 @@ public class PullRequestReviewCommentLoadTask extends UrlLoadTask {
                 // Required to have comments sorted so we can find correct review
                 .compose(RxUtils.sortList(ApiHelpers.COMMENT_COMPARATOR))
                 .flatMap(comments -> {
-                    Map<String, ReviewComment> commentsByDiffHunkId = new HashMap<>();
+                    DiffHunkIndex diffHunkIndex = new DiffHunkIndex();
+                    LongSparseArray<ReviewComment> commentsByDiffHunk = new LongSparseArray<>();
                     for (ReviewComment comment : comments) {
-                        String id = TimelineItem.Diff.getDiffHunkId(comment);
+                        long diffHunkKey = diffHunkIndex.getKey(comment);
 
-                        if (!commentsByDiffHunkId.containsKey(id)) {
+                        if (commentsByDiffHunk.get(diffHunkKey) == null) {
                             // Because the comment we are looking for could be a reply to another
                             // review we have to keep track of initial comments for each diff hunk
-                            commentsByDiffHunkId.put(id, comment);
+                            commentsByDiffHunk.put(diffHunkKey, comment);
                         }
 
                         if (marker.matches(comment.id(), null)) {
                             // Once found the comment we are looking for get a correct review id from
                             // the initial diff hunk comment
-                            ReviewComment initialComment = commentsByDiffHunkId.get(id);
+                            ReviewComment initialComment = commentsByDiffHunk.get(diffHunkKey);
                             long reviewId = initialComment.pullRequestReviewId();
 
                             return reviewService
@@ -15,6 +15,7 @@ import android.util.Pair;
 import com.gh4a.ApiRequestException;
 import com.gh4a.Gh4Application;
 import com.gh4a.R;
+import com.gh4a.ServiceFactory;
 import com.meisolsson.githubsdk.model.Commit;
 import com.meisolsson.githubsdk.model.GitHubCommentBase;
 import com.meisolsson.githubsdk.model.Issue;
@@ -29,14 +30,21 @@ import com.meisolsson.githubsdk.model.git.GitUser;
 import java.net.HttpURLConnection;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.reactivex.functions.Predicate;
+import io.reactivex.schedulers.Schedulers;
 import io.reactivex.subjects.BehaviorSubject;
+import okhttp3.Request;
 import retrofit2.Response;
 
 public class ApiHelpers {
@@ -241,6 +249,15 @@ public class ApiHelpers {
         return response.body();
     }
 
+    /**
+     * Formats a date as ISO 8601 timestamp, as expected by API parameters like 'since'
+     */
+    public static String formatTimestamp(Date date) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(date);
+    }
+
     public static boolean mapToTrueOnSuccess(Response<Void> response) throws ApiRequestException {
         if (response.code() == HttpURLConnection.HTTP_UNAUTHORIZED) {
             Gh4Application.get().logout();
@@ -350,9 +367,57 @@ public class ApiHelpers {
             Single<Response<Page<T>>> getPage(long page);
         }
 
+        // Maximum number of pages fetched at the same time once the page count is known
+        private static final int MAX_CONCURRENT_PAGE_REQUESTS = 4;
+
         public static <T> Single<List<T>> toSingle(PageProducer<T> producer) {
+            return toObservable(producer)
+                    .toList()
+                    .map(lists -> {
+                        List<T> result = new ArrayList<>();
+                        for (List<T> l : lists) {
+                            result.addAll(l);
+                        }
+                        return result;
+                    });
+        }
+
+        /**
+         * @return Observable emitting the items of every page as soon as the page arrives,
+         *         in page order
+         */
+        public static <T> Observable<List<T>> toObservable(PageProducer<T> producer) {
+            boolean countPages = !ServiceFactory.isAnsweringFromStore();
+            return Observable.defer(() -> {
+                PageCounter<T> counter = new PageCounter<>(producer);
+                return fetchAll(countPages ? counter : producer)
+                        .doOnComplete(counter::report);
+            });
+        }
+
+        private static <T> Observable<List<T>> fetchAll(PageProducer<T> producer) {
+            return producer.getPage(1)
+                    .toObservable()
+                    .compose(PageIterator::evaluateError)
+                    .concatMap(firstPage -> {
+                        Observable<List<T>> firstItems = Observable.just(firstPage.items());
+                        Integer next = firstPage.next();
+                        Integer last = firstPage.last();
+                        if (next == null) {
+                            return firstItems;
+                        }
+                        if (last == null || last < next) {
+                            // No usable page count in the Link header, fall back to following
+                            // the 'next' links one by one
+                            return firstItems.concatWith(iterateFrom(producer, next));
+                        }
+                        return firstItems.concatWith(fetchRange(producer, next, last));
+                    });
+        }
+
+        private static <T> Observable<List<T>> iterateFrom(PageProducer<T> producer, int startPage) {
             BehaviorSubject<Optional<Integer>> pageControl =
-                    BehaviorSubject.createDefault(Optional.of(1));
+                    BehaviorSubject.createDefault(Optional.of(startPage));
             return pageControl
                     .concatMap(page -> {
                         if (!page.isPresent()) {
@@ -363,18 +428,104 @@ public class ApiHelpers {
                                 .compose(PageIterator::evaluateError)
                                 .doOnNext(resultPage -> pageControl.onNext(Optional.ofWithNull(resultPage.next())))
                                 .map(responsePage -> responsePage.items());
-                    })
-                    .toList()
-                    .map(lists -> {
-                        List<T> result = new ArrayList<>();
-                        for (List<T> l : lists) {
-                            result.addAll(l);
+                    });
+        }
+
+        private static <T> Observable<List<T>> fetchRange(PageProducer<T> producer,
+                int firstPage, int lastPage) {
+            // Pages are requested concurrently, but concatMapEager keeps the results in page order.
+            // The producers execute their calls synchronously, so each page needs to be
+            // subscribed on its own worker thread to actually run in parallel.
+            return Observable.range(firstPage, lastPage - firstPage + 1)
+                    .concatMapEager(page -> producer.getPage(page)
+                            .subscribeOn(Schedulers.io())
+                            .toObservable()
+                            .compose(PageIterator::evaluateError)
+                            .concatMap(resultPage -> {
+                                Observable<List<T>> items = Observable.just(resultPage.items());
+                                Integer next = resultPage.next();
+                                // Items might have been added while we were loading, in which
+                                // case the former last page isn't the last one anymore
+                                if (page == lastPage && next != null && next > lastPage) {
+                                    return items.concatWith(iterateFrom(producer, next));
+                                }
+                                return items;
+                            }), MAX_CONCURRENT_PAGE_REQUESTS, 1);
+        }
+
+        /**
+         * Loads the items which were appended to a list since it was loaded last, without
+         * loading the whole list again: starting with the last page, pages are loaded
+         * backwards until one containing an already known item is found. Usually, this
+         * needs two requests (one for finding out the page count) regardless of list size.
+         *
+         * @param isKnown Tells whether an item was part of the previously loaded list
+         * @return The unknown items, in list order
+         */
+        public static <T> Single<List<T>> tail(PageProducer<T> producer, Predicate<T> isKnown) {
+            boolean countPages = !ServiceFactory.isAnsweringFromStore();
+            return Single.defer(() -> {
+                PageCounter<T> counter = new PageCounter<>(producer);
+                return fetchTail(countPages ? counter : producer, isKnown)
+                        .doOnSuccess(result -> counter.report());
+            });
+        }
+
+        private static <T> Single<List<T>> fetchTail(PageProducer<T> producer,
+                Predicate<T> isKnown) {
+            return producer.getPage(1)
+                    .map(PageIterator::evaluateError)
+                    .flatMap(firstPage -> {
+                        Integer last = firstPage.last();
+                        return last != null && last > 1
+                                ? fetchBackwardsFrom(producer, last, firstPage, isKnown)
+                                : Single.just(filterUnknown(firstPage.items(), isKnown));
+                    });
+        }
+
+        private static <T> Single<List<T>> fetchBackwardsFrom(PageProducer<T> producer,
+                int page, Page<T> firstPage, Predicate<T> isKnown) {
+            if (page <= 1) {
+                return Single.just(filterUnknown(firstPage.items(), isKnown));
+            }
+            return producer.getPage(page)
+                    .map(PageIterator::evaluateError)
+                    .flatMap(resultPage -> {
+                        List<T> unknownItems = filterUnknown(resultPage.items(), isKnown);
+                        if (unknownItems.size() < resultPage.items().size()) {
+                            // Reached the previously known part of the list
+                            return Single.just(unknownItems);
                         }
-                        return result;
+                        return fetchBackwardsFrom(producer, page - 1, firstPage, isKnown)
+                                .map(olderItems -> {
+                                    olderItems.addAll(unknownItems);
+                                    return olderItems;
+                                });
                     });
         }
 
+        private static <T> List<T> filterUnknown(List<T> items, Predicate<T> isKnown)
+                throws Exception {
+            List<T> result = new ArrayList<>();
+            for (T item : items) {
+                if (!isKnown.test(item)) {
+                    result.add(item);
+                }
+            }
+            return result;
+        }
+
         public static <T> Single<Optional<T>> first(PageProducer<T> producer, Predicate<T> predicate) {
+            boolean countPages = !ServiceFactory.isAnsweringFromStore();
+            return Single.defer(() -> {
+                PageCounter<T> counter = new PageCounter<>(producer);
+                return fetchFirst(countPages ? counter : producer, predicate)
+                        .doOnSuccess(result -> counter.report());
+            });
+        }
+
+        private static <T> Single<Optional<T>> fetchFirst(PageProducer<T> producer,
+                Predicate<T> predicate) {
             BehaviorSubject<Optional<Integer>> pageControl =
                     BehaviorSubject.createDefault(Optional.of(1));
             return pageControl
@@ -400,11 +551,41 @@ public class ApiHelpers {
                     .first(Optional.absent());
         }
 
+        // Counts the pages fetched during one load for the network metrics
+        private static class PageCounter<T> implements PageProducer<T> {
+            private final PageProducer<T> mProducer;
+            private final AtomicInteger mPageCount = new AtomicInteger();
+            private volatile Request mFirstPageRequest;
+
+            PageCounter(PageProducer<T> producer) {
+                mProducer = producer;
+            }
+
+            @Override
+            public Single<Response<Page<T>>> getPage(long page) {
+                return mProducer.getPage(page)
+                        .doOnSuccess(response -> {
+                            if (mPageCount.getAndIncrement() == 0) {
+                                mFirstPageRequest = response.raw().request();
+                            }
+                        });
+            }
+
+            void report() {
+                Request request = mFirstPageRequest;
+                if (request != null) {
+                    ServiceFactory.getNetworkMetrics().recordPageLoad(request, mPageCount.get());
+                }
+            }
+        }
+
         private static <T> Observable<Page<T>> evaluateError(Observable<Response<Page<T>>> upstream) {
-            return upstream.map(response -> {
-                throwOnFailure(response);
-                return response.body();
-            });
+            return upstream.map(PageIterator::evaluateError);
+        }
+
+        private static <T> Page<T> evaluateError(Response<Page<T>> response) {
+            throwOnFailure(response);
+            return response.body();
         }
     }
 }
\ No newline at end of file
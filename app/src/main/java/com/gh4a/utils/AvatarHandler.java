@@ -1,7 +1,15 @@
 package com.gh4a.utils;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import android.content.Context;
 import android.content.res.Resources;
@@ -16,7 +24,6 @@ import android.graphics.drawable.Drawable;
 import android.graphics.drawable.TransitionDrawable;
 import android.net.Uri;
 import android.os.Handler;
-import android.os.HandlerThread;
 import android.os.Looper;
 import android.os.Message;
 import androidx.annotation.ColorInt;
@@ -41,52 +48,66 @@ public class AvatarHandler {
 
     private static final int MAX_CACHED_IMAGE_SIZE = 60; /* dp - maximum gravatar view size used */
 
+    private static final int MAX_LOADER_THREADS = 4;
+    // Avatars stored on disk are re-fetched after that time to pick up changes
+    private static final long DISK_CACHE_MAX_AGE = TimeUnit.DAYS.toMillis(7);
+    private static final long DISK_CACHE_MAX_SIZE = 10 * 1024 * 1024;
+
     private static LruCache<Long, Bitmap> sCache;
-    private static int sNextRequestId = 1;
+    private static File sDiskCacheDir;
 
     private static class Request {
         long id;
         String url;
         ArrayList<ViewDelegate> views;
+        Future<?> future;
+        Bitmap result;
     }
+    // keyed by user ID
     private static final LongSparseArray<Request> sRequests = new LongSparseArray<>();
+    private static final HashMap<ViewDelegate, Request> sRequestsByView = new HashMap<>();
     private static int sMaxImageSizePx = -1;
 
-    private static final int MSG_LOAD = 1;
-    private static final int MSG_LOADED = 2;
-    private static final int MSG_DESTROY = 3;
+    private static final int MSG_LOADED = 1;
+
+    private static final ThreadPoolExecutor sExecutor = new ThreadPoolExecutor(
+            MAX_LOADER_THREADS, MAX_LOADER_THREADS, 3, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> new Thread(runnable, "GravatarLoader"));
 
-    private static HandlerThread sWorkerThread = null;
-    private static Handler sWorkerHandler = null;
+    static {
+        sExecutor.allowCoreThreadTimeOut(true);
+    }
 
     private static final Handler sHandler = new Handler(Looper.getMainLooper()) {
         @Override
         public void handleMessage(Message msg) {
             switch (msg.what) {
                 case MSG_LOADED:
-                    processResult(msg.arg1, (Bitmap) msg.obj);
-                    if (sRequests.size() == 0) {
-                        sendEmptyMessageDelayed(MSG_DESTROY, 3000);
-                    }
-                    break;
-                case MSG_DESTROY:
-                    shutdownWorker();
+                    processResult((Request) msg.obj);
                     break;
             }
         }
 
-        private void processResult(long requestId, Bitmap bitmap) {
-            final Request request = sRequests.get(requestId);
-            if (request != null && bitmap != null) {
+        private void processResult(Request request) {
+            if (sRequests.get(request.id) != request) {
+                // All views were reassigned in the meantime. Don't cache the result either,
+                // as a newer request for the same user may be running, and replacing its
+                // result would recycle a bitmap that is displayed already.
+                return;
+            }
+            Bitmap bitmap = request.result;
+            if (bitmap != null) {
                 synchronized (AvatarHandler.class) {
                     sCache.put(request.id, bitmap);
                 }
-
-                for (ViewDelegate view : request.views) {
+            }
+            sRequests.remove(request.id);
+            for (ViewDelegate view : request.views) {
+                sRequestsByView.remove(view);
+                if (bitmap != null) {
                     applyAvatarToView(view, bitmap);
                 }
             }
-            sRequests.remove(requestId);
         }
     };
 
@@ -116,17 +137,19 @@ public class AvatarHandler {
         if (cachedBitmap != null) {
             return cachedBitmap;
         }
-        try {
-            Bitmap bitmap = fetchBitmap(makeUrl(user.avatarUrl(), user.id()));
-            if (bitmap != null) {
-                synchronized (AvatarHandler.class) {
-                    sCache.put(user.id(), bitmap);
+        Bitmap bitmap = loadBitmap(user.id(), makeUrl(user.avatarUrl(), user.id()));
+        if (bitmap != null) {
+            synchronized (AvatarHandler.class) {
+                // Another load may have finished in the meantime, keep its bitmap
+                Bitmap existing = sCache.get(user.id());
+                if (existing != null) {
+                    bitmap.recycle();
+                    return existing;
                 }
+                sCache.put(user.id(), bitmap);
             }
-            return bitmap;
-        } catch (IOException e) {
-            return null;
         }
+        return bitmap;
     }
 
     private static Bitmap loadBitmapFromCache(Context context, long id) {
@@ -153,28 +176,22 @@ public class AvatarHandler {
             return;
         }
 
-        Request request = getRequestForId(userId);
-        if (request != null) {
-            request.views.add(view);
-            return;
-        }
+        Request request = sRequests.get(userId);
+        if (request == null) {
+            request = new Request();
+            request.id = userId;
+            request.url = makeUrl(url, userId);
+            request.views = new ArrayList<>();
+            sRequests.put(userId, request);
 
-        int requestId = sNextRequestId++;
-        request = new Request();
-        request.id = userId;
-        request.url = makeUrl(url, userId);
-        request.views = new ArrayList<>();
-        request.views.add(view);
-        sRequests.put(requestId, request);
-
-        sHandler.removeMessages(MSG_DESTROY);
-        if (sWorkerThread == null) {
-            sWorkerThread = new HandlerThread("GravatarLoader");
-            sWorkerThread.start();
-            sWorkerHandler = new WorkerHandler(sWorkerThread.getLooper());
+            final Request loadRequest = request;
+            request.future = sExecutor.submit(() -> {
+                loadRequest.result = loadBitmap(loadRequest.id, loadRequest.url);
+                sHandler.obtainMessage(MSG_LOADED, loadRequest).sendToTarget();
+            });
         }
-        Message msg = sWorkerHandler.obtainMessage(MSG_LOAD, requestId, 0, request.url);
-        msg.sendToTarget();
+        request.views.add(view);
+        sRequestsByView.put(view, request);
     }
 
     private static void initialize(Context context) {
@@ -186,7 +203,10 @@ public class AvatarHandler {
             @Override
             protected void entryRemoved(boolean evicted, Long key, Bitmap oldValue, Bitmap newValue) {
                 super.entryRemoved(evicted, key, oldValue, newValue);
-                oldValue.recycle();
+                // A replaced value may still be displayed, so only recycle evicted ones
+                if (evicted) {
+                    oldValue.recycle();
+                }
             }
 
             @Override
@@ -198,6 +218,8 @@ public class AvatarHandler {
 
         Resources res = context.getResources();
         sMaxImageSizePx = Math.round(res.getDisplayMetrics().density * MAX_CACHED_IMAGE_SIZE);
+        sDiskCacheDir = new File(context.getApplicationContext().getCacheDir(), "avatars");
+        sExecutor.execute(AvatarHandler::trimDiskCache);
     }
 
     private static String makeUrl(String url, long userId) {
@@ -226,31 +248,78 @@ public class AvatarHandler {
         }
     }
 
-    private static Request getRequestForId(long id) {
-        int count = sRequests.size();
-        for (int i = 0; i < count; i++) {
-            Request request = sRequests.valueAt(i);
-            if (request.id == id) {
-                return request;
+    private static void removeOldRequest(ViewDelegate view) {
+        Request request = sRequestsByView.remove(view);
+        if (request != null) {
+            request.views.remove(view);
+            if (request.views.isEmpty()) {
+                request.future.cancel(false);
+                sRequests.remove(request.id);
             }
         }
-        return null;
     }
 
-    private static void removeOldRequest(ViewDelegate view) {
-        int count = sRequests.size();
-        for (int i = 0; i < count; i++) {
-            Request request = sRequests.valueAt(i);
-            if (request.views.remove(view)) {
-                if (request.views.isEmpty()) {
-                    if (sWorkerHandler != null) {
-                        sWorkerHandler.removeMessages(MSG_LOAD, request.url);
-                    }
-                    sRequests.removeAt(i);
-                }
-                return;
+    private static Bitmap loadBitmap(long userId, String url) {
+        // Already scaled bitmaps are stored per size, so density changes don't need special care
+        File diskCacheFile = new File(sDiskCacheDir, userId + "_" + sMaxImageSizePx + ".png");
+        if (System.currentTimeMillis() - diskCacheFile.lastModified() < DISK_CACHE_MAX_AGE) {
+            Bitmap bitmap = BitmapFactory.decodeFile(diskCacheFile.getPath());
+            if (bitmap != null) {
+                bitmap.setDensity(0);
+                return bitmap;
             }
         }
+
+        Bitmap bitmap;
+        try {
+            bitmap = fetchBitmap(url);
+        } catch (IOException e) {
+            Log.e(TAG, "Couldn't fetch gravatar from URL " + url, e);
+            return null;
+        }
+        if (bitmap != null) {
+            writeToDiskCache(diskCacheFile, bitmap);
+        }
+        return bitmap;
+    }
+
+    private static void writeToDiskCache(File file, Bitmap bitmap) {
+        if (!sDiskCacheDir.isDirectory() && !sDiskCacheDir.mkdirs()) {
+            return;
+        }
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tempFile)) {
+            bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+        } catch (IOException e) {
+            Log.d(TAG, "Couldn't write avatar to disk cache", e);
+            tempFile.delete();
+            return;
+        }
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+        }
+    }
+
+    private static void trimDiskCache() {
+        File[] files = sDiskCacheDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        long totalSize = 0;
+        for (File file : files) {
+            totalSize += file.length();
+        }
+        if (totalSize <= DISK_CACHE_MAX_SIZE) {
+            return;
+        }
+        Arrays.sort(files, (lhs, rhs) -> Long.compare(lhs.lastModified(), rhs.lastModified()));
+        for (File file : files) {
+            if (totalSize <= DISK_CACHE_MAX_SIZE / 2) {
+                break;
+            }
+            totalSize -= file.length();
+            file.delete();
+        }
     }
 
     private static Bitmap fetchBitmap(String url) throws IOException {
@@ -300,36 +369,6 @@ public class AvatarHandler {
         return scaled;
     }
 
-    private static void shutdownWorker() {
-        if (sWorkerThread != null) {
-            sWorkerThread.getLooper().quit();
-            sWorkerHandler = null;
-            sWorkerThread = null;
-        }
-    }
-
-    private static class WorkerHandler extends Handler {
-        public WorkerHandler(Looper looper) {
-            super(looper);
-        }
-
-        @Override
-        public void handleMessage(Message msg) {
-            switch (msg.what) {
-                case MSG_LOAD:
-                    String url = (String) msg.obj;
-                    Bitmap bitmap = null;
-                    try {
-                        bitmap = fetchBitmap(url);
-                    } catch (IOException e) {
-                        Log.e(TAG, "Couldn't fetch gravatar from URL " + url, e);
-                    }
-                    sHandler.obtainMessage(MSG_LOADED, msg.arg1, 0, bitmap).sendToTarget();
-                    break;
-            }
-        }
-    }
-
     public static class DefaultAvatarDrawable extends Drawable {
         private static final @ColorInt int[] COLOR_PALETTE = {
             0xffdb4437, 0xffe91e63, 0xff9c27b0, 0xff673ab7,
@@ -460,6 +499,10 @@ public class AvatarHandler {
         public boolean equals(Object obj) {
             return obj instanceof ImageViewDelegate && ((ImageViewDelegate) obj).mView == mView;
         }
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(mView);
+        }
     }
 
     private static class MenuItemDelegate implements ViewDelegate {
@@ -485,5 +528,9 @@ public class AvatarHandler {
         public boolean equals(Object obj) {
             return obj instanceof MenuItemDelegate && ((MenuItemDelegate) obj).mItem == mItem;
         }
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(mItem);
+        }
     }
 }
\ No newline at end of file
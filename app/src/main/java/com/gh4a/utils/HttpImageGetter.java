@@ -24,7 +24,6 @@ import android.graphics.Canvas;
 import android.graphics.Point;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
-import android.os.AsyncTask;
 import android.os.Handler;
 import android.text.Html.ImageGetter;
 import android.text.Spanned;
@@ -32,6 +31,7 @@ import android.text.TextUtils;
 import android.text.style.ImageSpan;
 import android.util.DisplayMetrics;
 import android.util.Log;
+import android.util.Pair;
 import android.view.View;
 import android.view.WindowManager;
 import android.widget.TextView;
@@ -42,24 +42,32 @@ import com.gh4a.R;
 import com.gh4a.ServiceFactory;
 import com.gh4a.fragment.SettingsFragment;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.ref.WeakReference;
 import java.net.URLConnection;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.graphics.drawable.DrawableWrapper;
+import androidx.collection.LruCache;
 import androidx.core.content.ContextCompat;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Okio;
 import pl.droidsonroids.gif.GifDrawable;
 
 public class HttpImageGetter {
@@ -116,10 +124,79 @@ public class HttpImageGetter {
         }
     }
 
-    // interface just used for tracking purposes
+    private static class CachedImage {
+        final Bitmap mBitmap;
+        int mRefCount;
+        boolean mRemovedFromCache;
+
+        public CachedImage(Bitmap bitmap) {
+            mBitmap = bitmap;
+        }
+    }
+
+    /**
+     * Process-wide cache of decoded images, shared by all getter instances.
+     * Bitmaps are only given back for reuse once they were evicted from the cache
+     * and no drawable is referencing them anymore.
+     */
+    private static class ImageCache extends LruCache<String, CachedImage> {
+        public ImageCache() {
+            // Use 1/8 of the available memory, in kB
+            super((int) (Runtime.getRuntime().maxMemory() / 1024 / 8));
+        }
+
+        @Override
+        protected int sizeOf(String key, CachedImage value) {
+            return value.mBitmap.getAllocationByteCount() / 1024;
+        }
+
+        @Override
+        protected void entryRemoved(boolean evicted, String key,
+                CachedImage oldValue, CachedImage newValue) {
+            synchronized (this) {
+                oldValue.mRemovedFromCache = true;
+                if (oldValue.mRefCount == 0) {
+                    releaseBitmap(oldValue.mBitmap);
+                }
+            }
+        }
+
+        synchronized CachedImage acquire(String key) {
+            CachedImage image = get(key);
+            if (image != null) {
+                image.mRefCount++;
+            }
+            return image;
+        }
+
+        synchronized CachedImage add(String key, Bitmap bitmap) {
+            CachedImage image = new CachedImage(bitmap);
+            image.mRefCount = 1;
+            put(key, image);
+            return image;
+        }
+
+        synchronized void release(CachedImage image) {
+            image.mRefCount--;
+            if (image.mRefCount == 0 && image.mRemovedFromCache) {
+                releaseBitmap(image.mBitmap);
+            }
+        }
+    }
+
     private static class LoadedBitmapDrawable extends BitmapDrawable {
-        public LoadedBitmapDrawable(Resources res, Bitmap bitmap) {
-            super(res, bitmap);
+        private CachedImage mImage;
+
+        public LoadedBitmapDrawable(Resources res, CachedImage image) {
+            super(res, image.mBitmap);
+            mImage = image;
+        }
+
+        public void release() {
+            if (mImage != null) {
+                sImageCache.release(mImage);
+                mImage = null;
+            }
         }
     }
 
@@ -157,50 +234,120 @@ public class HttpImageGetter {
     private class ObjectInfo implements ImageGetter {
         private final ArrayList<WeakReference<TextView>> mViewRefs = new ArrayList<>();
         private final List<GifInfo> mGifs = new ArrayList<>();
-        private final List<WeakReference<Bitmap>> mBitmaps = new ArrayList<>();
+        private final List<LoadedBitmapDrawable> mBitmapDrawables = new ArrayList<>();
 
+        // Held while encoding, so an object is never encoded on two threads at once
+        private final Object mEncodeLock = new Object();
+        // Latest encoding result, guarded by this
         private CharSequence mHtml;
-        private ImageGetterAsyncTask mTask;
+        // Encoding result shown by the views, images are loaded for its spans (main thread only)
+        private CharSequence mDisplayedHtml;
+        private final List<ImageLoadTask> mPendingTasks = new ArrayList<>();
         private boolean mHasStartedImageLoad;
-        private boolean mResumed = true;
+        private boolean mResumed = !mPaused;
 
         void bind(TextView view, String html) {
             addView(view);
 
-            if (mHtml == null) {
-                encode(view.getContext(), html);
+            CharSequence encoded = encodeIfNeeded(view.getContext(), html);
+            if (encoded != mDisplayedHtml) {
+                // Images loaded for a previous result belong to its spans, not to these
+                cancelImageLoad();
+                discardLoadedImages();
+                mDisplayedHtml = encoded;
             }
 
-            apply(mHtml);
+            apply(encoded);
 
             if (!mHasStartedImageLoad) {
-                ImageSpan[] spans = getImageSpans();
-                if (spans.length > 0) {
-                    ArrayList<PlaceholderDrawable> imagesToLoad = new ArrayList<>();
-                    for (ImageSpan span : spans) {
-                        Drawable d = span.getDrawable();
-                        if (d instanceof PlaceholderDrawable) {
-                            imagesToLoad.add((PlaceholderDrawable) d);
-                        }
-                    }
-                    mTask = new ImageGetterAsyncTask(HttpImageGetter.this, this);
-                    mTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR,
-                            imagesToLoad.toArray(new PlaceholderDrawable[0]));
+                startImageLoad();
+            } else {
+                // The view was just bound, so it's likely visible: load its images first
+                for (ImageLoadTask task : mPendingTasks) {
+                    task.prioritize();
                 }
-                mHasStartedImageLoad = true;
             }
         }
         void unbind(TextView view) {
             removeView(view);
+            if (mViewRefs.isEmpty()) {
+                cancelImageLoad();
+            }
+        }
+
+        void startImageLoad() {
+            if (!mResumed) {
+                // Loading is started once we're resumed
+                return;
+            }
+            for (ImageSpan span : getImageSpans()) {
+                Drawable d = span.getDrawable();
+                if (d instanceof PlaceholderDrawable) {
+                    ImageLoadTask task = new ImageLoadTask(HttpImageGetter.this,
+                            this, (PlaceholderDrawable) d);
+                    mPendingTasks.add(task);
+                    sImageLoadExecutor.execute(task);
+                }
+            }
+            mHasStartedImageLoad = true;
+        }
+
+        void cancelImageLoad() {
+            if (mPendingTasks.isEmpty()) {
+                return;
+            }
+            for (ImageLoadTask task : mPendingTasks) {
+                task.cancel();
+            }
+            mPendingTasks.clear();
+            // Make sure loading is resumed on next bind
+            mHasStartedImageLoad = false;
+        }
+
+        void onImageLoadTaskDone(ImageLoadTask task) {
+            if (mPendingTasks.remove(task) && mPendingTasks.isEmpty()) {
+                onImageLoadDone();
+            }
         }
 
         void encode(Context context, String html) {
-            CharSequence encoded = HtmlUtils.encode(context, html, this);
-            synchronized (this) {
-                mHtml = encoded;
+            synchronized (mEncodeLock) {
+                CharSequence encoded = HtmlUtils.encode(context, html, this);
+                synchronized (this) {
+                    mHtml = encoded;
+                }
             }
         }
 
+        CharSequence encodeIfNeeded(Context context, String html) {
+            synchronized (mEncodeLock) {
+                CharSequence encoded;
+                synchronized (this) {
+                    encoded = mHtml;
+                }
+                if (encoded == null) {
+                    encoded = HtmlUtils.encode(context, html, this);
+                    synchronized (this) {
+                        mHtml = encoded;
+                    }
+                }
+                return encoded;
+            }
+        }
+
+        synchronized int getEncodedLength() {
+            return mHtml != null ? mHtml.length() : 0;
+        }
+
+        boolean isBound() {
+            for (int i = 0; i < mViewRefs.size(); i++) {
+                if (mViewRefs.get(i).get() != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         void onImageLoadDone() {
             discardLoadedImages();
 
@@ -217,8 +364,7 @@ public class HttpImageGetter {
                     }
                     mGifs.add(new GifInfo(gd, mViewRefs));
                 } else if (d instanceof LoadedBitmapDrawable) {
-                    BitmapDrawable bd = (BitmapDrawable) d;
-                    mBitmaps.add(new WeakReference<>(bd.getBitmap()));
+                    mBitmapDrawables.add((LoadedBitmapDrawable) d);
                 }
             }
         }
@@ -234,6 +380,11 @@ public class HttpImageGetter {
 
         void setResumed(boolean resumed) {
             mResumed = resumed;
+            if (!resumed) {
+                cancelImageLoad();
+            } else if (!mHasStartedImageLoad && !mViewRefs.isEmpty()) {
+                startImageLoad();
+            }
             for (GifInfo info : mGifs) {
                 GifDrawable drawable = info.mDrawable.get();
                 if (drawable == null) {
@@ -249,21 +400,18 @@ public class HttpImageGetter {
 
         @NonNull
         private ImageSpan[] getImageSpans() {
-            if (TextUtils.isEmpty(mHtml)) {
+            if (TextUtils.isEmpty(mDisplayedHtml)) {
                 return new ImageSpan[0];
             }
-            Spanned spanned = (Spanned) mHtml;
+            Spanned spanned = (Spanned) mDisplayedHtml;
             return spanned.getSpans(0, spanned.length(), ImageSpan.class);
         }
 
         private void discardLoadedImages() {
-            for (WeakReference<Bitmap> ref : mBitmaps) {
-                Bitmap bitmap = ref.get();
-                if (bitmap != null) {
-                    bitmap.recycle();
-                }
+            for (LoadedBitmapDrawable drawable : mBitmapDrawables) {
+                drawable.release();
             }
-            mBitmaps.clear();
+            mBitmapDrawables.clear();
             for (GifInfo info : mGifs) {
                 info.destroy();
             }
@@ -272,11 +420,10 @@ public class HttpImageGetter {
         }
 
         void clearHtmlCache() {
-            if (mTask != null) {
-                mTask.cancel(true);
-                mTask = null;
+            cancelImageLoad();
+            synchronized (this) {
+                mHtml = null;
             }
-            mHtml = null;
             mHasStartedImageLoad = false;
         }
 
@@ -321,8 +468,29 @@ public class HttpImageGetter {
         }
     }
 
+    // Size of the part of the image stream kept around to re-read it after decoding its bounds
+    private static final int BOUNDS_MARK_LIMIT = 256 * 1024;
+    private static final int MAX_REUSABLE_BITMAP_BYTES = 8 * 1024 * 1024;
+    // Upper bound for the total length of encoded HTML kept for objects not bound to a view
+    private static final int MAX_ENCODED_HTML_LENGTH = 512 * 1024;
+
+    // Bitmaps of discarded images, which can be reused for decoding new ones
+    private static final List<Bitmap> sReusableBitmaps = new ArrayList<>();
+    private static final ImageCache sImageCache = new ImageCache();
+
+    private static final int IMAGE_LOAD_THREADS = 3;
+    private static final ThreadPoolExecutor sImageLoadExecutor = new ThreadPoolExecutor(
+            IMAGE_LOAD_THREADS, IMAGE_LOAD_THREADS, 10, TimeUnit.SECONDS,
+            new PriorityBlockingQueue<>(), runnable -> new Thread(runnable, "ImageLoader"));
+
+    static {
+        sImageLoadExecutor.allowCoreThreadTimeOut(true);
+    }
+
     private final Handler mHandler = new Handler();
-    private final Map<Object, ObjectInfo> mObjectInfos = new HashMap<>();
+    // Access ordered, so objects that weren't bound for the longest time are evicted first
+    private final LinkedHashMap<Object, ObjectInfo> mObjectInfos =
+            new LinkedHashMap<>(16, 0.75f, true);
     private final Drawable mGifPlaceholderDrawable;
     private final Drawable mLoadingDrawable;
     private final Drawable mErrorDrawable;
@@ -333,6 +501,7 @@ public class HttpImageGetter {
     private final int mMaxWidth;
     private final int mMaxHeight;
 
+    private boolean mPaused;
     private boolean mDestroyed;
 
     public HttpImageGetter(Context context) {
@@ -359,98 +528,234 @@ public class HttpImageGetter {
     }
 
     public void pause() {
-        for (ObjectInfo info : mObjectInfos.values()) {
-            info.setResumed(false);
+        mPaused = true;
+        synchronized (mObjectInfos) {
+            for (ObjectInfo info : mObjectInfos.values()) {
+                info.setResumed(false);
+            }
         }
     }
 
     public void resume() {
-        for (ObjectInfo info : mObjectInfos.values()) {
-            info.setResumed(true);
+        mPaused = false;
+        synchronized (mObjectInfos) {
+            for (ObjectInfo info : mObjectInfos.values()) {
+                info.setResumed(true);
+            }
         }
     }
 
     public void clearHtmlCache() {
-        for (ObjectInfo info : mObjectInfos.values()) {
-            info.clearHtmlCache();
+        synchronized (mObjectInfos) {
+            for (ObjectInfo info : mObjectInfos.values()) {
+                info.clearHtmlCache();
+            }
         }
     }
 
     public void destroy() {
-        for (ObjectInfo info : mObjectInfos.values()) {
-            info.discardLoadedImages();
+        synchronized (mObjectInfos) {
+            for (ObjectInfo info : mObjectInfos.values()) {
+                info.cancelImageLoad();
+                info.discardLoadedImages();
+            }
+            mObjectInfos.clear();
         }
-        mObjectInfos.clear();
         mDestroyed = true;
     }
 
+    /**
+     * Makes a key for objects whose HTML changes when they're edited, so a stale
+     * conversion isn't picked up after the object was updated.
+     */
+    public static Object makeKey(long id, Object version) {
+        return Pair.create(id, version);
+    }
+
     public void encode(final Context context, final Object id, final String html) {
         findOrCreateInfo(id).encode(context, html);
     }
 
+    /**
+     * Provides the HTML of a list of objects for {@link #preEncode(Context, HtmlSource, int)}.
+     */
+    public interface HtmlSource {
+        int getCount();
+        /**
+         * @return Key of the HTML of the object at the given position, or null if it has none
+         */
+        @Nullable
+        Object getKey(int position);
+        String getHtml(int position);
+    }
+
+    /**
+     * Converts the HTML for the objects around the given position unless it already was
+     * converted before. Meant to be called on a background thread ahead of binding the
+     * objects, so that binding doesn't need to do the conversion on the main thread.
+     *
+     * Objects nearest to the position are converted first, and conversion stops once the
+     * result fills the space kept for encoded HTML, as anything beyond that would be
+     * evicted again before being bound.
+     */
+    public void preEncode(final Context context, final HtmlSource source, final int position) {
+        final int count = source.getCount();
+        final int center = Math.max(0, Math.min(position, count));
+        final List<Object> encodedIds = new ArrayList<>();
+        int remainingLength = MAX_ENCODED_HTML_LENGTH;
+        for (int offset = 0; remainingLength > 0; offset++) {
+            int after = center + offset;
+            int before = center - offset - 1;
+            if (after >= count && before < 0) {
+                break;
+            }
+            if (after < count) {
+                remainingLength -= preEncode(context, source, after, encodedIds);
+            }
+            if (before >= 0 && remainingLength > 0) {
+                remainingLength -= preEncode(context, source, before, encodedIds);
+            }
+        }
+
+        // Mark the nearest objects as most recently used, so trimming evicts them last
+        synchronized (mObjectInfos) {
+            for (int i = encodedIds.size() - 1; i >= 0; i--) {
+                mObjectInfos.get(encodedIds.get(i));
+            }
+        }
+    }
+
+    private int preEncode(Context context, HtmlSource source, int position, List<Object> ids) {
+        Object id = source.getKey(position);
+        if (id == null) {
+            return 0;
+        }
+        ObjectInfo info = findOrCreateInfo(id);
+        info.encodeIfNeeded(context, source.getHtml(position));
+        ids.add(id);
+        return info.getEncodedLength();
+    }
+
     public void bind(final TextView view, final String html, final Object id) {
         unbind(view);
         findOrCreateInfo(id).bind(view, html);
+        trimEncodedHtml();
     }
 
     private void unbind(final TextView view) {
-        for (ObjectInfo info : mObjectInfos.values()) {
-            info.unbind(view);
+        synchronized (mObjectInfos) {
+            for (ObjectInfo info : mObjectInfos.values()) {
+                info.unbind(view);
+            }
         }
     }
 
     private ObjectInfo findOrCreateInfo(Object id) {
-        ObjectInfo info = mObjectInfos.get(id);
-        if (info == null) {
-            info = new ObjectInfo();
-            mObjectInfos.put(id, info);
+        synchronized (mObjectInfos) {
+            ObjectInfo info = mObjectInfos.get(id);
+            if (info == null) {
+                info = new ObjectInfo();
+                mObjectInfos.put(id, info);
+            }
+            return info;
         }
-        return info;
     }
 
-    private static class ImageGetterAsyncTask extends AsyncTask<PlaceholderDrawable, Void, Void> {
+    private void trimEncodedHtml() {
+        synchronized (mObjectInfos) {
+            int totalLength = 0;
+            for (ObjectInfo info : mObjectInfos.values()) {
+                totalLength += info.getEncodedLength();
+            }
+            Iterator<ObjectInfo> iter = mObjectInfos.values().iterator();
+            while (totalLength > MAX_ENCODED_HTML_LENGTH && iter.hasNext()) {
+                ObjectInfo info = iter.next();
+                if (info.isBound()) {
+                    continue;
+                }
+                totalLength -= info.getEncodedLength();
+                info.cancelImageLoad();
+                info.discardLoadedImages();
+                iter.remove();
+            }
+        }
+    }
+
+    private static class ImageLoadTask implements Runnable, Comparable<ImageLoadTask> {
+        private static final AtomicLong sSequence = new AtomicLong();
+
         private final HttpImageGetter mImageGetter;
         private final ObjectInfo mInfo;
+        private final PlaceholderDrawable mPlaceholder;
+        private volatile long mSequenceNumber;
+        private volatile boolean mCancelled;
 
-        public ImageGetterAsyncTask(HttpImageGetter getter, ObjectInfo info) {
+        public ImageLoadTask(HttpImageGetter getter, ObjectInfo info,
+                PlaceholderDrawable placeholder) {
             mImageGetter = getter;
             mInfo = info;
+            mPlaceholder = placeholder;
+            mSequenceNumber = sSequence.incrementAndGet();
+        }
+
+        void prioritize() {
+            // Re-insert into the queue to update the ordering, unless already running
+            if (sImageLoadExecutor.remove(this)) {
+                mSequenceNumber = sSequence.incrementAndGet();
+                sImageLoadExecutor.execute(this);
+            }
+        }
+
+        void cancel() {
+            mCancelled = true;
+            sImageLoadExecutor.remove(this);
         }
 
         @Override
-        protected Void doInBackground(PlaceholderDrawable... params) {
-            for (PlaceholderDrawable placeholder : params) {
-                Drawable drawable = mImageGetter.loadImageForUrl(placeholder.getUrl());
+        public void run() {
+            if (mCancelled) {
+                return;
+            }
+            Drawable drawable = mImageGetter.loadImageForUrl(mPlaceholder.getUrl());
+            mImageGetter.mHandler.post(() -> {
+                if (mCancelled) {
+                    if (drawable instanceof LoadedBitmapDrawable) {
+                        ((LoadedBitmapDrawable) drawable).release();
+                    }
+                    return;
+                }
                 if (drawable != null) {
-                    placeholder.addLoadedImage(drawable, mImageGetter.mHandler);
+                    mPlaceholder.addLoadedImage(drawable, mImageGetter.mHandler);
                 }
-            }
-            return null;
+                mImageGetter.mHandler.post(() -> mInfo.onImageLoadTaskDone(this));
+            });
         }
 
         @Override
-        protected void onPostExecute(Void result) {
-            if (!isCancelled()) {
-                mInfo.onImageLoadDone();
-            }
+        public int compareTo(ImageLoadTask other) {
+            // Most recently requested (or bound) images first
+            return Long.compare(other.mSequenceNumber, mSequenceNumber);
         }
     }
 
     private Drawable loadImageForUrl(String source) {
         HttpUrl url = source != null ? HttpUrl.parse(source) : null;
+        String cacheKey = source + "@" + mMaxWidth;
         Bitmap bitmap = null;
 
+        CachedImage cachedImage = !mDestroyed ? sImageCache.acquire(cacheKey) : null;
+        if (cachedImage != null) {
+            return createBitmapDrawable(cachedImage);
+        }
+
         if (!mDestroyed && url != null) {
-            Request request = new Request.Builder()
-                    .url(url)
-                    .build();
-            try (Response response = mClient.newCall(request).execute()) {
-                if (response.body() != null) {
-                    byte[] responseBody = response.body().bytes();
-                    // ByteArrayInputStream supports marking, which is required for
-                    // URLConnection.guessContentTypeFromStream to work
-                    InputStream is = new ByteArrayInputStream(responseBody);
-                    MediaType mediaType = response.body().contentType();
+            try (Response response = executeRequest(url)) {
+                ResponseBody body = response.body();
+                if (body != null) {
+                    // The buffered stream supports marking, which is required for
+                    // URLConnection.guessContentTypeFromStream and bounds decoding to work
+                    InputStream is = new BufferedInputStream(body.byteStream());
+                    MediaType mediaType = body.contentType();
                     String mime = mediaType != null ? mediaType.toString() : null;
                     if (mime == null) {
                         mime = URLConnection.guessContentTypeFromName(source);
@@ -464,14 +769,16 @@ public class HttpImageGetter {
                         boolean isGif = mime != null && mime.startsWith("image/gif");
                         if (isGif) {
                             if (canLoadGif()) {
-                                GifDrawable d = new GifDrawable(responseBody);
+                                // GifDrawable decodes frames lazily, so it needs the whole data
+                                GifDrawable d = new GifDrawable(Okio.buffer(Okio.source(is))
+                                        .readByteArray());
                                 d.setBounds(0, 0, d.getIntrinsicWidth(), d.getIntrinsicHeight());
                                 return d;
                             } else {
                                 return mGifPlaceholderDrawable;
                             }
                         } else {
-                            bitmap = getBitmap(responseBody);
+                            bitmap = getBitmap(url, is);
                         }
                     }
                 }
@@ -481,22 +788,34 @@ public class HttpImageGetter {
             }
         }
 
-        synchronized (this) {
-            if (mDestroyed && bitmap != null) {
-                bitmap.recycle();
-                bitmap = null;
-            }
-        }
-
         if (bitmap == null) {
             return mErrorDrawable;
         }
 
-        BitmapDrawable drawable = new LoadedBitmapDrawable(mContext.getResources(), bitmap);
-        drawable.setBounds(0, 0, bitmap.getWidth(), bitmap.getHeight());
+        CachedImage image = sImageCache.add(cacheKey, bitmap);
+        synchronized (this) {
+            if (mDestroyed) {
+                // Keep the image cached for other getters, but don't reference it anymore
+                sImageCache.release(image);
+                return mErrorDrawable;
+            }
+        }
+        return createBitmapDrawable(image);
+    }
+
+    private Drawable createBitmapDrawable(CachedImage image) {
+        BitmapDrawable drawable = new LoadedBitmapDrawable(mContext.getResources(), image);
+        drawable.setBounds(0, 0, image.mBitmap.getWidth(), image.mBitmap.getHeight());
         return drawable;
     }
 
+    private Response executeRequest(HttpUrl url) throws IOException {
+        Request request = new Request.Builder()
+                .url(url)
+                .build();
+        return mClient.newCall(request).execute();
+    }
+
     private boolean canLoadGif() {
         SharedPreferences prefs = mContext.getSharedPreferences(SettingsFragment.PREF_NAME,
                 Context.MODE_PRIVATE);
@@ -511,23 +830,95 @@ public class HttpImageGetter {
         }
     }
 
-    private Bitmap getBitmap(final byte[] image) {
+    private Bitmap getBitmap(HttpUrl url, InputStream is) throws IOException {
         final BitmapFactory.Options options = new BitmapFactory.Options();
         options.inJustDecodeBounds = true;
-        BitmapFactory.decodeByteArray(image, 0, image.length, options);
-
-        int scale = 1;
-        while (options.outWidth >= mMaxWidth) {
-            options.outWidth /= 2;
-            options.outHeight /= 2;
-            scale *= 2;
+        is.mark(BOUNDS_MARK_LIMIT);
+        BitmapFactory.decodeStream(is, null, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
         }
 
+        // Decode to the exact target size: subsample by the largest power of two
+        // keeping the image above the target width, and let the decoder scale the rest
+        int targetWidth = Math.min(options.outWidth, mMaxWidth - 1);
+        int targetHeight = (int) ((long) options.outHeight * targetWidth / options.outWidth);
+        int sampleSize = 1;
+        while (options.outWidth / (sampleSize * 2) >= targetWidth) {
+            sampleSize *= 2;
+        }
+        options.inSampleSize = sampleSize;
+        if (targetWidth != options.outWidth) {
+            options.inScaled = true;
+            options.inDensity = options.outWidth;
+            options.inTargetDensity = targetWidth * sampleSize;
+        }
         options.inJustDecodeBounds = false;
         options.inDither = false;
-        options.inSampleSize = scale;
+        options.inMutable = true;
+        options.inBitmap = obtainReusableBitmap(targetWidth, targetHeight);
 
-        return BitmapFactory.decodeByteArray(image, 0, image.length, options);
+        Bitmap bitmap = null;
+        try {
+            is.reset();
+            bitmap = BitmapFactory.decodeStream(is, null, options);
+        } catch (IOException | IllegalArgumentException e) {
+            // Either the image header was larger than the marked part of the stream,
+            // or the reused bitmap didn't fit. Decode again from the (now cached) response.
+            if (options.inBitmap != null) {
+                releaseBitmap(options.inBitmap);
+                options.inBitmap = null;
+            }
+            try (Response response = executeRequest(url)) {
+                ResponseBody body = response.body();
+                if (body != null) {
+                    bitmap = BitmapFactory.decodeStream(body.byteStream(), null, options);
+                }
+            }
+        }
+        if (bitmap == null && options.inBitmap != null) {
+            releaseBitmap(options.inBitmap);
+        } else if (bitmap != null) {
+            // Make sure BitmapDrawable doesn't apply any further scaling
+            bitmap.setDensity(mContext.getResources().getDisplayMetrics().densityDpi);
+        }
+        return bitmap;
+    }
+
+    private static Bitmap obtainReusableBitmap(int width, int height) {
+        // Leave some slack for rounding in the decoder's scaling
+        long neededBytes = (long) (width + 1) * (height + 1) * 4;
+        synchronized (sReusableBitmaps) {
+            Iterator<Bitmap> iter = sReusableBitmaps.iterator();
+            while (iter.hasNext()) {
+                Bitmap bitmap = iter.next();
+                if (bitmap.getConfig() == Bitmap.Config.ARGB_8888
+                        && bitmap.getAllocationByteCount() >= neededBytes) {
+                    iter.remove();
+                    return bitmap;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void releaseBitmap(Bitmap bitmap) {
+        if (bitmap.isRecycled()) {
+            return;
+        }
+        if (bitmap.isMutable()) {
+            synchronized (sReusableBitmaps) {
+                long totalBytes = bitmap.getAllocationByteCount();
+                for (Bitmap reusable : sReusableBitmaps) {
+                    totalBytes += reusable.getAllocationByteCount();
+                }
+                if (totalBytes <= MAX_REUSABLE_BITMAP_BYTES) {
+                    sReusableBitmaps.add(bitmap);
+                    return;
+                }
+            }
+        }
+        bitmap.recycle();
     }
 
     private Bitmap renderSvgToBitmap(Resources res, InputStream is) {
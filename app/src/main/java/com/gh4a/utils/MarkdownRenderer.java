@@ -0,0 +1,114 @@
+package com.gh4a.utils;
+
+import androidx.annotation.Nullable;
+import androidx.collection.LruCache;
+
+import org.commonmark.Extension;
+import org.commonmark.ext.autolink.AutolinkExtension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.task.list.items.TaskListItemsExtension;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.Heading;
+import org.commonmark.node.Node;
+import org.commonmark.node.Text;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.AttributeProvider;
+import org.commonmark.renderer.html.HtmlRenderer;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converts GitHub flavored Markdown into HTML, so web views only need to display the result.
+ *
+ * Parser and renderer are thread safe, so rendering can (and should) happen on a background
+ * thread. Rendered repository files are kept by their ETag, which identifies the content,
+ * so reopening a file or toggling the raw view doesn't parse it again.
+ */
+public class MarkdownRenderer {
+    private static final List<Extension> EXTENSIONS = Arrays.asList(
+            TablesExtension.create(),
+            StrikethroughExtension.create(),
+            AutolinkExtension.create(),
+            TaskListItemsExtension.create());
+
+    private static final Parser PARSER = Parser.builder()
+            .extensions(EXTENSIONS)
+            .build();
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder()
+            .extensions(EXTENSIONS)
+            .attributeProviderFactory(context -> new HeadingIdProvider())
+            .build();
+
+    // Limit is in characters of rendered HTML
+    private static final LruCache<String, String> sBlobCache =
+            new LruCache<String, String>(1024 * 1024) {
+        @Override
+        protected int sizeOf(String etag, String html) {
+            return html.length();
+        }
+    };
+
+    private MarkdownRenderer() {
+    }
+
+    public static String render(String markdown) {
+        return RENDERER.render(PARSER.parse(markdown));
+    }
+
+    /**
+     * Renders the content of a repository file.
+     *
+     * @param etag ETag the file was served with, used as cache key. If null, the result
+     *             isn't cached.
+     */
+    public static String renderBlob(@Nullable String etag, String markdown) {
+        String html = etag != null ? sBlobCache.get(etag) : null;
+        if (html == null) {
+            html = render(markdown);
+            if (etag != null) {
+                sBlobCache.put(etag, html);
+            }
+        }
+        return html;
+    }
+
+    // Adds GitHub compatible IDs to headings, so links to sections of the document work
+    private static class HeadingIdProvider implements AttributeProvider {
+        private final Set<String> mUsedIds = new HashSet<>();
+
+        @Override
+        public void setAttributes(Node node, String tagName, Map<String, String> attributes) {
+            if (!(node instanceof Heading)) {
+                return;
+            }
+            StringBuilder text = new StringBuilder();
+            node.accept(new AbstractVisitor() {
+                @Override
+                public void visit(Text textNode) {
+                    text.append(textNode.getLiteral());
+                }
+
+                @Override
+                public void visit(Code code) {
+                    text.append(code.getLiteral());
+                }
+            });
+
+            String baseId = text.toString().trim().toLowerCase(Locale.US)
+                    .replaceAll("[^\\p{L}\\p{N}\\s_-]", "")
+                    .replaceAll("\\s", "-");
+            String id = baseId;
+            for (int i = 1; !mUsedIds.add(id); i++) {
+                id = baseId + "-" + i;
+            }
+            attributes.put("id", id);
+        }
+    }
+}
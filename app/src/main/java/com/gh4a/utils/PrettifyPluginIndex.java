@@ -0,0 +1,157 @@
+package com.gh4a.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.res.AssetManager;
+import android.util.Log;
+
+import com.gh4a.BuildConfig;
+import com.gh4a.Gh4Application;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okio.BufferedSource;
+import okio.Okio;
+
+/**
+ * Knows which prettify language plugin handles which language code (usually a file
+ * extension), so code pages only need to include the plugin they actually use.
+ *
+ * The language codes are found by scanning the plugin scripts for their handler
+ * registrations. As that means reading all of them, the index is only built once per
+ * app version and stored in its own preferences file.
+ */
+public class PrettifyPluginIndex {
+    private static final String PLUGIN_FOLDER = "prettify-plugins";
+    private static final String PREF_NAME = "prettify_plugins";
+    private static final String KEY_VERSION = "version";
+    private static final String KEY_ENTRIES = "entries";
+
+    // The language list is the last argument of registerLangHandler()
+    private static final Pattern REGISTRATION_PATTERN =
+            Pattern.compile(",\\s*\\[((?:\\s*['\"][\\w+#.-]+['\"]\\s*,?)+)]\\s*\\)\\s*;");
+    private static final Pattern LANGUAGE_PATTERN = Pattern.compile("['\"]([\\w+#.-]+)['\"]");
+
+    // Languages handled by prettify's markup mode, which uses the CSS plugin for style elements
+    private static final Set<String> MARKUP_LANGUAGES = new HashSet<>(Arrays.asList(
+            "default-markup", "htm", "html", "mxml", "xhtml", "xml", "xsl"));
+
+    private static Map<String, String> sPluginsByLanguage;
+
+    private PrettifyPluginIndex() {
+    }
+
+    /**
+     * @return Asset paths (without extension) of the plugins needed for highlighting
+     *         the given language, which is empty for languages built into prettify
+     */
+    public static synchronized List<String> getPluginsForLanguage(Context context,
+            String language) {
+        Map<String, String> pluginsByLanguage = sPluginsByLanguage;
+        if (pluginsByLanguage == null) {
+            pluginsByLanguage = loadOrBuild(context.getApplicationContext());
+            if (pluginsByLanguage == null) {
+                // Don't keep the failure, so we retry next time
+                return new ArrayList<>();
+            }
+            sPluginsByLanguage = pluginsByLanguage;
+        }
+        return getPluginsForLanguage(pluginsByLanguage, language);
+    }
+
+    static List<String> getPluginsForLanguage(Map<String, String> pluginsByLanguage,
+            String language) {
+        List<String> result = new ArrayList<>();
+        String plugin = pluginsByLanguage.get(language);
+        if (plugin != null) {
+            result.add(plugin);
+        }
+        String cssPlugin = MARKUP_LANGUAGES.contains(language)
+                ? pluginsByLanguage.get("css") : null;
+        if (cssPlugin != null) {
+            result.add(cssPlugin);
+        }
+        return result;
+    }
+
+    /**
+     * @return Plugins by language, or null if the plugins could not be indexed
+     */
+    private static Map<String, String> loadOrBuild(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        Set<String> entries = prefs.getStringSet(KEY_ENTRIES, null);
+        if (entries != null && prefs.getInt(KEY_VERSION, -1) == BuildConfig.VERSION_CODE) {
+            Map<String, String> result = new HashMap<>();
+            for (String entry : entries) {
+                int separatorPos = entry.indexOf('=');
+                result.put(entry.substring(0, separatorPos), entry.substring(separatorPos + 1));
+            }
+            return result;
+        }
+
+        Map<String, String> result;
+        try {
+            result = build(context.getAssets());
+        } catch (IOException e) {
+            Log.w(Gh4Application.LOG_TAG, "Could not index prettify plugins", e);
+            return null;
+        }
+
+        entries = new HashSet<>();
+        for (Map.Entry<String, String> entry : result.entrySet()) {
+            entries.add(entry.getKey() + "=" + entry.getValue());
+        }
+        prefs.edit()
+                .putInt(KEY_VERSION, BuildConfig.VERSION_CODE)
+                .putStringSet(KEY_ENTRIES, entries)
+                .apply();
+        return result;
+    }
+
+    private static Map<String, String> build(AssetManager am) throws IOException {
+        Map<String, String> result = new HashMap<>();
+        String[] files = am.list(PLUGIN_FOLDER);
+        if (files == null) {
+            return result;
+        }
+        for (String fileName : files) {
+            if (!fileName.endsWith(".js")) {
+                continue;
+            }
+            String path = PLUGIN_FOLDER + "/" + fileName;
+            String plugin = path.substring(0, path.length() - 3);
+            try (BufferedSource source = Okio.buffer(Okio.source(am.open(path)))) {
+                addRegistrations(result, plugin, source.readUtf8());
+            }
+        }
+        return result;
+    }
+
+    static void addRegistrations(Map<String, String> pluginsByLanguage,
+            String plugin, String script) {
+        for (String language : findRegisteredLanguages(script)) {
+            pluginsByLanguage.put(language, plugin);
+        }
+    }
+
+    static List<String> findRegisteredLanguages(String script) {
+        List<String> result = new ArrayList<>();
+        Matcher registrationMatcher = REGISTRATION_PATTERN.matcher(script);
+        while (registrationMatcher.find()) {
+            Matcher languageMatcher = LANGUAGE_PATTERN.matcher(registrationMatcher.group(1));
+            while (languageMatcher.find()) {
+                result.add(languageMatcher.group(1));
+            }
+        }
+        return result;
+    }
+}
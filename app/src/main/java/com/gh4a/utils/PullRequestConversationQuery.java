@@ -0,0 +1,772 @@
+package com.gh4a.utils;
+
+import android.text.TextUtils;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.collection.LongSparseArray;
+
+import com.gh4a.model.Conversation;
+import com.gh4a.model.ConversationStream;
+import com.gh4a.model.GraphQlService;
+import com.meisolsson.githubsdk.core.ServiceGenerator;
+import com.meisolsson.githubsdk.model.GitHubComment;
+import com.meisolsson.githubsdk.model.IssueEvent;
+import com.meisolsson.githubsdk.model.Review;
+import com.meisolsson.githubsdk.model.ReviewComment;
+import com.meisolsson.githubsdk.model.ReviewState;
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonDataException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import io.reactivex.Observable;
+import io.reactivex.Single;
+
+/**
+ * Loads the conversation of a pull request via the GraphQL API.
+ *
+ * The REST API needs at least four paginated requests for that, plus another one per pending
+ * review. Here, the first query fetches the first page of all involved connections at once,
+ * and every further query fetches the next page of all connections which still have more
+ * pages, so the number of round trips only depends on the size of the largest connection.
+ *
+ * The GraphQL responses are converted into the JSON representation used by the REST API
+ * and parsed with the same adapters, so the result is identical to what the REST loader
+ * produces and the timeline code doesn't need to care about the data source.
+ */
+public class PullRequestConversationQuery {
+    private static final String TAG = "PRConversationQuery";
+
+    private static final int PAGE_SIZE = 100;
+    // Bounds the cost of a single query when many reviews have further comment pages
+    private static final int MAX_REVIEWS_PER_QUERY = 20;
+
+    private static final String ACTOR_FRAGMENT =
+            "fragment ActorFields on Actor { __typename login avatarUrl url"
+            + " ... on User { databaseId } ... on Bot { databaseId }"
+            + " ... on Organization { databaseId } ... on Mannequin { databaseId } }";
+    private static final String COMMIT_FRAGMENT =
+            "fragment CommitFields on Commit { oid repository { nameWithOwner } }";
+    private static final String COMMENT_FIELDS =
+            "fullDatabaseId url body bodyHTML createdAt updatedAt authorAssociation"
+            + " author { ...ActorFields } reactionGroups { content reactors { totalCount } }";
+    private static final String PAGE_INFO = "pageInfo { hasNextPage endCursor }";
+    private static final String ISSUE_COMMENT_PAGE_FRAGMENT =
+            "fragment IssueCommentPage on IssueCommentConnection { " + PAGE_INFO
+            + " nodes { " + COMMENT_FIELDS + " } }";
+    private static final String REVIEW_COMMENT_PAGE_FRAGMENT =
+            "fragment ReviewCommentPage on PullRequestReviewCommentConnection { " + PAGE_INFO
+            + " nodes { " + COMMENT_FIELDS + " path position originalPosition diffHunk"
+            + " commit { oid } originalCommit { oid } replyTo { fullDatabaseId } } }";
+    private static final String REVIEW_PAGE_FRAGMENT =
+            "fragment ReviewPage on PullRequestReviewConnection { " + PAGE_INFO
+            + " nodes { id fullDatabaseId url body bodyHTML state submittedAt authorAssociation"
+            + " author { ...ActorFields } commit { oid }"
+            + " comments(first: " + PAGE_SIZE + ") { ...ReviewCommentPage } } }";
+    private static final String EVENT_PAGE_FRAGMENT =
+            "fragment EventPage on PullRequestTimelineItemsConnection { " + PAGE_INFO
+            + " nodes { __typename ... on Node { id }"
+            + " ... on ClosedEvent { actor { ...ActorFields } createdAt stateReason"
+            + "   closer { ... on Commit { ...CommitFields } } }"
+            + " ... on ReopenedEvent { actor { ...ActorFields } createdAt }"
+            + " ... on MergedEvent { actor { ...ActorFields } createdAt commit { ...CommitFields } }"
+            + " ... on ReferencedEvent { actor { ...ActorFields } createdAt commit { ...CommitFields } }"
+            + " ... on AssignedEvent { actor { ...ActorFields } createdAt"
+            + "   assignee { ...ActorFields } }"
+            + " ... on UnassignedEvent { actor { ...ActorFields } createdAt"
+            + "   assignee { ...ActorFields } }"
+            + " ... on LabeledEvent { actor { ...ActorFields } createdAt label { name color } }"
+            + " ... on UnlabeledEvent { actor { ...ActorFields } createdAt label { name color } }"
+            + " ... on LockedEvent { actor { ...ActorFields } createdAt lockReason }"
+            + " ... on UnlockedEvent { actor { ...ActorFields } createdAt }"
+            + " ... on MilestonedEvent { actor { ...ActorFields } createdAt milestoneTitle }"
+            + " ... on DemilestonedEvent { actor { ...ActorFields } createdAt milestoneTitle }"
+            + " ... on RenamedTitleEvent { actor { ...ActorFields } createdAt"
+            + "   previousTitle currentTitle }"
+            + " ... on HeadRefDeletedEvent { actor { ...ActorFields } createdAt }"
+            + " ... on HeadRefRestoredEvent { actor { ...ActorFields } createdAt }"
+            + " ... on HeadRefForcePushedEvent { actor { ...ActorFields } createdAt }"
+            + " ... on CommentDeletedEvent { actor { ...ActorFields } createdAt }"
+            + " ... on ReviewRequestedEvent { actor { ...ActorFields } createdAt"
+            + "   requestedReviewer { __typename ...ActorFields ... on Team { name } } }"
+            + " ... on ReviewRequestRemovedEvent { actor { ...ActorFields } createdAt"
+            + "   requestedReviewer { __typename ...ActorFields ... on Team { name } } }"
+            + " ... on ConvertToDraftEvent { actor { ...ActorFields } createdAt }"
+            + " ... on ReadyForReviewEvent { actor { ...ActorFields } createdAt }"
+            + " ... on ReviewDismissedEvent { actor { ...ActorFields } createdAt"
+            + "   dismissalMessage previousReviewState review { fullDatabaseId }"
+            + "   pullRequestCommit { commit { oid } } }"
+            + " ... on CrossReferencedEvent { actor { ...ActorFields } createdAt"
+            + "   source { __typename"
+            + "     ... on Issue { fullDatabaseId number title url issueState: state"
+            + "       repository { nameWithOwner } }"
+            + "     ... on PullRequest { fullDatabaseId number title url pullRequestState: state"
+            + "       repository { nameWithOwner } } } } } }";
+
+    // Only request event types which are actually displayed in the timeline
+    private static final String EVENT_ITEM_TYPES = "[CLOSED_EVENT, REOPENED_EVENT, "
+            + "MERGED_EVENT, REFERENCED_EVENT, ASSIGNED_EVENT, UNASSIGNED_EVENT, LABELED_EVENT, "
+            + "UNLABELED_EVENT, LOCKED_EVENT, UNLOCKED_EVENT, MILESTONED_EVENT, "
+            + "DEMILESTONED_EVENT, RENAMED_TITLE_EVENT, HEAD_REF_DELETED_EVENT, "
+            + "HEAD_REF_RESTORED_EVENT, HEAD_REF_FORCE_PUSHED_EVENT, COMMENT_DELETED_EVENT, "
+            + "REVIEW_REQUESTED_EVENT, REVIEW_REQUEST_REMOVED_EVENT, CONVERT_TO_DRAFT_EVENT, "
+            + "READY_FOR_REVIEW_EVENT, REVIEW_DISMISSED_EVENT, CROSS_REFERENCED_EVENT]";
+
+    // GraphQL type name -> event name used by the REST API
+    private static final Map<String, String> EVENT_NAMES = new HashMap<>();
+    static {
+        EVENT_NAMES.put("ClosedEvent", "closed");
+        EVENT_NAMES.put("ReopenedEvent", "reopened");
+        EVENT_NAMES.put("MergedEvent", "merged");
+        EVENT_NAMES.put("ReferencedEvent", "referenced");
+        EVENT_NAMES.put("AssignedEvent", "assigned");
+        EVENT_NAMES.put("UnassignedEvent", "unassigned");
+        EVENT_NAMES.put("LabeledEvent", "labeled");
+        EVENT_NAMES.put("UnlabeledEvent", "unlabeled");
+        EVENT_NAMES.put("LockedEvent", "locked");
+        EVENT_NAMES.put("UnlockedEvent", "unlocked");
+        EVENT_NAMES.put("MilestonedEvent", "milestoned");
+        EVENT_NAMES.put("DemilestonedEvent", "demilestoned");
+        EVENT_NAMES.put("RenamedTitleEvent", "renamed");
+        EVENT_NAMES.put("HeadRefDeletedEvent", "head_ref_deleted");
+        EVENT_NAMES.put("HeadRefRestoredEvent", "head_ref_restored");
+        EVENT_NAMES.put("HeadRefForcePushedEvent", "head_ref_force_pushed");
+        EVENT_NAMES.put("CommentDeletedEvent", "comment_deleted");
+        EVENT_NAMES.put("ReviewRequestedEvent", "review_requested");
+        EVENT_NAMES.put("ReviewRequestRemovedEvent", "review_request_removed");
+        EVENT_NAMES.put("ConvertToDraftEvent", "convert_to_draft");
+        EVENT_NAMES.put("ReadyForReviewEvent", "ready_for_review");
+        EVENT_NAMES.put("ReviewDismissedEvent", "review_dismissed");
+        EVENT_NAMES.put("CrossReferencedEvent", "cross-referenced");
+    }
+
+    // GraphQL reaction content -> reaction key used by the REST API
+    private static final Map<String, String> REACTION_KEYS = new HashMap<>();
+    static {
+        REACTION_KEYS.put("THUMBS_UP", "+1");
+        REACTION_KEYS.put("THUMBS_DOWN", "-1");
+        REACTION_KEYS.put("LAUGH", "laugh");
+        REACTION_KEYS.put("HOORAY", "hooray");
+        REACTION_KEYS.put("CONFUSED", "confused");
+        REACTION_KEYS.put("HEART", "heart");
+        REACTION_KEYS.put("ROCKET", "rocket");
+        REACTION_KEYS.put("EYES", "eyes");
+    }
+
+    private static final Map<String, String> LOCK_REASONS = new HashMap<>();
+    static {
+        LOCK_REASONS.put("OFF_TOPIC", "off-topic");
+        LOCK_REASONS.put("TOO_HEATED", "too heated");
+        LOCK_REASONS.put("RESOLVED", "resolved");
+        LOCK_REASONS.put("SPAM", "spam");
+    }
+
+    private static final List<String> USER_TYPES = Arrays.asList("User", "Bot", "Organization");
+    private static final List<String> STATE_REASONS = Arrays.asList("COMPLETED", "NOT_PLANNED");
+
+    private final GraphQlService mService;
+    private final String mRepoOwner;
+    private final String mRepoName;
+    private final int mPullRequestNumber;
+
+    private final JsonAdapter<GitHubComment> mCommentAdapter =
+            ServiceGenerator.moshi.adapter(GitHubComment.class);
+    private final JsonAdapter<ReviewComment> mReviewCommentAdapter =
+            ServiceGenerator.moshi.adapter(ReviewComment.class);
+    private final JsonAdapter<Review> mReviewAdapter =
+            ServiceGenerator.moshi.adapter(Review.class);
+    private final JsonAdapter<IssueEvent> mEventAdapter =
+            ServiceGenerator.moshi.adapter(IssueEvent.class);
+
+    private String mPullRequestId;
+    private final Connection mCommentConnection = new Connection();
+    private final Connection mReviewConnection = new Connection();
+    private final Connection mEventConnection = new Connection();
+    // GraphQL node ID -> review, in the order delivered by the API
+    private final LinkedHashMap<String, ReviewData> mReviews = new LinkedHashMap<>();
+    // Reviews whose comments are requested by the query currently in flight, by alias index
+    private final List<ReviewData> mRequestedReviews = new ArrayList<>();
+
+    public static Single<Conversation> load(GraphQlService service,
+            String repoOwner, String repoName, int pullRequestNumber) {
+        return stream(service, repoOwner, repoName, pullRequestNumber).toConversation();
+    }
+
+    /**
+     * Like {@link #load}, but delivers the issue comments and events of every query as soon
+     * as it returns.
+     */
+    public static ConversationStream stream(GraphQlService service,
+            String repoOwner, String repoName, int pullRequestNumber) {
+        Observable<Batch> batches = Observable.defer(() -> new PullRequestConversationQuery(
+                service, repoOwner, repoName, pullRequestNumber).fetchBatches())
+                .cache();
+        return new ConversationStream(
+                batches.map(batch -> batch.issueComments),
+                batches.map(batch -> batch.events),
+                batches.lastOrError().map(batch -> batch.query.buildReviewData()));
+    }
+
+    private PullRequestConversationQuery(GraphQlService service,
+            String repoOwner, String repoName, int pullRequestNumber) {
+        mService = service;
+        mRepoOwner = repoOwner;
+        mRepoName = repoName;
+        mPullRequestNumber = pullRequestNumber;
+    }
+
+    private Observable<Batch> fetchBatches() {
+        return mService.query(buildRequest())
+                .map(ApiHelpers::throwOnFailure)
+                .toObservable()
+                .concatMap(response -> {
+                    Observable<Batch> batch = Observable.just(handleResponse(response));
+                    return hasMorePages()
+                            ? batch.concatWith(Observable.defer(this::fetchBatches))
+                            : batch;
+                });
+    }
+
+    private boolean hasMorePages() {
+        if (!mCommentConnection.complete || !mReviewConnection.complete
+                || !mEventConnection.complete) {
+            return true;
+        }
+        for (ReviewData review : mReviews.values()) {
+            if (!review.commentConnection.complete) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, Object> buildRequest() {
+        StringBuilder selection = new StringBuilder();
+        List<String> declarations = new ArrayList<>();
+        Map<String, Object> variables = new HashMap<>();
+        Set<String> fragments = new LinkedHashSet<>();
+
+        StringBuilder connections = new StringBuilder();
+        if (!mCommentConnection.complete) {
+            appendConnection(connections, "comments", "", "commentCursor",
+                    "IssueCommentPage", mCommentConnection, declarations, variables);
+            fragments.add(ISSUE_COMMENT_PAGE_FRAGMENT);
+        }
+        if (!mReviewConnection.complete) {
+            appendConnection(connections, "reviews", "", "reviewCursor",
+                    "ReviewPage", mReviewConnection, declarations, variables);
+            fragments.add(REVIEW_PAGE_FRAGMENT);
+            fragments.add(REVIEW_COMMENT_PAGE_FRAGMENT);
+        }
+        if (!mEventConnection.complete) {
+            appendConnection(connections, "timelineItems", ", itemTypes: " + EVENT_ITEM_TYPES,
+                    "eventCursor", "EventPage", mEventConnection, declarations, variables);
+            fragments.add(EVENT_PAGE_FRAGMENT);
+            fragments.add(COMMIT_FRAGMENT);
+        }
+
+        if (mPullRequestId == null) {
+            declarations.add("$owner: String!");
+            declarations.add("$name: String!");
+            declarations.add("$number: Int!");
+            variables.put("owner", mRepoOwner);
+            variables.put("name", mRepoName);
+            variables.put("number", mPullRequestNumber);
+            selection.append("repository(owner: $owner, name: $name) {"
+                    + " pullRequest(number: $number) { id ").append(connections).append("} } ");
+        } else if (connections.length() > 0) {
+            declarations.add("$pullRequestId: ID!");
+            variables.put("pullRequestId", mPullRequestId);
+            selection.append("pullRequest: node(id: $pullRequestId) { ... on PullRequest { ")
+                    .append(connections).append("} } ");
+        }
+
+        mRequestedReviews.clear();
+        for (ReviewData review : mReviews.values()) {
+            if (mRequestedReviews.size() >= MAX_REVIEWS_PER_QUERY) {
+                break;
+            }
+            if (review.commentConnection.complete) {
+                continue;
+            }
+            int index = mRequestedReviews.size();
+            declarations.add("$review" + index + ": ID!");
+            variables.put("review" + index, review.nodeId);
+            selection.append("review").append(index)
+                    .append(": node(id: $review").append(index).append(") {")
+                    .append(" ... on PullRequestReview { ");
+            appendConnection(selection, "comments", "", "review" + index + "Cursor",
+                    "ReviewCommentPage", review.commentConnection, declarations, variables);
+            selection.append("} } ");
+            mRequestedReviews.add(review);
+            fragments.add(REVIEW_COMMENT_PAGE_FRAGMENT);
+        }
+        fragments.add(ACTOR_FRAGMENT);
+
+        StringBuilder query = new StringBuilder("query(")
+                .append(TextUtils.join(declarations, ", "))
+                .append(") { ")
+                .append(selection)
+                .append("}");
+        for (String fragment : fragments) {
+            query.append("\n").append(fragment);
+        }
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("query", query.toString());
+        request.put("variables", variables);
+        return request;
+    }
+
+    private static void appendConnection(StringBuilder sb, String field, String extraArguments,
+            String cursorVariable, String fragment, Connection connection,
+            List<String> declarations, Map<String, Object> variables) {
+        sb.append(field).append("(first: ").append(PAGE_SIZE)
+                .append(", after: $").append(cursorVariable).append(extraArguments)
+                .append(") { ...").append(fragment).append(" } ");
+        declarations.add("$" + cursorVariable + ": String");
+        variables.put(cursorVariable, connection.cursor);
+    }
+
+    private Batch handleResponse(Map<String, Object> response) {
+        List<Map<String, Object>> errors = getList(response, "errors");
+        if (errors != null && !errors.isEmpty()) {
+            List<String> messages = new ArrayList<>();
+            for (Map<String, Object> error : errors) {
+                messages.add(String.valueOf(error.get("message")));
+            }
+            throw new QueryException(TextUtils.join(messages, ", "));
+        }
+
+        Map<String, Object> data = getMap(response, "data");
+        if (data == null) {
+            throw new QueryException("Response without data");
+        }
+
+        final Map<String, Object> pullRequest;
+        if (mPullRequestId == null) {
+            pullRequest = getMap(getMap(data, "repository"), "pullRequest");
+            if (pullRequest == null) {
+                throw new QueryException("Pull request " + mRepoOwner + "/" + mRepoName
+                        + "#" + mPullRequestNumber + " not found");
+            }
+            mPullRequestId = (String) pullRequest.get("id");
+        } else {
+            pullRequest = getMap(data, "pullRequest");
+        }
+
+        Batch batch = new Batch(this);
+        if (pullRequest != null) {
+            Map<String, Object> commentPage = getMap(pullRequest, "comments");
+            if (commentPage != null) {
+                for (Map<String, Object> node : getNodes(commentPage)) {
+                    batch.issueComments.add(mCommentAdapter.fromJsonValue(convertComment(node)));
+                }
+                mCommentConnection.update(commentPage);
+            }
+            Map<String, Object> reviewPage = getMap(pullRequest, "reviews");
+            if (reviewPage != null) {
+                for (Map<String, Object> node : getNodes(reviewPage)) {
+                    handleReview(node);
+                }
+                mReviewConnection.update(reviewPage);
+            }
+            Map<String, Object> eventPage = getMap(pullRequest, "timelineItems");
+            if (eventPage != null) {
+                for (Map<String, Object> node : getNodes(eventPage)) {
+                    IssueEvent event = convertEvent(node);
+                    if (event != null) {
+                        batch.events.add(event);
+                    }
+                }
+                mEventConnection.update(eventPage);
+            }
+        }
+
+        for (int i = 0; i < mRequestedReviews.size(); i++) {
+            Map<String, Object> reviewCommentPage =
+                    getMap(getMap(data, "review" + i), "comments");
+            if (reviewCommentPage == null) {
+                throw new QueryException("Missing comments of review " + i);
+            }
+            handleReviewCommentPage(mRequestedReviews.get(i), reviewCommentPage);
+        }
+        return batch;
+    }
+
+    private void handleReview(Map<String, Object> node) {
+        Review review = mReviewAdapter.fromJsonValue(convertReview(node));
+        ReviewData data = new ReviewData((String) node.get("id"), review);
+        mReviews.put(data.nodeId, data);
+
+        Map<String, Object> commentPage = getMap(node, "comments");
+        if (commentPage != null) {
+            handleReviewCommentPage(data, commentPage);
+        } else {
+            data.commentConnection.complete = true;
+        }
+    }
+
+    private void handleReviewCommentPage(ReviewData review, Map<String, Object> page) {
+        for (Map<String, Object> node : getNodes(page)) {
+            Map<String, Object> comment = convertReviewComment(node);
+            put(comment, "pull_request_review_id", review.review.id());
+            review.comments.add(mReviewCommentAdapter.fromJsonValue(comment));
+        }
+        review.commentConnection.update(page);
+    }
+
+    @Nullable
+    private IssueEvent convertEvent(Map<String, Object> node) {
+        Map<String, Object> event = convertEventJson(node);
+        if (event == null) {
+            return null;
+        }
+        try {
+            return mEventAdapter.fromJsonValue(event);
+        } catch (JsonDataException e) {
+            // Missing an event isn't worth failing the whole conversation for
+            Log.w(TAG, "Could not convert event " + node.get("__typename"), e);
+            return null;
+        }
+    }
+
+    // Only contains the reviews, as comments and events are delivered by the batches
+    private Conversation buildReviewData() {
+        List<Review> reviews = new ArrayList<>();
+        List<ReviewComment> reviewComments = new ArrayList<>();
+        LongSparseArray<List<ReviewComment>> pendingReviewCommentsById = new LongSparseArray<>();
+        for (ReviewData data : mReviews.values()) {
+            reviews.add(data.review);
+            if (data.pending) {
+                pendingReviewCommentsById.put(data.review.id(), data.comments);
+            } else {
+                reviewComments.addAll(data.comments);
+            }
+        }
+        Collections.sort(reviewComments, ApiHelpers.COMMENT_COMPARATOR);
+        return new Conversation(Collections.emptyList(), Collections.emptyList(), reviews,
+                reviewComments, pendingReviewCommentsById);
+    }
+
+    private static Map<String, Object> convertComment(Map<String, Object> node) {
+        Map<String, Object> comment = new HashMap<>();
+        put(comment, "id", parseDatabaseId(node.get("fullDatabaseId")));
+        put(comment, "html_url", node.get("url"));
+        put(comment, "body", node.get("body"));
+        put(comment, "body_html", node.get("bodyHTML"));
+        put(comment, "created_at", node.get("createdAt"));
+        put(comment, "updated_at", node.get("updatedAt"));
+        put(comment, "author_association", node.get("authorAssociation"));
+        put(comment, "user", convertUser(getMap(node, "author")));
+        put(comment, "reactions", convertReactions(getList(node, "reactionGroups")));
+        return comment;
+    }
+
+    private Map<String, Object> convertReviewComment(Map<String, Object> node) {
+        Map<String, Object> comment = convertComment(node);
+        put(comment, "path", node.get("path"));
+        put(comment, "position", node.get("position"));
+        put(comment, "original_position", node.get("originalPosition"));
+        put(comment, "diff_hunk", node.get("diffHunk"));
+        put(comment, "commit_id", getString(getMap(node, "commit"), "oid"));
+        put(comment, "original_commit_id", getString(getMap(node, "originalCommit"), "oid"));
+        put(comment, "in_reply_to_id",
+                parseDatabaseId(getString(getMap(node, "replyTo"), "fullDatabaseId")));
+        put(comment, "pull_request_url", "https://api.github.com/repos/"
+                + mRepoOwner + "/" + mRepoName + "/pulls/" + mPullRequestNumber);
+        return comment;
+    }
+
+    private static Map<String, Object> convertReview(Map<String, Object> node) {
+        Map<String, Object> review = new HashMap<>();
+        put(review, "id", parseDatabaseId(node.get("fullDatabaseId")));
+        put(review, "html_url", node.get("url"));
+        put(review, "body", node.get("body"));
+        put(review, "body_html", node.get("bodyHTML"));
+        put(review, "state", node.get("state"));
+        put(review, "submitted_at", node.get("submittedAt"));
+        put(review, "author_association", node.get("authorAssociation"));
+        put(review, "commit_id", getString(getMap(node, "commit"), "oid"));
+        put(review, "user", convertUser(getMap(node, "author")));
+        return review;
+    }
+
+    @Nullable
+    private static Map<String, Object> convertEventJson(Map<String, Object> node) {
+        String type = (String) node.get("__typename");
+        String eventName = EVENT_NAMES.get(type);
+        if (eventName == null) {
+            return null;
+        }
+
+        Map<String, Object> event = new HashMap<>();
+        String nodeId = (String) node.get("id");
+        // Most events don't have a database ID in GraphQL, derive a stable one from the node ID
+        put(event, "id", nodeId != null ? makeEventId(nodeId) : null);
+        put(event, "event", eventName);
+        put(event, "actor", convertUser(getMap(node, "actor")));
+        put(event, "created_at", node.get("createdAt"));
+
+        switch (type) {
+            case "ClosedEvent": {
+                String stateReason = (String) node.get("stateReason");
+                if (STATE_REASONS.contains(stateReason)) {
+                    put(event, "state_reason", stateReason.toLowerCase(Locale.US));
+                }
+                putCommit(event, getMap(node, "closer"));
+                break;
+            }
+            case "MergedEvent":
+            case "ReferencedEvent":
+                putCommit(event, getMap(node, "commit"));
+                break;
+            case "AssignedEvent":
+            case "UnassignedEvent":
+                put(event, "assignee", convertUser(getMap(node, "assignee")));
+                break;
+            case "LabeledEvent":
+            case "UnlabeledEvent":
+                put(event, "label", getMap(node, "label"));
+                break;
+            case "LockedEvent":
+                put(event, "lock_reason", LOCK_REASONS.get(node.get("lockReason")));
+                break;
+            case "MilestonedEvent":
+            case "DemilestonedEvent":
+                put(event, "milestone",
+                        Collections.singletonMap("title", node.get("milestoneTitle")));
+                break;
+            case "RenamedTitleEvent": {
+                Map<String, Object> rename = new HashMap<>();
+                put(rename, "from", node.get("previousTitle"));
+                put(rename, "to", node.get("currentTitle"));
+                put(event, "rename", rename);
+                break;
+            }
+            case "ReviewRequestedEvent":
+            case "ReviewRequestRemovedEvent": {
+                Map<String, Object> reviewer = getMap(node, "requestedReviewer");
+                put(event, "review_requester", event.get("actor"));
+                if (reviewer != null && "Team".equals(reviewer.get("__typename"))) {
+                    put(event, "requested_team",
+                            Collections.singletonMap("name", reviewer.get("name")));
+                } else {
+                    put(event, "requested_reviewer", convertUser(reviewer));
+                }
+                break;
+            }
+            case "ReviewDismissedEvent": {
+                Map<String, Object> dismissedReview = new HashMap<>();
+                put(dismissedReview, "state", node.get("previousReviewState"));
+                put(dismissedReview, "review_id",
+                        parseDatabaseId(getString(getMap(node, "review"), "fullDatabaseId")));
+                put(dismissedReview, "dismissal_message", node.get("dismissalMessage"));
+                put(dismissedReview, "dismissal_commit_id",
+                        getString(getMap(getMap(node, "pullRequestCommit"), "commit"), "oid"));
+                put(event, "dismissed_review", dismissedReview);
+                break;
+            }
+            case "CrossReferencedEvent": {
+                Map<String, Object> issue = convertReferenceSource(getMap(node, "source"));
+                if (issue == null) {
+                    return null;
+                }
+                Map<String, Object> source = new HashMap<>();
+                put(source, "type", "issue");
+                put(source, "issue", issue);
+                put(event, "source", source);
+                break;
+            }
+        }
+        return event;
+    }
+
+    private static void putCommit(Map<String, Object> event, Map<String, Object> commit) {
+        String oid = getString(commit, "oid");
+        if (oid == null) {
+            return;
+        }
+        put(event, "commit_id", oid);
+        String repoName = getString(getMap(commit, "repository"), "nameWithOwner");
+        if (repoName != null) {
+            // The event view extracts the commit's repository from the API URL
+            put(event, "commit_url",
+                    "https://api.github.com/repos/" + repoName + "/commits/" + oid);
+        }
+    }
+
+    @Nullable
+    private static Map<String, Object> convertReferenceSource(Map<String, Object> source) {
+        String repoName = getString(getMap(source, "repository"), "nameWithOwner");
+        if (repoName == null) {
+            return null;
+        }
+        boolean isPullRequest = "PullRequest".equals(source.get("__typename"));
+        Object number = source.get("number");
+        String state = (String) source.get(isPullRequest ? "pullRequestState" : "issueState");
+        String apiUrl = "https://api.github.com/repos/" + repoName + "/issues/"
+                + (number instanceof Number ? ((Number) number).intValue() : number);
+
+        Map<String, Object> issue = new HashMap<>();
+        put(issue, "id", parseDatabaseId(source.get("fullDatabaseId")));
+        put(issue, "number", number);
+        put(issue, "title", source.get("title"));
+        put(issue, "html_url", source.get("url"));
+        put(issue, "url", apiUrl);
+        put(issue, "state", "OPEN".equals(state) ? "open" : "closed");
+        if (isPullRequest) {
+            put(issue, "pull_request", Collections.singletonMap("html_url", source.get("url")));
+        }
+        return issue;
+    }
+
+    @Nullable
+    private static Map<String, Object> convertUser(@Nullable Map<String, Object> actor) {
+        if (actor == null) {
+            return null;
+        }
+        Map<String, Object> user = new HashMap<>();
+        put(user, "id", actor.get("databaseId"));
+        put(user, "login", actor.get("login"));
+        put(user, "avatar_url", actor.get("avatarUrl"));
+        put(user, "html_url", actor.get("url"));
+        Object type = actor.get("__typename");
+        if (USER_TYPES.contains(type)) {
+            put(user, "type", type);
+        }
+        return user;
+    }
+
+    private static Map<String, Object> convertReactions(
+            @Nullable List<Map<String, Object>> reactionGroups) {
+        Map<String, Object> reactions = new HashMap<>();
+        for (String key : REACTION_KEYS.values()) {
+            reactions.put(key, 0);
+        }
+        int totalCount = 0;
+        if (reactionGroups != null) {
+            for (Map<String, Object> group : reactionGroups) {
+                String key = REACTION_KEYS.get(group.get("content"));
+                Object count = getMap(group, "reactors") != null
+                        ? getMap(group, "reactors").get("totalCount") : null;
+                if (key != null && count instanceof Number) {
+                    reactions.put(key, ((Number) count).intValue());
+                    totalCount += ((Number) count).intValue();
+                }
+            }
+        }
+        reactions.put("total_count", totalCount);
+        return reactions;
+    }
+
+    // Database IDs exceed the range of GraphQL's Int type, so they're queried as BigInt,
+    // which is serialized as string
+    @Nullable
+    private static Long parseDatabaseId(@Nullable Object id) {
+        if (id instanceof Number) {
+            return ((Number) id).longValue();
+        }
+        try {
+            return id != null ? Long.parseLong(id.toString()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 64 bit FNV-1a hash, so IDs don't collide even in long timelines
+    private static long makeEventId(String nodeId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < nodeId.length(); i++) {
+            hash ^= nodeId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // Negative IDs are reserved for the adapters' header and footer items
+        return hash & Long.MAX_VALUE;
+    }
+
+    // Omits null values, so absent fields fall back to the adapters' defaults
+    private static void put(Map<String, Object> map, String key, @Nullable Object value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getMap(@Nullable Map<String, Object> map, String key) {
+        Object value = map != null ? map.get(key) : null;
+        return value instanceof Map ? (Map<String, Object>) value : null;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> getList(@Nullable Map<String, Object> map,
+            String key) {
+        Object value = map != null ? map.get(key) : null;
+        return value instanceof List ? (List<Map<String, Object>>) value : null;
+    }
+
+    @Nullable
+    private static String getString(@Nullable Map<String, Object> map, String key) {
+        Object value = map != null ? map.get(key) : null;
+        return value instanceof String ? (String) value : null;
+    }
+
+    private static List<Map<String, Object>> getNodes(Map<String, Object> page) {
+        List<Map<String, Object>> nodes = getList(page, "nodes");
+        return nodes != null ? nodes : Collections.emptyList();
+    }
+
+    private static class Connection {
+        String cursor;
+        boolean complete;
+
+        void update(Map<String, Object> page) {
+            Map<String, Object> pageInfo = getMap(page, "pageInfo");
+            complete = pageInfo == null || !Boolean.TRUE.equals(pageInfo.get("hasNextPage"));
+            cursor = getString(pageInfo, "endCursor");
+        }
+    }
+
+    private static class ReviewData {
+        final String nodeId;
+        final Review review;
+        final boolean pending;
+        final List<ReviewComment> comments = new ArrayList<>();
+        final Connection commentConnection = new Connection();
+
+        ReviewData(String nodeId, Review review) {
+            this.nodeId = nodeId;
+            this.review = review;
+            this.pending = review.state() == ReviewState.Pending;
+        }
+    }
+
+    // Result of a single query
+    private static class Batch {
+        final PullRequestConversationQuery query;
+        final List<GitHubComment> issueComments = new ArrayList<>();
+        final List<IssueEvent> events = new ArrayList<>();
+
+        Batch(PullRequestConversationQuery query) {
+            this.query = query;
+        }
+    }
+
+    public static class QueryException extends RuntimeException {
+        public QueryException(String message) {
+            super(message);
+        }
+    }
+}
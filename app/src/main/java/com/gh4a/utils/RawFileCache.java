@@ -0,0 +1,231 @@
+package com.gh4a.utils;
+
+import android.content.Context;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.gh4a.Gh4Application;
+import com.gh4a.ServiceFactory;
+import com.gh4a.model.RawContentService;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.reactivex.Single;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Okio;
+import retrofit2.Response;
+
+/**
+ * Size bounded disk cache for repository files, as displayed by the file viewer.
+ *
+ * Files are fetched with the raw media type and streamed into the cache directory, so
+ * neither the Base64 encoded JSON representation nor the whole download need to be kept
+ * in memory. Every file is stored together with its ETag, which is sent as If-None-Match
+ * when fetching the same file again.
+ */
+public class RawFileCache {
+    private static final String TAG = "RawFileCache";
+    private static final String DIRECTORY = "file-contents";
+    private static final String ETAG_SUFFIX = ".etag";
+    private static final long MAX_SIZE = 50 * 1024 * 1024;
+
+    // Files larger than this are decoded from a memory mapping rather than via a stream,
+    // which avoids having a copy of the raw bytes on the heap
+    private static final long MAP_THRESHOLD = 256 * 1024;
+
+    private RawFileCache() {
+    }
+
+    /**
+     * Fetches a file, unless it's stored already and didn't change in the meantime.
+     *
+     * @param maxSize Maximum file size in bytes. For files exceeding it, the download
+     *                is aborted and absent is returned.
+     */
+    public static Single<Optional<CachedFile>> fetch(Context context, String owner,
+            String repo, String path, @Nullable String ref, long maxSize, boolean bypassCache) {
+        File directory = new File(context.getApplicationContext().getCacheDir(), DIRECTORY);
+        String key = makeKey(owner, repo, path, ref);
+        RawContentService service = ServiceFactory.get(RawContentService.class, bypassCache);
+
+        return Single.defer(() -> {
+            CachedFile stored = readStored(directory, key);
+            String etag = stored != null ? stored.getETag() : null;
+            return service.getRawContents(owner, repo, Uri.encode(path, "/"), ref, etag)
+                    .map(response -> {
+                        if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED
+                                && stored != null) {
+                            // Refresh position in LRU order
+                            stored.getFile().setLastModified(System.currentTimeMillis());
+                            return Optional.of(stored);
+                        }
+                        return store(directory, key, response, maxSize);
+                    });
+        });
+    }
+
+    private static Optional<CachedFile> store(File directory, String key,
+            Response<ResponseBody> response, long maxSize) throws IOException {
+        try (ResponseBody body = ApiHelpers.throwOnFailure(response)) {
+            if (body.contentLength() > maxSize) {
+                return Optional.absent();
+            }
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Could not create " + directory);
+            }
+
+            File tempFile = File.createTempFile(key, ".tmp", directory);
+            try {
+                long size = 0;
+                try (BufferedSink sink = Okio.buffer(Okio.sink(tempFile))) {
+                    BufferedSource source = body.source();
+                    long read;
+                    while ((read = source.read(sink.buffer(), 8192)) != -1) {
+                        size += read;
+                        if (size > maxSize) {
+                            // Missing or wrong Content-Length
+                            return Optional.absent();
+                        }
+                        sink.emitCompleteSegments();
+                    }
+                }
+
+                File file = new File(directory, key);
+                File etagFile = new File(directory, key + ETAG_SUFFIX);
+                String etag = response.headers().get("ETag");
+                etagFile.delete();
+                if (!tempFile.renameTo(file)) {
+                    throw new IOException("Could not store " + file);
+                }
+                if (etag != null) {
+                    try (BufferedSink sink = Okio.buffer(Okio.sink(etagFile))) {
+                        sink.writeUtf8(etag);
+                    }
+                }
+                trimToSize(directory, file);
+                return Optional.of(new CachedFile(file, etag));
+            } finally {
+                tempFile.delete();
+            }
+        }
+    }
+
+    @Nullable
+    private static CachedFile readStored(File directory, String key) {
+        File file = new File(directory, key);
+        File etagFile = new File(directory, key + ETAG_SUFFIX);
+        if (!file.exists() || !etagFile.exists()) {
+            return null;
+        }
+        try (BufferedSource source = Okio.buffer(Okio.source(etagFile))) {
+            return new CachedFile(file, source.readUtf8());
+        } catch (IOException e) {
+            Log.d(TAG, "Could not read ETag of " + key, e);
+            return null;
+        }
+    }
+
+    private static synchronized void trimToSize(File directory, File keptFile) {
+        File[] files = directory.listFiles(
+                (dir, name) -> !name.endsWith(ETAG_SUFFIX) && !name.endsWith(".tmp"));
+        if (files == null) {
+            return;
+        }
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        if (size <= MAX_SIZE) {
+            return;
+        }
+
+        List<File> filesByAge = new ArrayList<>(Arrays.asList(files));
+        Collections.sort(filesByAge,
+                (lhs, rhs) -> Long.compare(lhs.lastModified(), rhs.lastModified()));
+        for (File file : filesByAge) {
+            if (size <= MAX_SIZE) {
+                break;
+            }
+            if (file.equals(keptFile)) {
+                continue;
+            }
+            size -= file.length();
+            new File(directory, file.getName() + ETAG_SUFFIX).delete();
+            file.delete();
+        }
+    }
+
+    private static String makeKey(String owner, String repo, String path, @Nullable String ref) {
+        // Include the credentials, so different accounts don't see each other's files
+        String token = Gh4Application.get().getAuthToken();
+        return ByteString.encodeUtf8(owner + "/" + repo + "/" + path
+                + "\n" + (ref != null ? ref : "")
+                + "\n" + (token != null ? token : ""))
+                .sha256()
+                .hex();
+    }
+
+    public static class CachedFile {
+        private final File mFile;
+        private final String mETag;
+
+        private CachedFile(File file, @Nullable String etag) {
+            mFile = file;
+            mETag = etag;
+        }
+
+        public File getFile() {
+            return mFile;
+        }
+
+        /**
+         * @return ETag the file was served with, which identifies its contents
+         */
+        @Nullable
+        public String getETag() {
+            return mETag;
+        }
+
+        /**
+         * Decodes the file as UTF-8 text. Should be called on a background thread.
+         */
+        public String readText() throws IOException {
+            if (mFile.length() < MAP_THRESHOLD) {
+                try (BufferedSource source = Okio.buffer(Okio.source(mFile))) {
+                    return source.readUtf8();
+                }
+            }
+            try (FileInputStream in = new FileInputStream(mFile);
+                    FileChannel channel = in.getChannel()) {
+                MappedByteBuffer buffer =
+                        channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return StandardCharsets.UTF_8.decode(buffer).toString();
+            }
+        }
+
+        /**
+         * @return File contents as Base64, e.g. for use in a data URL. Should be called
+         * on a background thread.
+         */
+        public String readBase64() throws IOException {
+            try (BufferedSource source = Okio.buffer(Okio.source(mFile))) {
+                return source.readByteString().base64();
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.gh4a.utils;
+
+import androidx.annotation.NonNull;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Completable;
+import io.reactivex.CompletableObserver;
+import io.reactivex.CompletableSource;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.Maybe;
+import io.reactivex.MaybeObserver;
+import io.reactivex.MaybeSource;
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import io.reactivex.SingleSource;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.internal.fuseable.ScalarCallable;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Attributes errors of Rx chains to the code which assembled them.
+ *
+ * Errors surfacing in an Rx chain usually only carry a stack trace of the scheduler thread
+ * they were thrown on, which doesn't tell where the failing chain was built. Traced
+ * operators capture the stack at assembly time and add it to errors passing through them
+ * as suppressed exception, so it ends up in logs and crash reports.
+ *
+ * Capturing a stack trace is expensive compared to assembling an operator, so besides
+ * tracing every operator, a sampled mode is supported: only a fraction of the operators
+ * is traced, and untraced ones are left alone completely. As an error passes all operators
+ * downstream of its origin, a failing chain is still attributed if any of those was
+ * sampled, and traces of chains which don't fail are never looked at.
+ */
+public class RxAssemblyTracer {
+    public static final String MODE_OFF = "off";
+    public static final String MODE_SAMPLED = "sampled";
+    public static final String MODE_FULL = "full";
+
+    private static final AtomicInteger sAssemblyCounter = new AtomicInteger();
+    private static int sSampleInterval;
+
+    private RxAssemblyTracer() {
+    }
+
+    /**
+     * @param mode One of the MODE_* constants
+     * @param sampleRate Fraction of operators traced in sampled mode, between 0 and 1
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static void install(String mode, float sampleRate) {
+        if (MODE_FULL.equals(mode)) {
+            sSampleInterval = 1;
+        } else if (MODE_SAMPLED.equals(mode) && sampleRate > 0) {
+            sSampleInterval = Math.max(1, Math.round(1 / Math.min(sampleRate, 1)));
+        } else {
+            sSampleInterval = 0;
+        }
+
+        if (sSampleInterval == 0) {
+            RxJavaPlugins.setOnObservableAssembly(null);
+            RxJavaPlugins.setOnFlowableAssembly(null);
+            RxJavaPlugins.setOnSingleAssembly(null);
+            RxJavaPlugins.setOnMaybeAssembly(null);
+            RxJavaPlugins.setOnCompletableAssembly(null);
+            return;
+        }
+
+        RxJavaPlugins.setOnObservableAssembly(source -> shouldTrace(source)
+                ? new TracedObservable(source, new AssemblyTrace()) : source);
+        RxJavaPlugins.setOnFlowableAssembly(source -> shouldTrace(source)
+                ? new TracedFlowable(source, new AssemblyTrace()) : source);
+        RxJavaPlugins.setOnSingleAssembly(source -> shouldTrace(source)
+                ? new TracedSingle(source, new AssemblyTrace()) : source);
+        RxJavaPlugins.setOnMaybeAssembly(source -> shouldTrace(source)
+                ? new TracedMaybe(source, new AssemblyTrace()) : source);
+        RxJavaPlugins.setOnCompletableAssembly(source -> shouldTrace(source)
+                ? new TracedCompletable(source, new AssemblyTrace()) : source);
+    }
+
+    private static boolean shouldTrace(Object source) {
+        // Sources like just() or empty() can't fail, and hiding them would disable the
+        // optimizations operators apply to them
+        if (source instanceof ScalarCallable) {
+            return false;
+        }
+        int interval = sSampleInterval;
+        return interval == 1 || sAssemblyCounter.incrementAndGet() % interval == 0;
+    }
+
+    private static Throwable attachTrace(Throwable error, AssemblyTrace trace) {
+        // Only keep the trace of the operator closest to the error's origin
+        for (Throwable suppressed : error.getSuppressed()) {
+            if (suppressed instanceof AssemblyTrace) {
+                return error;
+            }
+        }
+        trace.trimStackTrace();
+        error.addSuppressed(trace);
+        return error;
+    }
+
+    private static class AssemblyTrace extends Throwable {
+        private boolean mTrimmed;
+
+        AssemblyTrace() {
+            super("Rx chain assembled at");
+        }
+
+        // Drop the frames of RxJava and of this class, which only obscure the caller.
+        // Done lazily, as only traces of failing chains are ever looked at.
+        synchronized void trimStackTrace() {
+            if (mTrimmed) {
+                return;
+            }
+            List<StackTraceElement> frames = new ArrayList<>();
+            for (StackTraceElement frame : getStackTrace()) {
+                String className = frame.getClassName();
+                if (!className.startsWith("io.reactivex.")
+                        && !className.startsWith(RxAssemblyTracer.class.getName())) {
+                    frames.add(frame);
+                }
+            }
+            setStackTrace(frames.toArray(new StackTraceElement[0]));
+            mTrimmed = true;
+        }
+    }
+
+    private static class TracedObservable<T> extends Observable<T> {
+        private final ObservableSource<T> mSource;
+        private final AssemblyTrace mTrace;
+
+        TracedObservable(ObservableSource<T> source, AssemblyTrace trace) {
+            mSource = source;
+            mTrace = trace;
+        }
+
+        @Override
+        protected void subscribeActual(Observer<? super T> observer) {
+            mSource.subscribe(new Observer<T>() {
+                @Override
+                public void onSubscribe(@NonNull Disposable d) {
+                    observer.onSubscribe(d);
+                }
+
+                @Override
+                public void onNext(@NonNull T value) {
+                    observer.onNext(value);
+                }
+
+                @Override
+                public void onError(@NonNull Throwable e) {
+                    observer.onError(attachTrace(e, mTrace));
+                }
+
+                @Override
+                public void onComplete() {
+                    observer.onComplete();
+                }
+            });
+        }
+    }
+
+    private static class TracedFlowable<T> extends Flowable<T> {
+        private final Publisher<T> mSource;
+        private final AssemblyTrace mTrace;
+
+        TracedFlowable(Publisher<T> source, AssemblyTrace trace) {
+            mSource = source;
+            mTrace = trace;
+        }
+
+        @Override
+        protected void subscribeActual(Subscriber<? super T> subscriber) {
+            mSource.subscribe(new FlowableSubscriber<T>() {
+                @Override
+                public void onSubscribe(@NonNull Subscription s) {
+                    subscriber.onSubscribe(s);
+                }
+
+                @Override
+                public void onNext(T value) {
+                    subscriber.onNext(value);
+                }
+
+                @Override
+                public void onError(Throwable e) {
+                    subscriber.onError(attachTrace(e, mTrace));
+                }
+
+                @Override
+                public void onComplete() {
+                    subscriber.onComplete();
+                }
+            });
+        }
+    }
+
+    private static class TracedSingle<T> extends Single<T> {
+        private final SingleSource<T> mSource;
+        private final AssemblyTrace mTrace;
+
+        TracedSingle(SingleSource<T> source, AssemblyTrace trace) {
+            mSource = source;
+            mTrace = trace;
+        }
+
+        @Override
+        protected void subscribeActual(@NonNull SingleObserver<? super T> observer) {
+            mSource.subscribe(new SingleObserver<T>() {
+                @Override
+                public void onSubscribe(@NonNull Disposable d) {
+                    observer.onSubscribe(d);
+                }
+
+                @Override
+                public void onSuccess(@NonNull T value) {
+                    observer.onSuccess(value);
+                }
+
+                @Override
+                public void onError(@NonNull Throwable e) {
+                    observer.onError(attachTrace(e, mTrace));
+                }
+            });
+        }
+    }
+
+    private static class TracedMaybe<T> extends Maybe<T> {
+        private final MaybeSource<T> mSource;
+        private final AssemblyTrace mTrace;
+
+        TracedMaybe(MaybeSource<T> source, AssemblyTrace trace) {
+            mSource = source;
+            mTrace = trace;
+        }
+
+        @Override
+        protected void subscribeActual(MaybeObserver<? super T> observer) {
+            mSource.subscribe(new MaybeObserver<T>() {
+                @Override
+                public void onSubscribe(@NonNull Disposable d) {
+                    observer.onSubscribe(d);
+                }
+
+                @Override
+                public void onSuccess(@NonNull T value) {
+                    observer.onSuccess(value);
+                }
+
+                @Override
+                public void onError(@NonNull Throwable e) {
+                    observer.onError(attachTrace(e, mTrace));
+                }
+
+                @Override
+                public void onComplete() {
+                    observer.onComplete();
+                }
+            });
+        }
+    }
+
+    private static class TracedCompletable extends Completable {
+        private final CompletableSource mSource;
+        private final AssemblyTrace mTrace;
+
+        TracedCompletable(CompletableSource source, AssemblyTrace trace) {
+            mSource = source;
+            mTrace = trace;
+        }
+
+        @Override
+        protected void subscribeActual(CompletableObserver observer) {
+            mSource.subscribe(new CompletableObserver() {
+                @Override
+                public void onSubscribe(@NonNull Disposable d) {
+                    observer.onSubscribe(d);
+                }
+
+                @Override
+                public void onComplete() {
+                    observer.onComplete();
+                }
+
+                @Override
+                public void onError(@NonNull Throwable e) {
+                    observer.onError(attachTrace(e, mTrace));
+                }
+            });
+        }
+    }
+}
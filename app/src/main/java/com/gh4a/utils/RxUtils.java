@@ -3,6 +3,7 @@ package com.gh4a.utils;
 import android.annotation.SuppressLint;
 import android.app.Dialog;
 import android.os.Bundle;
+import android.util.Pair;
 import androidx.annotation.StringRes;
 import androidx.coordinatorlayout.widget.CoordinatorLayout;
 import com.google.android.material.snackbar.Snackbar;
@@ -22,6 +23,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 
+import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.reactivex.SingleSource;
 import io.reactivex.SingleTransformer;
@@ -33,6 +35,9 @@ import io.reactivex.schedulers.Schedulers;
 import retrofit2.Response;
 
 public class RxUtils {
+    // Maximum number of per-item requests running at the same time in mapListConcurrently()
+    private static final int MAX_CONCURRENT_ITEM_REQUESTS = 4;
+
     public static <T> SingleTransformer<List<T>, List<T>> filter(Predicate<T> predicate) {
         return upstream -> upstream.map(list -> {
             List<T> result = new ArrayList<>();
@@ -66,6 +71,20 @@ public class RxUtils {
         });
     }
 
+    /**
+     * Maps every list item to the result of a single, e.g. a request for details of that item.
+     * Up to {@link #MAX_CONCURRENT_ITEM_REQUESTS} of those singles run in parallel, each on
+     * its own IO thread, while the results are still emitted in the order of the input list.
+     */
+    public static <T, R> SingleTransformer<List<T>, List<R>> mapListConcurrently(
+            Function<T, Single<R>> mapper) {
+        return upstream -> upstream.flatMap(list -> Observable.fromIterable(list)
+                .concatMapEager(item -> mapper.apply(item)
+                        .subscribeOn(Schedulers.io())
+                        .toObservable(), MAX_CONCURRENT_ITEM_REQUESTS, 1)
+                .toList());
+    }
+
     public static <T> SingleTransformer<List<T>, List<T>> sortList(Comparator<? super T> comparator) {
         return upstream ->  upstream.map(list -> {
             list = new ArrayList<>(list);
@@ -74,6 +93,39 @@ public class RxUtils {
         });
     }
 
+    /**
+     * Merges streams of already sorted lists (e.g. pages of API results) into one sorted
+     * stream. Items are emitted as soon as their position in the merged result is known,
+     * so the beginning of the result is available while later pages are still loading.
+     *
+     * @see SortedListMerger
+     */
+    public static <T> Observable<List<T>> mergeSorted(List<Observable<List<T>>> sources,
+            Comparator<? super T> comparator) {
+        return Observable.defer(() -> {
+            SortedListMerger<T> merger = new SortedListMerger<>(sources.size(), comparator);
+            List<Observable<Pair<Integer, List<T>>>> taggedSources = new ArrayList<>();
+            for (int i = 0; i < sources.size(); i++) {
+                final int source = i;
+                // A pair without list marks completion of the source
+                taggedSources.add(sources.get(i)
+                        .map(items -> Pair.create(source, items))
+                        .concatWith(Observable.just(Pair.<Integer, List<T>>create(source, null))));
+            }
+            // merge() serializes the emissions, so the merger is never accessed concurrently
+            return Observable.merge(taggedSources)
+                    .map(pair -> {
+                        if (pair.second != null) {
+                            merger.add(pair.first, pair.second);
+                        } else {
+                            merger.complete(pair.first);
+                        }
+                        return merger.takeReady();
+                    })
+                    .filter(items -> !items.isEmpty());
+        });
+    }
+
     public static <T> SingleTransformer<T, T> mapFailureToValue(int code, T value) {
         return upstream -> upstream.onErrorResumeNext(error -> {
             if (error instanceof ApiRequestException) {
@@ -90,6 +142,46 @@ public class RxUtils {
                 .observeOn(AndroidSchedulers.mainThread());
     }
 
+    /**
+     * Emits the result of the (usually locally answered) cached single first, followed by
+     * the result of the fresh single. Both are run in parallel; if the fresh result arrives
+     * first, the cached one is dropped. Failures of the cached single are ignored.
+     */
+    public static <T> Observable<T> cachedThenFresh(Single<T> cached, Single<T> fresh) {
+        Observable<T> cachedObservable = cached
+                .subscribeOn(Schedulers.io())
+                .toObservable()
+                .onErrorResumeNext(Observable.empty());
+        return fresh
+                .subscribeOn(Schedulers.io())
+                .toObservable()
+                .publish(freshObservable -> Observable.merge(freshObservable,
+                        cachedObservable.takeUntil(freshObservable)));
+    }
+
+    /**
+     * Like {@link #cachedThenFresh(Single, Single)}, but for fresh data that is delivered
+     * progressively, with every emission superseding the previous one. If the cached result
+     * is shown already, the intermediate fresh results are skipped, as replacing complete
+     * data by partial data would only make the list shrink and grow again.
+     */
+    public static <T> Observable<T> cachedThenFresh(Single<T> cached, Observable<T> fresh) {
+        return Observable.defer(() -> {
+            Observable<T> freshObservable = fresh.subscribeOn(Schedulers.io()).cache();
+            return cached
+                    .subscribeOn(Schedulers.io())
+                    .toObservable()
+                    .onErrorResumeNext(Observable.empty())
+                    .takeUntil(freshObservable)
+                    .toList()
+                    .toObservable()
+                    .concatMap(cachedResult -> cachedResult.isEmpty()
+                            ? freshObservable
+                            : Observable.fromIterable(cachedResult)
+                                    .concatWith(freshObservable.takeLast(1)));
+        });
+    }
+
     public static <T> SingleTransformer<T, T> wrapForBackgroundTask(final BaseActivity activity,
             final @StringRes int dialogMessageResId, final @StringRes int errorMessageResId) {
         return wrapForBackgroundTask(activity, activity.getRootLayout(), dialogMessageResId,
@@ -68,7 +68,7 @@ public class SingleFactory {
                 .map(SingleFactory::notificationsToResult);
     }
 
-    private static NotificationListLoadResult notificationsToResult(
+    public static NotificationListLoadResult notificationsToResult(
             List<NotificationThread> notifications) {
         // group notifications by repo
         final HashMap<Repository, ArrayList<NotificationThread>> notificationsByRepo = new HashMap<>();
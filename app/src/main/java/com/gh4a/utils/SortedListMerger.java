@@ -0,0 +1,98 @@
+package com.gh4a.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges a number of lists which are already sorted into one sorted list (k-way merge).
+ *
+ * Items can be added piecewise, e.g. page by page as they arrive from the API. Items are
+ * handed out by {@link #takeReady()} as soon as their position in the merged list is final,
+ * that is, once every source either has items queued or is complete. For equal items,
+ * the order of the sources is kept.
+ */
+public class SortedListMerger<T> {
+    private final ArrayDeque<T>[] mQueues;
+    private final boolean[] mCompleted;
+    // Indices of sources with queued items, ordered by their first queued item
+    private final PriorityQueue<Integer> mHeads;
+    // Number of sources which have neither queued items nor are complete
+    private int mBlockingSourceCount;
+
+    @SuppressWarnings("unchecked")
+    public SortedListMerger(int sourceCount, Comparator<? super T> comparator) {
+        mQueues = new ArrayDeque[sourceCount];
+        for (int i = 0; i < sourceCount; i++) {
+            mQueues[i] = new ArrayDeque<>();
+        }
+        mCompleted = new boolean[sourceCount];
+        mHeads = new PriorityQueue<>(Math.max(1, sourceCount), (lhs, rhs) -> {
+            int result = comparator.compare(mQueues[lhs].peek(), mQueues[rhs].peek());
+            return result != 0 ? result : Integer.compare(lhs, rhs);
+        });
+        mBlockingSourceCount = sourceCount;
+    }
+
+    public static <T> List<T> merge(List<? extends List<? extends T>> lists,
+            Comparator<? super T> comparator) {
+        SortedListMerger<T> merger = new SortedListMerger<>(lists.size(), comparator);
+        for (int i = 0; i < lists.size(); i++) {
+            merger.add(i, lists.get(i));
+            merger.complete(i);
+        }
+        return merger.takeReady();
+    }
+
+    /**
+     * Queues items of a source. The items must be sorted and must not be ordered before
+     * any item previously added for the same source.
+     */
+    public void add(int source, List<? extends T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        boolean hadQueuedItems = !mQueues[source].isEmpty();
+        mQueues[source].addAll(items);
+        if (!hadQueuedItems) {
+            mHeads.add(source);
+            if (!mCompleted[source]) {
+                mBlockingSourceCount--;
+            }
+        }
+    }
+
+    /**
+     * Marks a source as complete, meaning no further items will be added for it.
+     */
+    public void complete(int source) {
+        if (mCompleted[source]) {
+            return;
+        }
+        mCompleted[source] = true;
+        if (mQueues[source].isEmpty()) {
+            mBlockingSourceCount--;
+        }
+    }
+
+    /**
+     * @return All items whose position in the merged list is final, in order. The items
+     *         are removed from the queues, so they're only returned once.
+     */
+    public List<T> takeReady() {
+        List<T> result = new ArrayList<>();
+        while (mBlockingSourceCount == 0 && !mHeads.isEmpty()) {
+            int source = mHeads.poll();
+            ArrayDeque<T> queue = mQueues[source];
+            result.add(queue.poll());
+            if (!queue.isEmpty()) {
+                mHeads.add(source);
+            } else if (!mCompleted[source]) {
+                mBlockingSourceCount++;
+            }
+        }
+        return result;
+    }
+}
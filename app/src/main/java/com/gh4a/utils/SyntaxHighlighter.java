@@ -0,0 +1,436 @@
+package com.gh4a.utils;
+
+import androidx.annotation.Nullable;
+
+import com.gh4a.model.ParsedSource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import io.reactivex.Observable;
+
+/**
+ * Splits source code lines into tokens for syntax highlighting.
+ *
+ * This is a simple, language family based tokenizer in the spirit of prettify's default
+ * mode: it knows about comments, strings, numbers, keywords, type names and markup tags,
+ * but doesn't attempt to actually parse the code. Lines are tokenized in order, since
+ * comments and strings can span lines, so an instance must only be used by one thread
+ * at a time.
+ */
+public class SyntaxHighlighter {
+    public static final int TOKEN_KEYWORD = 0;
+    public static final int TOKEN_TYPE = 1;
+    public static final int TOKEN_LITERAL = 2;
+    public static final int TOKEN_STRING = 3;
+    public static final int TOKEN_COMMENT = 4;
+    public static final int TOKEN_TAG = 5;
+    public static final int TOKEN_ATTRIBUTE_NAME = 6;
+    public static final int TOKEN_TYPE_COUNT = 7;
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final int STATE_DEFAULT = 0;
+    private static final int STATE_BLOCK_COMMENT = 1;
+    private static final int STATE_MULTILINE_STRING = 2;
+    private static final int STATE_MARKUP_TAG = 3;
+
+    private static final int[] NO_TOKENS = new int[0];
+
+    private static final Language C_FAMILY = new Language(
+            "abstract as assert async await auto break case catch class const constexpr "
+            + "continue crate def default defer delete do else enum explicit export extends "
+            + "extern final finally fn for foreach fun func function go goto if impl "
+            + "implements import in inline instanceof interface internal is let loop match "
+            + "mod module mut namespace native new operator override package private "
+            + "protected pub public readonly register return sealed sizeof static struct "
+            + "super suspend switch synchronized template this throw throws trait try "
+            + "typedef typeof typename union unsafe use using val var virtual void volatile "
+            + "when where while yield boolean bool byte char double float int long short "
+            + "signed unsigned",
+            "true false null nullptr nil undefined NaN Infinity",
+            false, "//", "/*", "*/", "\"'`", "`", false, true);
+    private static final Language SCRIPT_FAMILY = new Language(
+            "alias and as assert async await begin break case class continue def del do done "
+            + "elif else elsif end ensure esac except exec export fi finally for from "
+            + "function global if import in is lambda local module my next nonlocal not or "
+            + "our package pass raise redo require rescue retry return sub then unless until "
+            + "use while with yield",
+            "True False None true false nil null undef",
+            false, "#", null, null, "\"'`", "", true, false);
+    private static final Language SQL_FAMILY = new Language(
+            "add all alter and as asc begin between by case check column constraint create "
+            + "database default delete desc distinct do drop else elseif end exists for "
+            + "foreign from full function group having if in index inner insert into is join "
+            + "key left like limit local not on or order outer primary procedure references "
+            + "repeat replace return returns right select set table then to trigger union "
+            + "unique until update values view when where while with",
+            "null true false nil",
+            true, "--", "/*", "*/", "\"'", "", false, false);
+    private static final Language CSS_FAMILY = new Language("", "",
+            false, null, "/*", "*/", "\"'", "", false, false);
+    private static final Language MARKUP = new Language("", "",
+            false, null, "<!--", "-->", "\"'", "", false, false);
+
+    private static final HashMap<String, Language> LANGUAGES_BY_EXTENSION = new HashMap<>();
+    static {
+        for (String ext : new String[] { "py", "pyw", "rb", "rake", "gemspec", "sh", "bash",
+                "zsh", "fish", "pl", "pm", "r", "yml", "yaml", "toml", "cmake", "mk", "conf",
+                "properties", "ex", "exs", "nim", "coffee", "tcl", "awk", "gitignore" }) {
+            LANGUAGES_BY_EXTENSION.put(ext, SCRIPT_FAMILY);
+        }
+        for (String ext : new String[] { "sql", "lua", "hs", "elm", "ada", "vhd", "vhdl" }) {
+            LANGUAGES_BY_EXTENSION.put(ext, SQL_FAMILY);
+        }
+        for (String ext : new String[] { "css", "scss", "sass", "less" }) {
+            LANGUAGES_BY_EXTENSION.put(ext, CSS_FAMILY);
+        }
+        for (String ext : new String[] { "xml", "html", "htm", "xhtml", "svg", "plist",
+                "xsd", "xsl", "xslt", "vue", "jsp", "aspx", "iml" }) {
+            LANGUAGES_BY_EXTENSION.put(ext, MARKUP);
+        }
+        for (String ext : new String[] { "txt", "text", "log", "csv", "tsv" }) {
+            LANGUAGES_BY_EXTENSION.put(ext, null);
+        }
+    }
+
+    private static final Set<String> SCRIPT_FILE_NAMES = new HashSet<>(Arrays.asList(
+            "makefile", "gnumakefile", "dockerfile", "gemfile", "rakefile", "podfile",
+            "cmakelists.txt", "build", "workspace"));
+
+    public static class Chunk {
+        public final int startLine;
+        // Tokens of every line, as (start, end, type) triples
+        public final int[][] lineTokens;
+
+        private Chunk(int startLine, int[][] lineTokens) {
+            this.startLine = startLine;
+            this.lineTokens = lineTokens;
+        }
+    }
+
+    private final Language mLanguage;
+    private int mState = STATE_DEFAULT;
+    // Closing delimiter of the multi-line string the current line starts in
+    private String mStringDelimiter;
+    private int[] mTokens = new int[48];
+    private int mTokenCount;
+
+    private SyntaxHighlighter(Language language) {
+        mLanguage = language;
+    }
+
+    /**
+     * @return Highlighter for the given file, or null if the file shouldn't be highlighted
+     */
+    @Nullable
+    public static SyntaxHighlighter forFile(String fileName, String content) {
+        String name = FileUtils.getFileName(fileName).toLowerCase(Locale.US);
+        if (SCRIPT_FILE_NAMES.contains(name)) {
+            return new SyntaxHighlighter(SCRIPT_FAMILY);
+        }
+        String extension = FileUtils.getFileExtension(name);
+        if (StringUtils.isBlank(extension)) {
+            // Without shebang line, assume plain text
+            return content.startsWith("#!") ? new SyntaxHighlighter(SCRIPT_FAMILY) : null;
+        }
+        if (LANGUAGES_BY_EXTENSION.containsKey(extension)) {
+            Language language = LANGUAGES_BY_EXTENSION.get(extension);
+            return language != null ? new SyntaxHighlighter(language) : null;
+        }
+        return new SyntaxHighlighter(C_FAMILY);
+    }
+
+    /**
+     * Tokenizes all lines of the given source, starting from the first line.
+     *
+     * @return Observable emitting the tokens of consecutive line ranges in order,
+     *         so the lines displayed first are highlighted early
+     */
+    public Observable<Chunk> highlight(ParsedSource source) {
+        return Observable.create(emitter -> {
+            mState = STATE_DEFAULT;
+            int lineCount = source.getLineCount();
+            for (int start = 0; start < lineCount && !emitter.isDisposed(); start += CHUNK_SIZE) {
+                int end = Math.min(lineCount, start + CHUNK_SIZE);
+                int[][] lineTokens = new int[end - start][];
+                for (int line = start; line < end; line++) {
+                    lineTokens[line - start] = highlightLine(source.getDisplayLine(line));
+                }
+                emitter.onNext(new Chunk(start, lineTokens));
+            }
+            emitter.onComplete();
+        });
+    }
+
+    /**
+     * Tokenizes the line following the previously tokenized one.
+     *
+     * @return Tokens as (start, end, type) triples. Text not covered by any token is plain.
+     */
+    public int[] highlightLine(String line) {
+        mTokenCount = 0;
+        int pos = 0;
+        while (pos < line.length()) {
+            switch (mState) {
+                case STATE_BLOCK_COMMENT:
+                    pos = finishBlockComment(line, pos);
+                    break;
+                case STATE_MULTILINE_STRING:
+                    pos = finishString(line, pos, pos, mStringDelimiter, true);
+                    break;
+                case STATE_MARKUP_TAG:
+                    pos = scanInTag(line, pos);
+                    break;
+                default:
+                    pos = mLanguage == MARKUP ? scanMarkup(line, pos) : scanCode(line, pos);
+                    break;
+            }
+        }
+        return mTokenCount > 0 ? Arrays.copyOf(mTokens, mTokenCount) : NO_TOKENS;
+    }
+
+    private int scanCode(String line, int pos) {
+        char c = line.charAt(pos);
+        Language l = mLanguage;
+
+        if (Character.isWhitespace(c)) {
+            return pos + 1;
+        }
+        if (l.lineComment != null && line.startsWith(l.lineComment, pos)) {
+            addToken(pos, line.length(), TOKEN_COMMENT);
+            return line.length();
+        }
+        if (l.blockCommentStart != null && line.startsWith(l.blockCommentStart, pos)) {
+            mState = STATE_BLOCK_COMMENT;
+            return finishBlockComment(line, pos, pos + l.blockCommentStart.length());
+        }
+        if (l.quotes.indexOf(c) >= 0) {
+            if (l.tripleQuotes && pos + 2 < line.length()
+                    && line.charAt(pos + 1) == c && line.charAt(pos + 2) == c) {
+                return finishString(line, pos, pos + 3, line.substring(pos, pos + 3), true);
+            }
+            boolean multiline = l.multilineQuotes.indexOf(c) >= 0;
+            return finishString(line, pos, pos + 1, String.valueOf(c), multiline);
+        }
+        if (Character.isDigit(c)) {
+            int end = pos + 1;
+            while (end < line.length() && (Character.isLetterOrDigit(line.charAt(end))
+                    || line.charAt(end) == '.' || line.charAt(end) == '_')) {
+                end++;
+            }
+            addToken(pos, end, TOKEN_LITERAL);
+            return end;
+        }
+        if (l.preprocessor && c == '#' && line.substring(0, pos).trim().isEmpty()) {
+            int end = scanIdentifier(line, pos + 1);
+            addToken(pos, end, TOKEN_KEYWORD);
+            return Math.max(end, pos + 1);
+        }
+        if (isIdentifierStart(c) || (c == '@' && pos + 1 < line.length()
+                && isIdentifierStart(line.charAt(pos + 1)))) {
+            int end = scanIdentifier(line, pos + 1);
+            String word = line.substring(pos, end);
+            String lookupWord = l.caseInsensitive ? word.toLowerCase(Locale.US) : word;
+            if (l.keywords.contains(lookupWord)) {
+                addToken(pos, end, TOKEN_KEYWORD);
+            } else if (l.literals.contains(lookupWord)) {
+                addToken(pos, end, TOKEN_LITERAL);
+            } else if (isTypeName(word)) {
+                addToken(pos, end, TOKEN_TYPE);
+            }
+            return end;
+        }
+        return pos + 1;
+    }
+
+    private int scanMarkup(String line, int pos) {
+        char c = line.charAt(pos);
+        if (c == '<') {
+            if (line.startsWith(mLanguage.blockCommentStart, pos)) {
+                mState = STATE_BLOCK_COMMENT;
+                return finishBlockComment(line, pos, pos + mLanguage.blockCommentStart.length());
+            }
+            int nameStart = pos + 1;
+            if (nameStart < line.length() && "/!?".indexOf(line.charAt(nameStart)) >= 0) {
+                nameStart++;
+            }
+            if (nameStart < line.length() && Character.isLetter(line.charAt(nameStart))) {
+                int end = scanMarkupName(line, nameStart);
+                addToken(pos, end, TOKEN_TAG);
+                mState = STATE_MARKUP_TAG;
+                return end;
+            }
+        } else if (c == '&') {
+            int end = line.indexOf(';', pos);
+            if (end > pos + 1 && end - pos <= 10) {
+                addToken(pos, end + 1, TOKEN_LITERAL);
+                return end + 1;
+            }
+        }
+        return pos + 1;
+    }
+
+    private int scanInTag(String line, int pos) {
+        char c = line.charAt(pos);
+        if (c == '>') {
+            addToken(pos, pos + 1, TOKEN_TAG);
+            mState = STATE_DEFAULT;
+            return pos + 1;
+        }
+        if ((c == '/' || c == '?') && line.startsWith(">", pos + 1)) {
+            addToken(pos, pos + 2, TOKEN_TAG);
+            mState = STATE_DEFAULT;
+            return pos + 2;
+        }
+        if (mLanguage.quotes.indexOf(c) >= 0) {
+            int end = finishString(line, pos, pos + 1, String.valueOf(c), false);
+            // Attribute values don't change the state, we're still inside the tag
+            mState = STATE_MARKUP_TAG;
+            return end;
+        }
+        if (Character.isLetter(c)) {
+            int end = scanMarkupName(line, pos);
+            addToken(pos, end, TOKEN_ATTRIBUTE_NAME);
+            return end;
+        }
+        return pos + 1;
+    }
+
+    private int finishBlockComment(String line, int pos) {
+        return finishBlockComment(line, pos, pos);
+    }
+
+    private int finishBlockComment(String line, int tokenStart, int searchStart) {
+        int end = line.indexOf(mLanguage.blockCommentEnd, searchStart);
+        if (end < 0) {
+            addToken(tokenStart, line.length(), TOKEN_COMMENT);
+            return line.length();
+        }
+        end += mLanguage.blockCommentEnd.length();
+        addToken(tokenStart, end, TOKEN_COMMENT);
+        mState = STATE_DEFAULT;
+        return end;
+    }
+
+    private int finishString(String line, int tokenStart, int searchStart,
+            String delimiter, boolean multiline) {
+        int pos = searchStart;
+        while (pos < line.length()) {
+            if (line.charAt(pos) == '\\') {
+                pos += 2;
+            } else if (line.startsWith(delimiter, pos)) {
+                int end = pos + delimiter.length();
+                addToken(tokenStart, end, TOKEN_STRING);
+                mState = STATE_DEFAULT;
+                return end;
+            } else {
+                pos++;
+            }
+        }
+        // Unterminated strings end at the line end unless they may span lines
+        addToken(tokenStart, line.length(), TOKEN_STRING);
+        if (multiline) {
+            mState = STATE_MULTILINE_STRING;
+            mStringDelimiter = delimiter;
+        } else {
+            mState = STATE_DEFAULT;
+        }
+        return line.length();
+    }
+
+    private void addToken(int start, int end, int type) {
+        if (end <= start) {
+            return;
+        }
+        if (mTokenCount + 3 > mTokens.length) {
+            mTokens = Arrays.copyOf(mTokens, mTokens.length * 2);
+        }
+        mTokens[mTokenCount++] = start;
+        mTokens[mTokenCount++] = end;
+        mTokens[mTokenCount++] = type;
+    }
+
+    private static int scanIdentifier(String line, int pos) {
+        while (pos < line.length() && isIdentifierPart(line.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int scanMarkupName(String line, int pos) {
+        while (pos < line.length()) {
+            char c = line.charAt(pos);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_' && c != ':' && c != '.') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return Character.isLetter(c) || c == '_' || c == '$';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    // Capitalized names containing lower case letters, like prettify does it
+    private static boolean isTypeName(String word) {
+        int start = word.startsWith("@") || word.startsWith("_") ? 1 : 0;
+        if (start >= word.length() || !Character.isUpperCase(word.charAt(start))) {
+            return false;
+        }
+        for (int i = start + 1; i < word.length(); i++) {
+            if (Character.isLowerCase(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Language {
+        final Set<String> keywords;
+        final Set<String> literals;
+        final boolean caseInsensitive;
+        @Nullable final String lineComment;
+        @Nullable final String blockCommentStart;
+        @Nullable final String blockCommentEnd;
+        // Characters starting and ending strings, and those of them whose strings may span lines
+        final String quotes;
+        final String multilineQuotes;
+        // Whether tripled quotes start multi-line strings (Python)
+        final boolean tripleQuotes;
+        // Whether lines starting with # are preprocessor directives (C)
+        final boolean preprocessor;
+
+        Language(String keywords, String literals, boolean caseInsensitive,
+                @Nullable String lineComment, @Nullable String blockCommentStart,
+                @Nullable String blockCommentEnd, String quotes, String multilineQuotes,
+                boolean tripleQuotes, boolean preprocessor) {
+            this.keywords = toSet(keywords);
+            this.literals = toSet(caseInsensitive ? literals.toLowerCase(Locale.US) : literals);
+            this.caseInsensitive = caseInsensitive;
+            this.lineComment = lineComment;
+            this.blockCommentStart = blockCommentStart;
+            this.blockCommentEnd = blockCommentEnd;
+            this.quotes = quotes;
+            this.multilineQuotes = multilineQuotes;
+            this.tripleQuotes = tripleQuotes;
+            this.preprocessor = preprocessor;
+        }
+
+        private static Set<String> toSet(String words) {
+            if (words.isEmpty()) {
+                return Collections.emptySet();
+            }
+            return new HashSet<>(Arrays.asList(words.split(" ")));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.gh4a.utils;
 import android.annotation.TargetApi;
 import android.app.Dialog;
 import android.content.Context;
+import android.content.SharedPreferences;
 import android.content.res.TypedArray;
 import android.graphics.Color;
 import android.os.Build;
@@ -25,6 +26,7 @@ import android.widget.MultiAutoCompleteTextView;
 import android.widget.TextView;
 
 import com.gh4a.R;
+import com.gh4a.fragment.SettingsFragment;
 import com.gh4a.widget.IssueLabelSpan;
 import com.meisolsson.githubsdk.model.Label;
 
@@ -42,6 +44,10 @@ import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 
 public class UiUtils {
+    private static final float[] CODE_SIZE_MULTIPLIERS = new float[] {
+            0.8F, 0.9F, 1F, 1.25F, 1.5F
+    };
+
     public static void hideImeForView(View view) {
         if (view == null) {
             return;
@@ -211,6 +217,17 @@ public class UiUtils {
                 .create();
     }
 
+    /**
+     * @return Factor to scale code text sizes by, according to the text size setting
+     */
+    public static float getCodeTextSizeMultiplier(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(SettingsFragment.PREF_NAME,
+                Context.MODE_PRIVATE);
+        int textSizeSetting = prefs.getInt(SettingsFragment.KEY_TEXT_SIZE, 2);
+        return textSizeSetting >= 0 && textSizeSetting < CODE_SIZE_MULTIPLIERS.length
+                ? CODE_SIZE_MULTIPLIERS[textSizeSetting] : 1F;
+    }
+
     public static @ColorInt int resolveColor(Context context, @AttrRes int styledAttributeId) {
         TypedArray a = context.obtainStyledAttributes(new int[] {
             styledAttributeId
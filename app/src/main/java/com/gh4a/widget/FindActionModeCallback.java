@@ -31,6 +31,7 @@ import android.widget.EditText;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.content.res.AppCompatResources;
 import androidx.appcompat.view.ActionMode;
 import androidx.core.view.MenuItemCompat;
@@ -39,10 +40,21 @@ import com.gh4a.R;
 import com.gh4a.utils.UiUtils;
 
 public class FindActionModeCallback implements ActionMode.Callback, TextWatcher, WebView.FindListener {
+    /**
+     * Content which can be searched by this callback. Modelled after the find API of WebView,
+     * so that content which isn't displayed in a WebView can be searched as well.
+     */
+    public interface Searchable {
+        void setFindListener(@Nullable WebView.FindListener listener);
+        void findAllAsync(String find);
+        void findNext(boolean forward);
+        void clearMatches();
+    }
+
     private View mCustomView;
     private EditText mEditText;
     private TextView mMatches;
-    private WebView mWebView;
+    private Searchable mSearchable;
     private MenuItem mPrevItem;
     private MenuItem mNextItem;
     private boolean mHasStartedSearch;
@@ -83,11 +95,18 @@ public class FindActionModeCallback implements ActionMode.Callback, TextWatcher,
             throw new AssertionError("WebView supplied to "
                     + "FindActionModeCallback cannot be null");
         }
-        if (mWebView != null) {
-            mWebView.setFindListener(null);
+        setSearchable(new WebViewSearchable(webView));
+    }
+
+    /**
+     * Set the content to search if it isn't displayed in a WebView.
+     */
+    public void setSearchable(@NonNull Searchable searchable) {
+        if (mSearchable != null) {
+            mSearchable.setFindListener(null);
         }
-        mWebView = webView;
-        mWebView.setFindListener(this);
+        mSearchable = searchable;
+        mSearchable.setFindListener(this);
     }
 
     @Override
@@ -108,34 +127,34 @@ public class FindActionModeCallback implements ActionMode.Callback, TextWatcher,
      *             If {@code false}, find the previous match, up in the document.
      */
     private void findNext(boolean next) {
-        if (mWebView == null) {
+        if (mSearchable == null) {
             throw new AssertionError(
-                    "No WebView for FindActionModeCallback::findNext");
+                    "No Searchable for FindActionModeCallback::findNext");
         }
         if (!mHasStartedSearch) {
             findAll();
         } else if (mNumberOfMatches == 0) {
             // There are no matches, so moving to the next match will not do anything.
         } else {
-            mWebView.findNext(next);
+            mSearchable.findNext(next);
         }
     }
 
     /**
-     * Highlight all the instances of the string from mEditText in mWebView.
+     * Highlight all the instances of the string from mEditText in mSearchable.
      */
     public void findAll() {
-        if (mWebView == null) {
+        if (mSearchable == null) {
             throw new AssertionError(
-                    "No WebView for FindActionModeCallback::findAll");
+                    "No Searchable for FindActionModeCallback::findAll");
         }
         String find = mEditText.getText().toString();
         mNumberOfMatches = 0;
         if (find.isEmpty()) {
-            mWebView.clearMatches();
+            mSearchable.clearMatches();
             mMatches.setVisibility(View.GONE);
         } else {
-            mWebView.findAllAsync(find);
+            mSearchable.findAllAsync(find);
             mMatches.setVisibility(View.INVISIBLE);
             mHasStartedSearch = true;
         }
@@ -173,7 +192,7 @@ public class FindActionModeCallback implements ActionMode.Callback, TextWatcher,
     @Override
     public void onDestroyActionMode(ActionMode mode) {
         UiUtils.hideImeForView(mEditText);
-        mWebView.clearMatches();
+        mSearchable.clearMatches();
     }
 
     @Override
@@ -183,11 +202,11 @@ public class FindActionModeCallback implements ActionMode.Callback, TextWatcher,
 
     @Override
     public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
-        if (mWebView == null) {
+        if (mSearchable == null) {
             throw new AssertionError(
-                    "No WebView for FindActionModeCallback::onActionItemClicked");
+                    "No Searchable for FindActionModeCallback::onActionItemClicked");
         }
-        UiUtils.hideImeForView(mWebView);
+        UiUtils.hideImeForView(mEditText);
         switch(item.getItemId()) {
             case R.id.find_prev:
                 findNext(false);
@@ -220,4 +239,32 @@ public class FindActionModeCallback implements ActionMode.Callback, TextWatcher,
         mPrevItem.setEnabled(mNumberOfMatches > 0);
         mNextItem.setEnabled(mNumberOfMatches > 0);
     }
+
+    private static class WebViewSearchable implements Searchable {
+        private final WebView mWebView;
+
+        public WebViewSearchable(WebView webView) {
+            mWebView = webView;
+        }
+
+        @Override
+        public void setFindListener(@Nullable WebView.FindListener listener) {
+            mWebView.setFindListener(listener);
+        }
+
+        @Override
+        public void findAllAsync(String find) {
+            mWebView.findAllAsync(find);
+        }
+
+        @Override
+        public void findNext(boolean forward) {
+            mWebView.findNext(forward);
+        }
+
+        @Override
+        public void clearMatches() {
+            mWebView.clearMatches();
+        }
+    }
 }
@@ -1,6 +1,5 @@
 package com.gh4a.widget;
 
-import android.annotation.SuppressLint;
 import android.annotation.TargetApi;
 import android.content.Context;
 
@@ -14,7 +13,6 @@ import android.text.Editable;
 import android.text.TextWatcher;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
-import android.webkit.JavascriptInterface;
 import android.webkit.WebResourceRequest;
 import android.webkit.WebSettings;
 import android.webkit.WebView;
@@ -25,7 +23,7 @@ import com.gh4a.R;
 import com.gh4a.activities.WebViewerActivity;
 import com.gh4a.utils.HtmlUtils;
 import com.gh4a.utils.IntentUtils;
-import com.gh4a.utils.StringUtils;
+import com.gh4a.utils.MarkdownRenderer;
 
 public class MarkdownPreviewWebView extends WebView implements NestedScrollingChild2 {
     private final NestedScrollingChildHelper mChildHelper;
@@ -188,51 +186,31 @@ public class MarkdownPreviewWebView extends WebView implements NestedScrollingCh
         return mChildHelper.dispatchNestedPreFling(velocityX, velocityY);
     }
 
-    @SuppressLint("SetJavaScriptEnabled")
     private void initWebViewSettings(WebSettings s) {
         s.setLayoutAlgorithm(WebSettings.LayoutAlgorithm.NORMAL);
         s.setLoadsImagesAutomatically(true);
-        s.setJavaScriptEnabled(true);
+        // Raw HTML of the previewed text must not be able to run scripts
+        s.setJavaScriptEnabled(false);
         s.setUseWideViewPort(false);
         s.setAllowFileAccess(false);
     }
 
     private void setContent(String content) {
-        String html = generateMarkdownHtml(StringUtils.toBase64(content), mCssTheme);
+        String html = generateMarkdownHtml(MarkdownRenderer.render(content), mCssTheme);
         loadDataWithBaseURL("file:///android_asset/", html, null, "utf-8", null);
     }
 
-    private String generateMarkdownHtml(String base64Data, String cssTheme) {
+    private String generateMarkdownHtml(String html, String cssTheme) {
         StringBuilder content = new StringBuilder();
         content.append("<html><head>");
-        HtmlUtils.writeScriptInclude(content, "showdown");
         HtmlUtils.writeCssInclude(content, "markdown", cssTheme);
         HtmlUtils.writeCssInclude(content, "mdpreview", cssTheme);
         content.append("</head>");
 
         content.append("<body>");
-        content.append("<div id='content'></div>");
-
-        addJavascriptInterface(new Base64JavascriptInterface(), "Base64");
-        content.append("<script>");
-        content.append("var text = Base64.decode('");
-        content.append(base64Data);
-        content.append("');\n");
-        content.append("var converter = new showdown.Converter();\n");
-        content.append("converter.setFlavor('github');\n");
-        content.append("var html = converter.makeHtml(text);\n");
-        content.append("document.getElementById('content').innerHTML = html;");
-        content.append("</script>");
-
+        content.append("<div id='content'>").append(html).append("</div>");
         content.append("</body></html>");
 
         return content.toString();
     }
-
-    private static class Base64JavascriptInterface {
-        @JavascriptInterface
-        public String decode(String base64) {
-            return StringUtils.fromBase64(base64);
-        }
-    }
 }
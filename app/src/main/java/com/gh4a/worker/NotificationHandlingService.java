@@ -111,6 +111,7 @@ public class NotificationHandlingService extends IntentService {
             service.markAllRepositoryNotificationsRead(repoOwner, repoName, request)
                     .map(ApiHelpers::mapToTrueOnSuccess)
                     .blockingGet();
+            NotificationPoller.invalidate(this);
         } catch (Exception e) {
             Log.w(Gh4Application.LOG_TAG,
                     "Could not mark repo \"" + repoOwner + "/" + repoName + "\" as read", e);
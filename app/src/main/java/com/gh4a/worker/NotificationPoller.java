@@ -0,0 +1,247 @@
+package com.gh4a.worker;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.gh4a.Gh4Application;
+import com.gh4a.ServiceFactory;
+import com.gh4a.model.NotificationPollService;
+import com.gh4a.utils.ApiHelpers;
+import com.meisolsson.githubsdk.core.ServiceGenerator;
+import com.meisolsson.githubsdk.model.NotificationThread;
+import com.meisolsson.githubsdk.model.Page;
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Types;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Single;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import retrofit2.Response;
+
+/**
+ * Keeps a local copy of the unread notification threads for {@link NotificationsWorker},
+ * which is brought up to date with as few requests as possible.
+ *
+ * Polls are made conditional on the Last-Modified time of the previous poll, so a poll
+ * finding nothing new costs a single 304 response. If something changed, pages are fetched
+ * until reaching one which matches the local copy, and the rest of the list is taken from
+ * that copy. Polls are skipped while within the interval the server asks for via
+ * X-Poll-Interval.
+ *
+ * Last-Modified isn't updated when notifications are marked as read (see ServiceFactory),
+ * so the poll cursor is dropped when we do that, and polls are made unconditional from
+ * time to time to catch notifications being read elsewhere.
+ */
+public class NotificationPoller {
+    private static final String TAG = "NotificationPoller";
+    private static final String PREF_NAME = "notification_poller";
+    private static final String KEY_LOGIN = "login";
+    private static final String KEY_LAST_MODIFIED = "last_modified";
+    private static final String KEY_NEXT_POLL_TIME = "next_poll_time";
+    private static final String KEY_LAST_FULL_POLL_TIME = "last_full_poll_time";
+    private static final String THREADS_FILE = "notification_threads.json";
+
+    private static final int PAGE_SIZE = 100;
+    private static final long FULL_POLL_INTERVAL = TimeUnit.HOURS.toMillis(6);
+
+    private static final Object sLock = new Object();
+
+    private NotificationPoller() {
+    }
+
+    /**
+     * @return Unread notification threads, most recently updated first
+     */
+    public static Single<List<NotificationThread>> poll(Context context) {
+        final Context appContext = context.getApplicationContext();
+        final NotificationPollService service = ServiceFactory.get(
+                NotificationPollService.class, false, null, null, PAGE_SIZE);
+
+        return Single.defer(() -> {
+            SharedPreferences prefs = getPrefs(appContext);
+            long now = System.currentTimeMillis();
+            List<NotificationThread> stored = readStoredThreads(appContext, prefs);
+            if (stored != null && now < prefs.getLong(KEY_NEXT_POLL_TIME, 0)) {
+                Log.d(TAG, "Within poll interval, using stored notifications");
+                return Single.just(stored);
+            }
+
+            boolean fullPoll = now - prefs.getLong(KEY_LAST_FULL_POLL_TIME, 0) > FULL_POLL_INTERVAL;
+            String lastModified = stored != null && !fullPoll
+                    ? prefs.getString(KEY_LAST_MODIFIED, null) : null;
+
+            return service.getNotifications(lastModified, 1)
+                    .flatMap(response -> {
+                        updatePollTime(prefs, response, now);
+                        if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED
+                                && stored != null) {
+                            Log.d(TAG, "Notifications unchanged since " + lastModified);
+                            return Single.just(stored);
+                        }
+                        Page<NotificationThread> firstPage = ApiHelpers.throwOnFailure(response);
+                        return fetchThreads(service, firstPage, lastModified, stored)
+                                .doOnSuccess(threads -> store(appContext, prefs, threads,
+                                        response.headers().get("Last-Modified"),
+                                        lastModified == null ? now : -1));
+                    });
+        });
+    }
+
+    /**
+     * Makes the next poll unconditional. Needs to be called when notifications are marked
+     * as read, as that doesn't change their Last-Modified time.
+     */
+    public static void invalidate(Context context) {
+        synchronized (sLock) {
+            getPrefs(context.getApplicationContext())
+                    .edit()
+                    .remove(KEY_LAST_MODIFIED)
+                    .remove(KEY_NEXT_POLL_TIME)
+                    .apply();
+        }
+    }
+
+    /**
+     * Fetches the pages following the given first page, as far as needed.
+     *
+     * @param lastModified Last-Modified value the first page was requested with, or null
+     *                     if the request was unconditional
+     */
+    static Single<List<NotificationThread>> fetchThreads(NotificationPollService service,
+            Page<NotificationThread> firstPage, @Nullable String lastModified,
+            @Nullable List<NotificationThread> stored) {
+        // Unconditional polls are made to catch threads which were read since the stored
+        // copy was made, so that copy can't be used for completing the list
+        List<NotificationThread> knownThreads = lastModified != null ? stored : null;
+        return collectChangedPages(service, firstPage, knownThreads, new ArrayList<>());
+    }
+
+    private static Single<List<NotificationThread>> collectChangedPages(
+            NotificationPollService service, Page<NotificationThread> page,
+            @Nullable List<NotificationThread> stored, List<NotificationThread> result) {
+        result.addAll(page.items());
+        Integer next = page.next();
+        if (next == null) {
+            return Single.just(result);
+        }
+        if (stored != null && isUnchanged(page.items(), stored)) {
+            // Everything after this page is known already
+            appendOlderThreads(result, stored);
+            return Single.just(result);
+        }
+        return service.getNotifications(null, next)
+                .map(ApiHelpers::throwOnFailure)
+                .flatMap(nextPage -> collectChangedPages(service, nextPage, stored, result));
+    }
+
+    private static boolean isUnchanged(List<NotificationThread> threads,
+            List<NotificationThread> stored) {
+        Map<String, NotificationThread> storedById = new HashMap<>();
+        for (NotificationThread thread : stored) {
+            storedById.put(thread.id(), thread);
+        }
+        for (NotificationThread thread : threads) {
+            NotificationThread storedThread = storedById.get(thread.id());
+            if (storedThread == null || !storedThread.updatedAt().equals(thread.updatedAt())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Appends the stored threads which are older than the last one of the result
+    private static void appendOlderThreads(List<NotificationThread> result,
+            List<NotificationThread> stored) {
+        NotificationThread last = result.get(result.size() - 1);
+        Set<String> knownIds = new HashSet<>();
+        for (NotificationThread thread : result) {
+            knownIds.add(thread.id());
+        }
+        for (NotificationThread thread : stored) {
+            if (!knownIds.contains(thread.id())
+                    && !thread.updatedAt().after(last.updatedAt())) {
+                result.add(thread);
+            }
+        }
+    }
+
+    private static void updatePollTime(SharedPreferences prefs, Response<?> response, long now) {
+        String pollInterval = response.headers().get("X-Poll-Interval");
+        if (pollInterval == null) {
+            return;
+        }
+        try {
+            long nextPollTime = now + TimeUnit.SECONDS.toMillis(Long.parseLong(pollInterval));
+            synchronized (sLock) {
+                prefs.edit().putLong(KEY_NEXT_POLL_TIME, nextPollTime).apply();
+            }
+        } catch (NumberFormatException e) {
+            // ignore
+        }
+    }
+
+    private static void store(Context context, SharedPreferences prefs,
+            List<NotificationThread> threads, @Nullable String lastModified, long fullPollTime) {
+        File file = new File(context.getFilesDir(), THREADS_FILE);
+        synchronized (sLock) {
+            try (BufferedSink sink = Okio.buffer(Okio.sink(file))) {
+                getAdapter().toJson(sink, threads);
+            } catch (IOException e) {
+                Log.w(TAG, "Could not store notifications", e);
+                file.delete();
+                return;
+            }
+            SharedPreferences.Editor editor = prefs.edit()
+                    .putString(KEY_LOGIN, Gh4Application.get().getAuthLogin())
+                    .putString(KEY_LAST_MODIFIED, lastModified);
+            if (fullPollTime >= 0) {
+                editor.putLong(KEY_LAST_FULL_POLL_TIME, fullPollTime);
+            }
+            editor.apply();
+        }
+    }
+
+    @Nullable
+    private static List<NotificationThread> readStoredThreads(Context context,
+            SharedPreferences prefs) {
+        File file = new File(context.getFilesDir(), THREADS_FILE);
+        synchronized (sLock) {
+            // Threads of another account are of no use
+            String login = Gh4Application.get().getAuthLogin();
+            if (login == null || !login.equals(prefs.getString(KEY_LOGIN, null))
+                    || !file.exists()) {
+                return null;
+            }
+            try (BufferedSource source = Okio.buffer(Okio.source(file))) {
+                return getAdapter().fromJson(source);
+            } catch (IOException e) {
+                Log.w(TAG, "Could not read stored notifications", e);
+                return null;
+            }
+        }
+    }
+
+    private static JsonAdapter<List<NotificationThread>> getAdapter() {
+        return ServiceGenerator.moshi.adapter(
+                Types.newParameterizedType(List.class, NotificationThread.class));
+    }
+
+    private static SharedPreferences getPrefs(Context context) {
+        return context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    }
+}
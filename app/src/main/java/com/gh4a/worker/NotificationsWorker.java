@@ -34,6 +34,7 @@ import android.text.style.TextAppearanceSpan;
 import android.util.Log;
 
 import com.gh4a.R;
+import com.gh4a.ServiceFactory;
 import com.gh4a.activities.home.HomeActivity;
 import com.gh4a.adapter.NotificationAdapter;
 import com.gh4a.fragment.SettingsFragment;
@@ -156,8 +157,10 @@ public class NotificationsWorker extends Worker {
         List<List<NotificationThread>> notifsGroupedByRepo = new ArrayList<>();
         try {
             Log.d(TAG, "Starting notification fetch in background");
-            NotificationListLoadResult result =
-                    SingleFactory.getNotifications(false, false, false).blockingGet();
+            NotificationListLoadResult result = ServiceFactory.asBackgroundWork(
+                    () -> NotificationPoller.poll(getApplicationContext())
+                            .map(SingleFactory::notificationsToResult))
+                    .blockingGet();
             for (NotificationHolder holder : result.notifications) {
                 if (holder.notification == null) {
                     notifsGroupedByRepo.add(new ArrayList<>());
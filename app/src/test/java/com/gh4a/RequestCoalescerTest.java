@@ -0,0 +1,108 @@
+package com.gh4a;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class RequestCoalescerTest {
+    private MockWebServer mServer;
+    private OkHttpClient mClient;
+    private ExecutorService mExecutor;
+
+    @Before
+    public void setup() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+        mClient = new OkHttpClient.Builder()
+                .addInterceptor(new RequestCoalescer().getInterceptor())
+                .build();
+        mExecutor = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        mExecutor.shutdownNow();
+        mServer.shutdown();
+    }
+
+    @Test
+    public void concurrentIdenticalGets__shareOneResponse() throws Exception {
+        enqueueSlowResponse("shared");
+
+        List<String> bodies = load(newRequest("token"), newRequest("token"), newRequest("token"));
+
+        assertThat(mServer.getRequestCount(), is(1));
+        for (String body : bodies) {
+            assertThat(body, is("shared"));
+        }
+    }
+
+    @Test
+    public void concurrentGetsWithDifferentCredentials__areSentSeparately() throws Exception {
+        enqueueSlowResponse("first");
+        enqueueSlowResponse("second");
+
+        load(newRequest("token1"), newRequest("token2"));
+
+        assertThat(mServer.getRequestCount(), is(2));
+    }
+
+    @Test
+    public void sequentialIdenticalGets__areSentSeparately() throws Exception {
+        mServer.enqueue(new MockResponse().setBody("first"));
+        mServer.enqueue(new MockResponse().setBody("second"));
+
+        assertThat(load(newRequest("token")).get(0), is("first"));
+        assertThat(load(newRequest("token")).get(0), is("second"));
+        assertThat(mServer.getRequestCount(), is(2));
+    }
+
+    private void enqueueSlowResponse(String body) {
+        // Keeps the first request in flight until the others were made
+        mServer.enqueue(new MockResponse()
+                .setBody(body)
+                .setBodyDelay(500, TimeUnit.MILLISECONDS));
+    }
+
+    private Request newRequest(String token) {
+        return new Request.Builder()
+                .url(mServer.url("/repos/owner/repo/collaborators/user"))
+                .header("Authorization", "Token " + token)
+                .build();
+    }
+
+    private List<String> load(Request... requests) throws Exception {
+        List<Future<String>> futures = new ArrayList<>();
+        for (Request request : requests) {
+            Callable<String> call = () -> {
+                try (Response response = mClient.newCall(request).execute()) {
+                    return response.body().string();
+                }
+            };
+            futures.add(mExecutor.submit(call));
+        }
+        List<String> result = new ArrayList<>();
+        for (Future<String> future : futures) {
+            result.add(future.get(5, TimeUnit.SECONDS));
+        }
+        return result;
+    }
+}
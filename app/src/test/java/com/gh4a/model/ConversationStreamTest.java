@@ -0,0 +1,133 @@
+package com.gh4a.model;
+
+import androidx.collection.LongSparseArray;
+
+import com.meisolsson.githubsdk.core.ServiceGenerator;
+import com.meisolsson.githubsdk.model.GitHubComment;
+import com.meisolsson.githubsdk.model.IssueEvent;
+import com.meisolsson.githubsdk.model.IssueEventType;
+import com.meisolsson.githubsdk.model.Review;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.SingleSubject;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@RunWith(RobolectricTestRunner.class)
+public class ConversationStreamTest {
+    @Test
+    public void delayedReviews__commentsAreEmittedFirst() throws Exception {
+        PublishSubject<List<GitHubComment>> commentPages = PublishSubject.create();
+        SingleSubject<Conversation> reviewData = SingleSubject.create();
+        ConversationStream stream = new ConversationStream(commentPages,
+                Observable.<List<IssueEvent>>empty(), reviewData);
+
+        TestObserver<List<TimelineItem>> observer = stream
+                .toTimelineItems(Collections.singletonList(IssueEventType.Closed))
+                .test();
+        waitForSubscription(commentPages);
+        commentPages.onNext(Arrays.asList(comment(1, "2020-01-01T00:00:00Z"),
+                comment(2, "2020-01-03T00:00:00Z")));
+
+        observer.awaitCount(1);
+        assertThat(observer.valueCount(), is(1));
+        assertThat(ids(observer.values().get(0)), is(Arrays.asList(1L, 2L)));
+
+        commentPages.onComplete();
+        reviewData.onSuccess(reviews(review(3, "2020-01-02T00:00:00Z")));
+        observer.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        observer.assertComplete();
+
+        List<TimelineItem> timeline = observer.values().get(observer.valueCount() - 1);
+        assertThat(ids(timeline), is(Arrays.asList(1L, 3L, 2L)));
+        assertThat(timeline.get(1), instanceOf(TimelineItem.TimelineReview.class));
+    }
+
+    @Test
+    public void reviewsNewerThanLoadedComments__areHeldBackUntilCommentsCatchUp()
+            throws Exception {
+        PublishSubject<List<GitHubComment>> commentPages = PublishSubject.create();
+        SingleSubject<Conversation> reviewData = SingleSubject.create();
+        ConversationStream stream = new ConversationStream(commentPages,
+                Observable.<List<IssueEvent>>empty(), reviewData);
+
+        TestObserver<List<TimelineItem>> observer = stream
+                .toTimelineItems(Collections.singletonList(IssueEventType.Closed))
+                .test();
+        waitForSubscription(commentPages);
+        reviewData.onSuccess(reviews(review(3, "2020-01-02T00:00:00Z")));
+        commentPages.onNext(Collections.singletonList(comment(1, "2020-01-01T00:00:00Z")));
+
+        observer.awaitCount(1);
+        assertThat(ids(observer.values().get(observer.valueCount() - 1)),
+                is(Collections.singletonList(1L)));
+
+        commentPages.onNext(Collections.singletonList(comment(2, "2020-01-03T00:00:00Z")));
+        commentPages.onComplete();
+        observer.awaitTerminalEvent(5, TimeUnit.SECONDS);
+
+        // Every emission only appends to the ones before, as the review's position was
+        // already final when it was emitted
+        List<Long> previousIds = Collections.emptyList();
+        for (List<TimelineItem> timeline : observer.values()) {
+            List<Long> currentIds = ids(timeline);
+            assertThat(currentIds.subList(0, previousIds.size()), is(previousIds));
+            previousIds = currentIds;
+        }
+        assertThat(previousIds, is(Arrays.asList(1L, 3L, 2L)));
+    }
+
+    private static void waitForSubscription(PublishSubject<?> subject)
+            throws InterruptedException {
+        // The sources are subscribed to on an I/O thread
+        long end = System.currentTimeMillis() + 5000;
+        while (!subject.hasObservers() && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertThat(subject.hasObservers(), is(true));
+    }
+
+    private static List<Long> ids(List<TimelineItem> timeline) {
+        List<Long> result = new ArrayList<>();
+        for (TimelineItem item : timeline) {
+            if (item instanceof TimelineItem.TimelineComment) {
+                result.add(((TimelineItem.TimelineComment) item).comment().id());
+            } else if (item instanceof TimelineItem.TimelineReview) {
+                result.add(((TimelineItem.TimelineReview) item).review().id());
+            }
+        }
+        return result;
+    }
+
+    private static Conversation reviews(Review... reviews) {
+        return new Conversation(Collections.emptyList(), Collections.emptyList(),
+                Arrays.asList(reviews), Collections.emptyList(),
+                new LongSparseArray<>());
+    }
+
+    private static GitHubComment comment(long id, String createdAt) throws IOException {
+        return ServiceGenerator.moshi.adapter(GitHubComment.class).fromJson(
+                "{\"id\":" + id + ",\"body\":\"comment\",\"created_at\":\"" + createdAt + "\"}");
+    }
+
+    private static Review review(long id, String submittedAt) throws IOException {
+        return ServiceGenerator.moshi.adapter(Review.class).fromJson(
+                "{\"id\":" + id + ",\"body\":\"review\",\"state\":\"APPROVED\","
+                        + "\"submitted_at\":\"" + submittedAt + "\"}");
+    }
+}
@@ -0,0 +1,121 @@
+package com.gh4a.utils;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okio.BufferedSource;
+import okio.Okio;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class PrettifyPluginIndexTest {
+    @Test
+    public void findRegisteredLanguages__findsMultilineRegistration() {
+        String script = "PR['registerLangHandler'](\n"
+                + "    PR['createSimpleLexer'](\n"
+                + "        [[PR['PR_PLAIN'], /^[\\t\\n\\r \\xA0]+/, null, '\\t\\n\\r \\xA0']],\n"
+                + "        [[PR['PR_STRING'], /^\"[^\"]*\"/]]),\n"
+                + "    ['kotlin', 'kt']);\n";
+        assertThat(PrettifyPluginIndex.findRegisteredLanguages(script),
+                is(Arrays.asList("kotlin", "kt")));
+    }
+
+    @Test
+    public void findRegisteredLanguages__findsAllRegistrations() {
+        String script = "PR.registerLangHandler(PR.createSimpleLexer([], a), [\"matlab-operators\"]);\n"
+                + "PR.registerLangHandler(PR.createSimpleLexer(b, c), ['wiki.meta']);\n";
+        assertThat(PrettifyPluginIndex.findRegisteredLanguages(script),
+                is(Arrays.asList("matlab-operators", "wiki.meta")));
+    }
+
+    @Test
+    public void findRegisteredLanguages__ignoresOtherLists() {
+        String script = "var keywords = ['if', 'else'];\n"
+                + "foo(['bar']).baz();\n";
+        assertThat(PrettifyPluginIndex.findRegisteredLanguages(script),
+                is(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void getPluginsForLanguage__usesBundledPlugins() throws IOException {
+        Map<String, String> index = buildIndexFromAssets();
+        assertThat(PrettifyPluginIndex.getPluginsForLanguage(index, "kt"),
+                is(Collections.singletonList("prettify-plugins/lang-kotlin")));
+        assertThat(PrettifyPluginIndex.getPluginsForLanguage(index, "rs"),
+                is(Collections.singletonList("prettify-plugins/lang-rust")));
+        assertThat(PrettifyPluginIndex.getPluginsForLanguage(index, "html"),
+                is(Collections.singletonList("prettify-plugins/lang-css")));
+        assertThat(PrettifyPluginIndex.getPluginsForLanguage(index, "java"),
+                is(Collections.<String>emptyList()));
+    }
+
+    // Compares the per-language page against the old page including every plugin,
+    // by size of the generated includes and of the scripts the web view has to run
+    @Test
+    public void getPluginsForLanguage__benchmarkAgainstAllPlugins() throws IOException {
+        Map<String, String> index = buildIndexFromAssets();
+        File[] pluginFiles = getPluginFiles();
+        StringBuilder allIncludes = new StringBuilder();
+        long allScriptBytes = 0;
+        for (File file : pluginFiles) {
+            HtmlUtils.writeScriptInclude(allIncludes, "prettify-plugins/"
+                    + file.getName().substring(0, file.getName().length() - 3));
+            allScriptBytes += file.length();
+        }
+
+        for (String language : Arrays.asList("kt", "rs", "html", "java")) {
+            final int lookups = 100000;
+            List<String> plugins = null;
+            long start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                plugins = PrettifyPluginIndex.getPluginsForLanguage(index, language);
+            }
+            long lookupNanos = (System.nanoTime() - start) / lookups;
+
+            StringBuilder includes = new StringBuilder();
+            long scriptBytes = 0;
+            for (String plugin : plugins) {
+                HtmlUtils.writeScriptInclude(includes, plugin);
+                scriptBytes += new File(getAssetFolder(), plugin + ".js").length();
+            }
+            System.out.println(language + ": lookup " + lookupNanos + " ns, includes "
+                    + includes.length() + " vs " + allIncludes.length() + " chars, scripts "
+                    + scriptBytes + " vs " + allScriptBytes + " bytes");
+
+            assertThat(includes.length() < allIncludes.length(), is(true));
+            assertThat(scriptBytes < allScriptBytes, is(true));
+        }
+    }
+
+    private static Map<String, String> buildIndexFromAssets() throws IOException {
+        Map<String, String> result = new HashMap<>();
+        for (File file : getPluginFiles()) {
+            String plugin = "prettify-plugins/"
+                    + file.getName().substring(0, file.getName().length() - 3);
+            try (BufferedSource source = Okio.buffer(Okio.source(file))) {
+                PrettifyPluginIndex.addRegistrations(result, plugin, source.readUtf8());
+            }
+        }
+        return result;
+    }
+
+    private static File[] getPluginFiles() {
+        File[] files = new File(getAssetFolder(), "prettify-plugins")
+                .listFiles((dir, name) -> name.endsWith(".js"));
+        assertThat(files != null && files.length > 0, is(true));
+        return files;
+    }
+
+    private static File getAssetFolder() {
+        // Unit tests run in the module directory
+        return new File("src/main/assets");
+    }
+}
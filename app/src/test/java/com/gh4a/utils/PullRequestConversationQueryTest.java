@@ -0,0 +1,194 @@
+package com.gh4a.utils;
+
+import com.gh4a.model.Conversation;
+import com.gh4a.model.GraphQlService;
+import com.gh4a.model.TimelineItem;
+import com.meisolsson.githubsdk.core.ServiceGenerator;
+import com.meisolsson.githubsdk.model.IssueEventType;
+import com.meisolsson.githubsdk.model.ReviewComment;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.Okio;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.converter.moshi.MoshiConverterFactory;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@RunWith(RobolectricTestRunner.class)
+public class PullRequestConversationQueryTest {
+    private MockWebServer mServer;
+    private GraphQlService mService;
+
+    @Before
+    public void setup() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+        mService = new Retrofit.Builder()
+                .baseUrl(mServer.url("/"))
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
+                .addConverterFactory(MoshiConverterFactory.create(ServiceGenerator.moshi))
+                .build()
+                .create(GraphQlService.class);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void initialQuery__requestsAllConnectionsOfPullRequest() throws Exception {
+        enqueueResponses();
+        load();
+
+        RecordedRequest request = mServer.takeRequest();
+        assertThat(request.getPath(), is("/graphql"));
+        Map<String, Object> body = parseBody(request);
+        String query = (String) body.get("query");
+        assertThat(query, containsString("pullRequest(number: $number)"));
+        assertThat(query, containsString("comments(first: 100, after: $commentCursor)"));
+        assertThat(query, containsString("reviews(first: 100, after: $reviewCursor)"));
+        assertThat(query, containsString("timelineItems(first: 100, after: $eventCursor"));
+        Map<String, Object> variables = (Map<String, Object>) body.get("variables");
+        assertThat(variables.get("owner"), is("owner"));
+        assertThat(variables.get("name"), is("repo"));
+        assertThat(((Number) variables.get("number")).intValue(), is(7));
+    }
+
+    @Test
+    public void followUpQuery__onlyRequestsIncompleteConnections() throws Exception {
+        enqueueResponses();
+        load();
+
+        mServer.takeRequest();
+        Map<String, Object> body = parseBody(mServer.takeRequest());
+        String query = (String) body.get("query");
+        assertThat(query, containsString("review0: node(id: $review0)"));
+        assertThat(query, not(containsString("pullRequest")));
+        assertThat(query, not(containsString("fragment EventPage")));
+        Map<String, Object> variables = (Map<String, Object>) body.get("variables");
+        assertThat(variables.get("review0"), is("R_11"));
+        assertThat(variables.get("review0Cursor"), is("cmMx"));
+        assertThat(mServer.getRequestCount(), is(2));
+    }
+
+    @Test
+    public void conversation__isConvertedToRestModels() throws Exception {
+        enqueueResponses();
+        Conversation conversation = load();
+
+        assertThat(conversation.issueComments.size(), is(1));
+        // IDs exceed the range of GraphQL's Int type
+        assertThat(conversation.issueComments.get(0).id(), is(3000000001L));
+        assertThat(conversation.issueComments.get(0).user().login(), is("octocat"));
+        assertThat(conversation.issueComments.get(0).reactions().plusOne(), is(2));
+        assertThat(conversation.issueComments.get(0).reactions().eyes(), is(1));
+
+        assertThat(conversation.reviews.size(), is(2));
+        assertThat(conversation.reviews.get(0).id(), is(11L));
+
+        List<Long> reviewCommentIds = new ArrayList<>();
+        for (ReviewComment comment : conversation.reviewComments) {
+            reviewCommentIds.add(comment.id());
+            assertThat(comment.pullRequestReviewId(), is(11L));
+            assertThat(comment.pullRequestUrl(),
+                    is("https://api.github.com/repos/owner/repo/pulls/7"));
+        }
+        assertThat(reviewCommentIds, equalTo(Arrays.asList(101L, 102L)));
+
+        List<ReviewComment> pendingComments = conversation.pendingReviewCommentsById.get(12L);
+        assertThat(pendingComments, notNullValue());
+        assertThat(pendingComments.size(), is(1));
+        assertThat(pendingComments.get(0).id(), is(201L));
+
+        assertThat(conversation.events.size(), is(2));
+        assertThat(conversation.events.get(0).event(), is(IssueEventType.Closed));
+        assertThat(conversation.events.get(0).commitId(), nullValue());
+        assertThat(conversation.events.get(1).event(), is(IssueEventType.Labeled));
+        assertThat(conversation.events.get(1).label().name(), is("bug"));
+        assertThat(conversation.events.get(0).id(), not(conversation.events.get(1).id()));
+    }
+
+    @Test
+    public void conversation__producesTimelineInOrder() throws Exception {
+        enqueueResponses();
+        List<TimelineItem> items = load().toTimelineItems(
+                Arrays.asList(IssueEventType.Closed, IssueEventType.Labeled));
+
+        assertThat(items.size(), is(5));
+        assertThat(items.get(0), instanceOf(TimelineItem.TimelineComment.class));
+        assertThat(items.get(1), instanceOf(TimelineItem.TimelineReview.class));
+        assertThat(items.get(2), instanceOf(TimelineItem.TimelineEvent.class));
+        assertThat(items.get(3), instanceOf(TimelineItem.TimelineEvent.class));
+        // Pending reviews don't have a submission date and thus go last
+        assertThat(items.get(4), instanceOf(TimelineItem.TimelineReview.class));
+
+        TimelineItem.TimelineReview review = (TimelineItem.TimelineReview) items.get(1);
+        assertThat(review.getDiffHunks().size(), is(1));
+        assertThat(review.getDiffHunks().iterator().next().comments.size(), is(2));
+        TimelineItem.TimelineReview pendingReview = (TimelineItem.TimelineReview) items.get(4);
+        assertThat(pendingReview.review().id(), is(12L));
+        assertThat(pendingReview.getDiffHunks().size(), is(1));
+    }
+
+    @Test
+    public void errorResponse__failsWithQueryException() {
+        mServer.enqueue(new MockResponse().setBody(readResource("not_found.json")));
+
+        List<Throwable> errors = PullRequestConversationQuery.load(mService, "owner", "repo", 7)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .errors();
+        assertThat(errors.size(), is(1));
+        Throwable error = errors.get(0);
+        assertThat(error, instanceOf(PullRequestConversationQuery.QueryException.class));
+        assertThat(error.getMessage(), containsString("Could not resolve"));
+    }
+
+    private Conversation load() {
+        return PullRequestConversationQuery.load(mService, "owner", "repo", 7).blockingGet();
+    }
+
+    private void enqueueResponses() {
+        mServer.enqueue(new MockResponse().setBody(readResource("conversation_page1.json")));
+        mServer.enqueue(new MockResponse().setBody(readResource("conversation_page2.json")));
+    }
+
+    private static Map<String, Object> parseBody(RecordedRequest request) throws IOException {
+        Buffer body = request.getBody();
+        return (Map<String, Object>) ServiceGenerator.moshi.adapter(Object.class).fromJson(body);
+    }
+
+    private String readResource(String name) {
+        try (InputStream in = getClass().getResourceAsStream("/graphql/" + name)) {
+            return Okio.buffer(Okio.source(in)).readUtf8();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
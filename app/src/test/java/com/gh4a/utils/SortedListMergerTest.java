@@ -0,0 +1,51 @@
+package com.gh4a.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class SortedListMergerTest {
+    private static final Comparator<String> FIRST_CHAR_COMPARATOR =
+            (lhs, rhs) -> Character.compare(lhs.charAt(0), rhs.charAt(0));
+
+    @Test
+    public void merge__producesSortedList() {
+        List<Integer> result = SortedListMerger.merge(Arrays.asList(
+                Arrays.asList(1, 4, 9),
+                Collections.<Integer>emptyList(),
+                Arrays.asList(2, 3, 10),
+                Arrays.asList(5)), Integer::compare);
+        assertThat(result, is(Arrays.asList(1, 2, 3, 4, 5, 9, 10)));
+    }
+
+    @Test
+    public void merge__keepsSourceOrderForEqualItems() {
+        List<String> result = SortedListMerger.merge(Arrays.asList(
+                Arrays.asList("a1", "b1"),
+                Arrays.asList("a2", "b2")), FIRST_CHAR_COMPARATOR);
+        assertThat(result, is(Arrays.asList("a1", "a2", "b1", "b2")));
+    }
+
+    @Test
+    public void takeReady__waitsForIncompleteSources() {
+        SortedListMerger<Integer> merger = new SortedListMerger<>(2, Integer::compare);
+        merger.add(0, Arrays.asList(1, 5));
+        assertThat(merger.takeReady().isEmpty(), is(true));
+
+        merger.add(1, Arrays.asList(2, 3));
+        // 5 might still be preceded by the next page of the second source
+        assertThat(merger.takeReady(), is(Arrays.asList(1, 2, 3)));
+
+        merger.add(1, Arrays.asList(4));
+        assertThat(merger.takeReady(), is(Arrays.asList(4)));
+
+        merger.complete(1);
+        assertThat(merger.takeReady(), is(Arrays.asList(5)));
+    }
+}
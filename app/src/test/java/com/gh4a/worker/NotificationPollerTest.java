@@ -0,0 +1,130 @@
+package com.gh4a.worker;
+
+import com.gh4a.model.NotificationPollService;
+import com.meisolsson.githubsdk.core.GitHubPaginationInterceptor;
+import com.meisolsson.githubsdk.core.ServiceGenerator;
+import com.meisolsson.githubsdk.model.NotificationThread;
+import com.meisolsson.githubsdk.model.Page;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.converter.moshi.MoshiConverterFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+@RunWith(RobolectricTestRunner.class)
+public class NotificationPollerTest {
+    private MockWebServer mServer;
+    private NotificationPollService mService;
+
+    @Before
+    public void setup() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new GitHubPaginationInterceptor())
+                .build();
+        mService = new Retrofit.Builder()
+                .baseUrl(mServer.url("/"))
+                .client(client)
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
+                .addConverterFactory(MoshiConverterFactory.create(ServiceGenerator.moshi))
+                .build()
+                .create(NotificationPollService.class);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void conditionalPoll__completesListFromStoredThreads() throws Exception {
+        List<NotificationThread> stored = Arrays.asList(
+                thread("3", "2020-01-03T00:00:00Z"),
+                thread("2", "2020-01-02T00:00:00Z"),
+                thread("1", "2020-01-01T00:00:00Z"));
+        enqueuePage(2, "[" + threadJson("4", "2020-01-04T00:00:00Z") + ","
+                + threadJson("3", "2020-01-03T00:00:00Z") + "]");
+        // Nothing changed on the second page, so the stored copy is used from there on
+        enqueuePage(3, "[" + threadJson("2", "2020-01-02T00:00:00Z") + "]");
+
+        List<NotificationThread> threads = poll("Wed, 01 Jan 2020 00:00:00 GMT", stored);
+
+        assertThat(ids(threads), is(Arrays.asList("4", "3", "2", "1")));
+        assertThat(mServer.getRequestCount(), is(2));
+    }
+
+    @Test
+    public void unconditionalPoll__dropsStoredThreadsReadSince() throws Exception {
+        // Thread 1 was read elsewhere, and isn't part of any page anymore
+        List<NotificationThread> stored = Arrays.asList(
+                thread("3", "2020-01-03T00:00:00Z"),
+                thread("2", "2020-01-02T00:00:00Z"),
+                thread("1", "2020-01-01T00:00:00Z"));
+        enqueuePage(2, "[" + threadJson("3", "2020-01-03T00:00:00Z") + "]");
+        enqueuePage(null, "[" + threadJson("2", "2020-01-02T00:00:00Z") + "]");
+
+        List<NotificationThread> threads = poll(null, stored);
+
+        assertThat(ids(threads), is(Arrays.asList("3", "2")));
+        assertThat(mServer.getRequestCount(), is(2));
+    }
+
+    private List<NotificationThread> poll(String lastModified, List<NotificationThread> stored) {
+        Page<NotificationThread> firstPage = mService.getNotifications(lastModified, 1)
+                .blockingGet()
+                .body();
+        return NotificationPoller.fetchThreads(mService, firstPage, lastModified, stored)
+                .blockingGet();
+    }
+
+    private void enqueuePage(Integer nextPage, String body) {
+        MockResponse response = new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(body);
+        if (nextPage != null) {
+            response.setHeader("Link", "<" + mServer.url("/notifications?page=" + nextPage)
+                    + ">; rel=\"next\"");
+        }
+        mServer.enqueue(response);
+    }
+
+    private static List<String> ids(List<NotificationThread> threads) {
+        List<String> result = new ArrayList<>();
+        for (NotificationThread thread : threads) {
+            result.add(thread.id());
+        }
+        return result;
+    }
+
+    private static NotificationThread thread(String id, String updatedAt) throws IOException {
+        return ServiceGenerator.moshi.adapter(NotificationThread.class)
+                .fromJson(threadJson(id, updatedAt));
+    }
+
+    private static String threadJson(String id, String updatedAt) {
+        return "{\"id\":\"" + id + "\",\"unread\":true,\"reason\":\"subscribed\","
+                + "\"updated_at\":\"" + updatedAt + "\","
+                + "\"url\":\"https://api.github.com/notifications/threads/" + id + "\","
+                + "\"subject\":{\"title\":\"Thread " + id + "\",\"type\":\"Issue\","
+                + "\"url\":\"https://api.github.com/repos/owner/repo/issues/" + id + "\"},"
+                + "\"repository\":{\"id\":1,\"name\":\"repo\",\"full_name\":\"owner/repo\","
+                + "\"owner\":{\"id\":2,\"login\":\"owner\"}}}";
+    }
+}